@@ -3,12 +3,14 @@ package com.bankabc.onboarding;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for Bank ABC Digital Customer Onboarding microservice.
  */
 @SpringBootApplication
 @EnableJpaRepositories
+@EnableScheduling
 public class OnboardingApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,75 @@
+package com.bankabc.onboarding.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Process engine plugin that controls the async continuations declared in the BPMN models.
+ * <p>
+ * The process models mark transaction boundaries (for example {@code camunda:asyncAfter} on
+ * {@code UploadDocumentsTask}) so that the job executor runs verification, account creation and
+ * notification in the background. When {@code onboarding.workflow.async-continuation.enabled}
+ * is {@code false} the boundaries are removed at parse time and the whole chain runs
+ * synchronously in the calling thread, which is what the tests and local debugging rely on.
+ */
+@Component
+@Slf4j
+public class AsyncContinuationPlugin extends AbstractProcessEnginePlugin {
+
+    private final boolean asyncContinuationEnabled;
+
+    public AsyncContinuationPlugin(
+            @Value("${onboarding.workflow.async-continuation.enabled:true}") boolean asyncContinuationEnabled) {
+        this.asyncContinuationEnabled = asyncContinuationEnabled;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        if (asyncContinuationEnabled) {
+            log.info("Async continuation enabled - BPMN transaction boundaries are honoured");
+            return;
+        }
+
+        log.info("Async continuation disabled - BPMN transaction boundaries are removed at parse time");
+        List<BpmnParseListener> listeners = configuration.getCustomPostBPMNParseListeners();
+        if (listeners == null) {
+            listeners = new ArrayList<>();
+            configuration.setCustomPostBPMNParseListeners(listeners);
+        }
+        listeners.add(new SynchronousExecutionParseListener());
+    }
+
+    /**
+     * Clears asyncBefore/asyncAfter on every activity of a parsed process definition.
+     */
+    static class SynchronousExecutionParseListener extends AbstractBpmnParseListener {
+
+        @Override
+        public void parseProcess(Element processElement, ProcessDefinitionEntity processDefinition) {
+            clearAsyncContinuations(processDefinition.getActivities());
+        }
+
+        private void clearAsyncContinuations(List<ActivityImpl> activities) {
+            for (ActivityImpl activity : activities) {
+                if (activity.isAsyncBefore()) {
+                    activity.setAsyncBefore(false);
+                }
+                if (activity.isAsyncAfter()) {
+                    activity.setAsyncAfter(false);
+                }
+                clearAsyncContinuations(activity.getActivities());
+            }
+        }
+    }
+}
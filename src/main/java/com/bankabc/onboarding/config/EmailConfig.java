@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
+import java.time.Duration;
 import java.util.Properties;
 
 /**
@@ -40,14 +41,36 @@ public class EmailConfig {
     @Value("${spring.mail.from:noreply@bankabc.com}")
     private String mailFrom;
 
+    @Value("${onboarding.email.smtp-pool.enabled:true}")
+    private boolean smtpPoolEnabled;
+
+    @Value("${onboarding.email.smtp-pool.max-size:4}")
+    private int smtpPoolMaxSize;
+
+    @Value("${onboarding.email.smtp-pool.max-idle:60s}")
+    private Duration smtpPoolMaxIdle;
+
+    @Value("${onboarding.email.smtp-pool.validation-interval:5s}")
+    private Duration smtpPoolValidationInterval;
+
+    @Value("${onboarding.email.smtp-pool.borrow-timeout:10s}")
+    private Duration smtpPoolBorrowTimeout;
+
+    @Value("${onboarding.email.smtp-pool.max-messages-per-connection:100}")
+    private int smtpPoolMaxMessagesPerConnection;
+
     /**
      * Configures JavaMailSender bean.
+     * Reuses pooled SMTP connections unless onboarding.email.smtp-pool.enabled is false.
      * 
      * @return configured JavaMailSender
      */
     @Bean
     public JavaMailSender javaMailSender() {
-        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        JavaMailSenderImpl mailSender = smtpPoolEnabled
+                ? new PooledJavaMailSender(smtpPoolMaxSize, smtpPoolMaxIdle, smtpPoolValidationInterval,
+                        smtpPoolBorrowTimeout, smtpPoolMaxMessagesPerConnection)
+                : new JavaMailSenderImpl();
         mailSender.setHost(mailHost);
         mailSender.setPort(mailPort);
         mailSender.setUsername(mailUsername);
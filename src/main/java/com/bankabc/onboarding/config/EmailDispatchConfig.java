@@ -0,0 +1,128 @@
+package com.bankabc.onboarding.config;
+
+import com.bankabc.onboarding.util.EmailUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enables {@code @Async} and provides the executor that sends customer emails.
+ * <p>
+ * SMTP round trips run on a fixed pool of {@link EmailUtil#THREAD_NAME_PREFIX} threads instead of
+ * inside the delegate's job transaction. The queue is bounded; when it is full the
+ * {@code onboarding.email.dispatch.rejection-policy} decides what happens:
+ * <ul>
+ *   <li>{@code abort} (default) - the submission fails, so the caller learns the email was not accepted</li>
+ *   <li>{@code caller-runs} - the caller sends the email itself, throttling producers to SMTP speed</li>
+ * </ul>
+ * Published meters: {@code email.dispatch.queue.size}, {@code email.dispatch.queue.remaining},
+ * {@code email.dispatch.active}, {@code email.dispatch.rejected}, {@code email.dispatch.wait}
+ * (time queued) and {@code email.send} (time spent sending).
+ */
+@Configuration
+@EnableAsync
+@Slf4j
+public class EmailDispatchConfig {
+
+    public static final String EXECUTOR_NAME = "emailDispatchExecutor";
+
+    /**
+     * Behaviour when the dispatch queue is full.
+     */
+    public enum RejectionPolicy {
+        ABORT,
+        CALLER_RUNS
+    }
+
+    /**
+     * Bounded executor used by {@code EmailService.sendMail}.
+     *
+     * @param meterRegistry   registry for the queue and latency meters
+     * @param poolSize        number of sender threads
+     * @param queueCapacity   emails that may wait for a sender thread
+     * @param rejectionPolicy behaviour when the queue is full
+     * @return the email dispatch executor
+     */
+    @Bean(name = EXECUTOR_NAME)
+    public ThreadPoolTaskExecutor emailDispatchExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${onboarding.email.dispatch.pool-size:4}") int poolSize,
+            @Value("${onboarding.email.dispatch.queue-capacity:500}") int queueCapacity,
+            @Value("${onboarding.email.dispatch.rejection-policy:abort}") String rejectionPolicy) {
+        RejectionPolicy policy = RejectionPolicy.valueOf(rejectionPolicy.trim().replace('-', '_').toUpperCase());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(EmailUtil.THREAD_NAME_PREFIX);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(countingRejections(policy, meterRegistry));
+        executor.setTaskDecorator(timingTasks(meterRegistry));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        Gauge.builder("email.dispatch.queue.size", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Emails waiting for a sender thread")
+                .register(meterRegistry);
+        Gauge.builder("email.dispatch.queue.remaining", executor,
+                        e -> e.getThreadPoolExecutor().getQueue().remainingCapacity())
+                .description("Free slots in the email dispatch queue")
+                .register(meterRegistry);
+        Gauge.builder("email.dispatch.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Emails currently being sent")
+                .register(meterRegistry);
+
+        log.info("Email dispatch executor: {} threads, queue capacity {}, rejection policy {}",
+                poolSize, queueCapacity, policy);
+        return executor;
+    }
+
+    private static RejectedExecutionHandler countingRejections(RejectionPolicy policy, MeterRegistry meterRegistry) {
+        Counter rejected = Counter.builder("email.dispatch.rejected")
+                .description("Emails that found the dispatch queue full")
+                .tag("policy", policy.name().toLowerCase())
+                .register(meterRegistry);
+        RejectedExecutionHandler delegate = policy == RejectionPolicy.CALLER_RUNS
+                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                : new ThreadPoolExecutor.AbortPolicy();
+        return (task, pool) -> {
+            rejected.increment();
+            delegate.rejectedExecution(task, pool);
+        };
+    }
+
+    private static TaskDecorator timingTasks(MeterRegistry meterRegistry) {
+        Timer waitTimer = Timer.builder("email.dispatch.wait")
+                .description("Time an email spent queued before a sender thread picked it up")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Timer sendTimer = Timer.builder("email.send")
+                .description("Time spent rendering and sending an email")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        return task -> {
+            long queuedAt = System.nanoTime();
+            return () -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    sendTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        };
+    }
+}
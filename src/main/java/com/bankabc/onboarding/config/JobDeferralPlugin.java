@@ -0,0 +1,99 @@
+package com.bankabc.onboarding.config;
+
+import com.bankabc.onboarding.exception.ProviderRateLimitedException;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
+import org.camunda.bpm.engine.impl.jobexecutor.FailedJobCommandFactory;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Process engine plugin that defers jobs held back by a provider's rate limit.
+ * <p>
+ * A job that fails with ProviderRateLimitedException has not failed at all: the provider's quota
+ * was used up. Instead of the default retry handling, which uses up one of the job's retries and
+ * raises an incident once they are gone, the job is unlocked and its due date moved
+ * {@code deferBy} into the future with its retries untouched. The job's transaction is rolled back
+ * as for any failure, so everything since the job's async boundary runs again. Both processes
+ * therefore put {@code camunda:asyncBefore} on every rate-limited verification task, so a
+ * deferral replays only that step and not the verifications before it. Any other failure gets
+ * the default handling. With {@code onboarding.workflow.async-continuation.enabled=false} there
+ * is no job to defer and the exception reaches the caller.
+ */
+@Component
+@Slf4j
+public class JobDeferralPlugin extends AbstractProcessEnginePlugin {
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        FailedJobCommandFactory defaultFactory = configuration.getFailedJobCommandFactory() != null
+                ? configuration.getFailedJobCommandFactory()
+                : new DefaultFailedJobCommandFactory();
+        configuration.setFailedJobCommandFactory(new DeferringFailedJobCommandFactory(defaultFactory));
+    }
+
+    /**
+     * Defers rate-limited jobs and hands every other failure to the default factory.
+     */
+    static class DeferringFailedJobCommandFactory implements FailedJobCommandFactory {
+
+        private final FailedJobCommandFactory defaultFactory;
+
+        DeferringFailedJobCommandFactory(FailedJobCommandFactory defaultFactory) {
+            this.defaultFactory = defaultFactory;
+        }
+
+        @Override
+        public Command<Object> getCommand(String jobId, Throwable exception) {
+            for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+                if (cause instanceof ProviderRateLimitedException rateLimited) {
+                    return new DeferJobCmd(jobId, rateLimited.getMessage(), rateLimited.getDeferBy());
+                }
+            }
+            return defaultFactory.getCommand(jobId, exception);
+        }
+    }
+
+    /**
+     * Releases the job and makes it due again after {@code deferBy}, keeping its retries.
+     */
+    static class DeferJobCmd implements Command<Object> {
+
+        private final String jobId;
+        private final String reason;
+        private final Duration deferBy;
+
+        DeferJobCmd(String jobId, String reason, Duration deferBy) {
+            this.jobId = jobId;
+            this.reason = reason;
+            this.deferBy = deferBy;
+        }
+
+        @Override
+        public Object execute(CommandContext commandContext) {
+            JobEntity job = commandContext.getJobManager().findJobById(jobId);
+            if (job == null) {
+                return null;
+            }
+            Date duedate = new Date(ClockUtil.getCurrentTime().getTime() + deferBy.toMillis());
+            job.setLockOwner(null);
+            job.setLockExpirationTime(null);
+            job.setDuedate(duedate);
+            job.setExceptionMessage(reason);
+            log.info("Job {} deferred until {}: {}", jobId, duedate, reason);
+            return null;
+        }
+
+        Duration getDeferBy() {
+            return deferBy;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.bankabc.onboarding.config;
+
+import com.bankabc.onboarding.service.KycBulkProvider;
+import com.bankabc.onboarding.service.SimulatedKycBulkProvider;
+import com.bankabc.onboarding.util.LatencyDistribution;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Provides the KYC bulk endpoint.
+ * Falls back to the SimulatedKycBulkProvider when no other KycBulkProvider bean is defined.
+ * Registered as an auto-configuration, like SmsConfig, so the condition is evaluated after all
+ * application beans are known.
+ */
+@AutoConfiguration
+@Slf4j
+public class KycBulkProviderConfig {
+
+    /**
+     * Simulated KYC bulk endpoint, replaced by registering a real KycBulkProvider bean.
+     *
+     * @param successRate share of customers the simulated provider verifies
+     * @param distribution round trip latency distribution: fixed, exponential or log-normal
+     * @param median median round trip of one call
+     * @param p99 99th percentile round trip of one call
+     * @param perItemLatency extra time per customer in a call
+     * @param maxConcurrentCalls calls the provider serves at once
+     * @param maxBatchSize customers the provider accepts per call
+     * @return the KYC bulk provider
+     */
+    @Bean
+    @ConditionalOnMissingBean(KycBulkProvider.class)
+    public KycBulkProvider kycBulkProvider(
+            @Value("${verification.kyc.success-rate:0.9}") double successRate,
+            @Value("${verification.kyc.latency.distribution:log-normal}") String distribution,
+            @Value("${verification.kyc.latency.median:1000ms}") Duration median,
+            @Value("${verification.kyc.latency.p99:2500ms}") Duration p99,
+            @Value("${verification.kyc.bulk.per-item-latency:2ms}") Duration perItemLatency,
+            @Value("${verification.kyc.bulk.max-concurrent-calls:10}") int maxConcurrentCalls,
+            @Value("${verification.kyc.bulk.max-batch-size:100}") int maxBatchSize) {
+        log.info("No KYC bulk provider configured, using simulated provider ({} calls at once, up to {} customers each)",
+                maxConcurrentCalls, maxBatchSize);
+        return new SimulatedKycBulkProvider(successRate, LatencyDistribution.of(distribution, median, p99),
+                perItemLatency, maxConcurrentCalls, maxBatchSize);
+    }
+}
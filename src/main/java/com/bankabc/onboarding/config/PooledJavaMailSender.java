@@ -0,0 +1,231 @@
+package com.bankabc.onboarding.config;
+
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JavaMailSender that keeps connected, authenticated SMTP transports open and reuses them.
+ * <p>
+ * JavaMailSenderImpl connects (TCP, EHLO, STARTTLS, AUTH) and disconnects for every send call.
+ * This sender borrows a transport from a pool of at most {@code maxTotal} connections instead:
+ * <ul>
+ *   <li>idle transports are reused most-recently-used first, so surplus connections age out</li>
+ *   <li>a transport idle for longer than {@code validationInterval} is checked with NOOP before reuse</li>
+ *   <li>transports idle for longer than {@code maxIdle} are closed by a background evictor</li>
+ *   <li>a transport is closed after {@code maxMessagesPerConnection} messages or on any send failure</li>
+ * </ul>
+ * When all {@code maxTotal} transports are in use, callers wait up to {@code borrowTimeout}.
+ */
+@Slf4j
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private final int maxTotal;
+    private final Duration maxIdle;
+    private final Duration validationInterval;
+    private final Duration borrowTimeout;
+    private final int maxMessagesPerConnection;
+
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger opened = new AtomicInteger();
+    private final ScheduledExecutorService evictor;
+
+    public PooledJavaMailSender(int maxTotal, Duration maxIdle, Duration validationInterval,
+                                Duration borrowTimeout, int maxMessagesPerConnection) {
+        this.maxTotal = maxTotal;
+        this.maxIdle = maxIdle;
+        this.validationInterval = validationInterval;
+        this.borrowTimeout = borrowTimeout;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.permits = new Semaphore(maxTotal, true);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "smtp-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long evictionPeriod = Math.max(1_000, maxIdle.toMillis() / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, evictionPeriod, evictionPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends the messages over one pooled transport. A message that fails is reported in the
+     * resulting MailSendException, its transport is discarded and the remaining messages continue
+     * on a fresh one.
+     */
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledTransport transport = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                MimeMessage mimeMessage = mimeMessages[i];
+                Object original = originalMessages != null ? originalMessages[i] : mimeMessage;
+                if (transport == null) {
+                    try {
+                        transport = borrow();
+                    } catch (AuthenticationFailedException e) {
+                        throw new MailAuthenticationException(e);
+                    } catch (Exception e) {
+                        // Without a connection none of the remaining messages can be sent
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], e);
+                        }
+                        throw new MailSendException("Mail server connection failed", e, failedMessages);
+                    }
+                }
+                try {
+                    send(transport, mimeMessage);
+                } catch (Exception e) {
+                    failedMessages.put(original, e);
+                    discard(transport);
+                    transport = null;
+                }
+            }
+        } finally {
+            if (transport != null) {
+                release(transport);
+            }
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    /**
+     * Number of transports currently open, idle or in use.
+     */
+    public int getOpenConnections() {
+        return opened.get();
+    }
+
+    /**
+     * Number of open transports waiting in the pool.
+     */
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    /**
+     * Closes all idle transports and stops the evictor.
+     */
+    @Override
+    public void destroy() {
+        evictor.shutdownNow();
+        PooledTransport transport;
+        while ((transport = idle.pollFirst()) != null) {
+            close(transport);
+        }
+    }
+
+    private void send(PooledTransport transport, MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            // Preserve explicitly specified message id, as saveChanges() resets it
+            mimeMessage.setHeader("Message-ID", messageId);
+        }
+        Address[] addresses = mimeMessage.getAllRecipients();
+        transport.transport.sendMessage(mimeMessage, addresses != null ? addresses : new Address[0]);
+        transport.messagesSent++;
+    }
+
+    private PooledTransport borrow() throws MessagingException, InterruptedException {
+        if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new MessagingException("No SMTP connection available within " + borrowTimeout
+                    + " (pool size " + maxTotal + ")");
+        }
+        try {
+            PooledTransport transport;
+            while ((transport = idle.pollFirst()) != null) {
+                if (isUsable(transport)) {
+                    return transport;
+                }
+                close(transport);
+            }
+            PooledTransport connected = new PooledTransport(connectTransport());
+            opened.incrementAndGet();
+            log.debug("Opened SMTP connection to {}:{} ({} open)", getHost(), getPort(), opened.get());
+            return connected;
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledTransport transport) {
+        if (System.nanoTime() - transport.lastUsedNanos < validationInterval.toNanos()) {
+            return true;
+        }
+        // Sends NOOP to the server
+        return transport.transport.isConnected();
+    }
+
+    private void release(PooledTransport transport) {
+        if (transport.messagesSent >= maxMessagesPerConnection) {
+            discard(transport);
+            return;
+        }
+        transport.lastUsedNanos = System.nanoTime();
+        idle.offerFirst(transport);
+        permits.release();
+    }
+
+    private void discard(PooledTransport transport) {
+        close(transport);
+        permits.release();
+    }
+
+    private void close(PooledTransport transport) {
+        opened.decrementAndGet();
+        try {
+            transport.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.nanoTime() - maxIdle.toNanos();
+        PooledTransport oldest;
+        while ((oldest = idle.peekLast()) != null && oldest.lastUsedNanos < cutoff) {
+            if (idle.removeLastOccurrence(oldest)) {
+                close(oldest);
+                log.debug("Closed idle SMTP connection ({} open)", opened.get());
+            }
+        }
+    }
+
+    private static final class PooledTransport {
+        private final Transport transport;
+        private long lastUsedNanos = System.nanoTime();
+        private int messagesSent;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.bankabc.onboarding.config;
+
+import com.bankabc.onboarding.service.SmsGateway;
+import com.bankabc.onboarding.service.StubSmsGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Provides the SMS gateway.
+ * Falls back to the in-process StubSmsGateway when no other SmsGateway bean is defined.
+ * Registered as an auto-configuration (see META-INF/spring/...AutoConfiguration.imports) rather than
+ * picked up by component scanning, so the condition is evaluated after all application beans are known.
+ */
+@AutoConfiguration
+@Slf4j
+public class SmsConfig {
+
+    /**
+     * Stub gateway that logs messages instead of sending them.
+     *
+     * @param latency simulated provider latency per batch
+     * @param maxBatchSize largest batch per provider call
+     * @param maxMessagesPerSecond simulated provider rate limit, 0 for none
+     * @return the stub SMS gateway
+     */
+    @Bean
+    @ConditionalOnMissingBean(SmsGateway.class)
+    public SmsGateway stubSmsGateway(
+            @Value("${onboarding.sms.stub.latency:0ms}") Duration latency,
+            @Value("${onboarding.sms.stub.max-batch-size:100}") int maxBatchSize,
+            @Value("${onboarding.sms.stub.max-messages-per-second:0}") double maxMessagesPerSecond) {
+        log.info("No SMS provider configured, SMS messages are logged by StubSmsGateway");
+        return new StubSmsGateway(latency, maxBatchSize, maxMessagesPerSecond);
+    }
+}
@@ -0,0 +1,91 @@
+package com.bankabc.onboarding.config;
+
+import com.bankabc.onboarding.service.VerificationProviderGuard;
+import com.bankabc.onboarding.service.VerificationService;
+import com.bankabc.onboarding.util.Bulkhead;
+import com.bankabc.onboarding.util.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Bulkhead and circuit breaker per verification provider.
+ * Each provider gets its own guard, so one provider slowing down never uses up the capacity of another.
+ */
+@Configuration
+@Slf4j
+public class VerificationProviderConfig {
+
+    /**
+     * Guard for the KYC provider.
+     *
+     * @param meterRegistry registry for the bulkhead and circuit breaker meters
+     * @param maxConcurrent KYC calls in flight at once
+     * @param maxQueued KYC calls waiting for a free slot before further calls are refused
+     * @param failureRateThreshold share of failed calls in the window that opens the circuit
+     * @param slidingWindow number of recent calls the failure rate is computed over
+     * @param minimumCalls calls needed in the window before the circuit can open
+     * @param slowCallDuration calls slower than this count as failures
+     * @param openDuration how long the circuit stays open before trial calls
+     * @param halfOpenCalls trial calls that must succeed to close the circuit again
+     * @return the KYC provider guard
+     */
+    @Bean
+    public VerificationProviderGuard kycProviderGuard(
+            MeterRegistry meterRegistry,
+            @Value("${verification.kyc.bulkhead.max-concurrent:20}") int maxConcurrent,
+            @Value("${verification.kyc.bulkhead.max-queued:50}") int maxQueued,
+            @Value("${verification.kyc.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${verification.kyc.circuit-breaker.sliding-window:20}") int slidingWindow,
+            @Value("${verification.kyc.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${verification.kyc.circuit-breaker.slow-call-duration:3s}") Duration slowCallDuration,
+            @Value("${verification.kyc.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${verification.kyc.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        return guard(VerificationService.KYC_PROVIDER, meterRegistry, maxConcurrent, maxQueued, failureRateThreshold,
+                slidingWindow, minimumCalls, slowCallDuration, openDuration, halfOpenCalls);
+    }
+
+    /**
+     * Guard for the address verification provider.
+     *
+     * @param meterRegistry registry for the bulkhead and circuit breaker meters
+     * @param maxConcurrent address calls in flight at once
+     * @param maxQueued address calls waiting for a free slot before further calls are refused
+     * @param failureRateThreshold share of failed calls in the window that opens the circuit
+     * @param slidingWindow number of recent calls the failure rate is computed over
+     * @param minimumCalls calls needed in the window before the circuit can open
+     * @param slowCallDuration calls slower than this count as failures
+     * @param openDuration how long the circuit stays open before trial calls
+     * @param halfOpenCalls trial calls that must succeed to close the circuit again
+     * @return the address provider guard
+     */
+    @Bean
+    public VerificationProviderGuard addressProviderGuard(
+            MeterRegistry meterRegistry,
+            @Value("${verification.address.bulkhead.max-concurrent:20}") int maxConcurrent,
+            @Value("${verification.address.bulkhead.max-queued:50}") int maxQueued,
+            @Value("${verification.address.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${verification.address.circuit-breaker.sliding-window:20}") int slidingWindow,
+            @Value("${verification.address.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${verification.address.circuit-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+            @Value("${verification.address.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${verification.address.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        return guard(VerificationService.ADDRESS_PROVIDER, meterRegistry, maxConcurrent, maxQueued, failureRateThreshold,
+                slidingWindow, minimumCalls, slowCallDuration, openDuration, halfOpenCalls);
+    }
+
+    private VerificationProviderGuard guard(String provider, MeterRegistry meterRegistry, int maxConcurrent, int maxQueued,
+                                            double failureRateThreshold, int slidingWindow, int minimumCalls,
+                                            Duration slowCallDuration, Duration openDuration, int halfOpenCalls) {
+        log.info("{} provider: bulkhead {} in flight + {} queued, circuit opens at {}% failures of the last {} calls for {}",
+                provider, maxConcurrent, maxQueued, Math.round(failureRateThreshold * 100), slidingWindow, openDuration);
+        return new VerificationProviderGuard(provider,
+                new Bulkhead(maxConcurrent, maxQueued),
+                new CircuitBreaker(failureRateThreshold, slidingWindow, minimumCalls, openDuration, halfOpenCalls),
+                slowCallDuration, meterRegistry);
+    }
+}
@@ -0,0 +1,86 @@
+package com.bankabc.onboarding.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.NotifyAcquisitionRejectedJobsHandler;
+import org.camunda.bpm.engine.spring.components.jobexecutor.SpringJobExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * Opt-in Camunda job executor that runs acquired jobs on virtual threads.
+ * <p>
+ * The delegates spend most of their time waiting on verification providers, SMTP and JDBC, so a
+ * platform-thread pool caps job throughput at its pool size. With
+ * {@code onboarding.job-executor.virtual-threads.enabled=true} this configuration replaces the
+ * starter's {@code camundaTaskExecutor} pool and {@code JobExecutor}; every job batch gets its own
+ * virtual thread and {@code max-concurrent-jobs} bounds how many run at once on this node. When
+ * the limit is reached the acquisition thread blocks until a job finishes, so acquisition never
+ * locks more work than the node can execute. A job keeps its JDBC connection until its transaction
+ * commits, so {@code max-concurrent-jobs} must stay below the datasource pool size. The starter
+ * still applies {@code camunda.bpm.job-execution.enabled} and {@code deployment-aware} to the
+ * executor.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "onboarding.job-executor.virtual-threads", name = "enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadJobExecutorConfig {
+
+    public static final String THREAD_NAME_PREFIX = "camunda-vt-job-";
+
+    /**
+     * Virtual-thread task executor used by the job executor. Replaces the starter's
+     * {@code camundaTaskExecutor} thread pool.
+     *
+     * @param maxConcurrentJobs maximum number of job batches executing at once on this node
+     * @return task executor spawning one virtual thread per job batch
+     */
+    @Bean(name = "camundaTaskExecutor")
+    public SimpleAsyncTaskExecutor camundaTaskExecutor(
+            @Value("${onboarding.job-executor.virtual-threads.max-concurrent-jobs:32}") int maxConcurrentJobs) {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor(THREAD_NAME_PREFIX);
+        taskExecutor.setVirtualThreads(true);
+        taskExecutor.setConcurrencyLimit(maxConcurrentJobs);
+        taskExecutor.setTaskTerminationTimeout(30_000);
+        log.info("Camunda jobs run on virtual threads (max concurrent jobs: {})", maxConcurrentJobs);
+        return taskExecutor;
+    }
+
+    /**
+     * Job executor with acquisition tuned for many concurrent, mostly blocking jobs.
+     *
+     * @param taskExecutor              the virtual-thread task executor
+     * @param maxJobsPerAcquisition     jobs locked per acquisition cycle
+     * @param waitTimeInMillis          initial idle wait between acquisitions when no jobs are due
+     * @param maxWait                   upper bound of the idle wait
+     * @param lockTimeInMillis          job lock duration
+     * @param backoffTimeInMillis       initial backoff after acquisition conflicts with other nodes
+     * @param maxBackoff                upper bound of the conflict backoff
+     * @return configured job executor
+     */
+    @Bean
+    public JobExecutor jobExecutor(
+            @Qualifier("camundaTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${onboarding.job-executor.virtual-threads.max-jobs-per-acquisition:50}") int maxJobsPerAcquisition,
+            @Value("${onboarding.job-executor.virtual-threads.wait-time-in-millis:1000}") int waitTimeInMillis,
+            @Value("${onboarding.job-executor.virtual-threads.max-wait:10000}") long maxWait,
+            @Value("${onboarding.job-executor.virtual-threads.lock-time-in-millis:300000}") int lockTimeInMillis,
+            @Value("${onboarding.job-executor.virtual-threads.backoff-time-in-millis:0}") int backoffTimeInMillis,
+            @Value("${onboarding.job-executor.virtual-threads.max-backoff:0}") long maxBackoff) {
+        SpringJobExecutor jobExecutor = new SpringJobExecutor();
+        jobExecutor.setTaskExecutor(taskExecutor);
+        jobExecutor.setRejectedJobsHandler(new NotifyAcquisitionRejectedJobsHandler());
+        jobExecutor.setMaxJobsPerAcquisition(maxJobsPerAcquisition);
+        jobExecutor.setWaitTimeInMillis(waitTimeInMillis);
+        jobExecutor.setMaxWait(maxWait);
+        jobExecutor.setLockTimeInMillis(lockTimeInMillis);
+        jobExecutor.setBackoffTimeInMillis(backoffTimeInMillis);
+        jobExecutor.setMaxBackoff(maxBackoff);
+        return jobExecutor;
+    }
+}
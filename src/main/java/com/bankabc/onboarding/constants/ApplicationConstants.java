@@ -116,6 +116,9 @@ public final class ApplicationConstants {
         public static final String SUCCESS_RESULT = "SUCCESS";
         public static final String PARTIAL_RESULT = "PARTIAL";
         public static final String ERROR_RESULT = "ERROR";
+
+        // Outbox events (part of the notification dedupe key)
+        public static final String ACCOUNT_CREATED_EVENT = "account-created";
         
         // Email subjects
         public static final String ACCOUNT_CREATED_SUBJECT = "Account Created Successfully";
@@ -158,6 +161,7 @@ public final class ApplicationConstants {
         public static final String CUSTOMER_ALREADY_EXISTS = "Customer with SSN already exists";
         public static final String PROCESS_NOT_FOUND = "Process instance not found or not active";
         public static final String DOCUMENTS_UPLOADED_SUCCESS = "Documents uploaded successfully";
+        public static final String DOCUMENTS_UPLOADED_PROCESSING = "Documents uploaded successfully, verification continues in the background";
         
         // Error Messages
         public static final String KYC_VERIFICATION_FAILED_MSG = "Identity verification failed";
@@ -253,6 +257,7 @@ public final class ApplicationConstants {
         public static final String NOTIFICATION_SENT = "notificationSent";
         public static final String EMAIL_SENT = "emailSent";
         public static final String SMS_SENT = "smsSent";
+        public static final String NOTIFICATIONS_QUEUED = "notificationsQueued";
         public static final String NOTIFICATION_TIMESTAMP = "notificationTimestamp";
         
         // Verification Variables
@@ -1,5 +1,6 @@
 package com.bankabc.onboarding.controller;
 
+import java.net.URI;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.HashMap;
@@ -9,10 +10,13 @@ import com.bankabc.onboarding.constants.ApplicationConstants;
 import com.bankabc.onboarding.exception.DefaultApiError;
 import com.bankabc.onboarding.openapi.api.OnboardingWorkflowApi;
 import com.bankabc.onboarding.openapi.model.DocumentUploadResponse;
+import com.bankabc.onboarding.openapi.model.OnboardingBatchStartRequest;
+import com.bankabc.onboarding.openapi.model.OnboardingBatchStartResponse;
 import com.bankabc.onboarding.openapi.model.OnboardingStartRequest;
 import com.bankabc.onboarding.openapi.model.OnboardingStartResponse;
 import com.bankabc.onboarding.openapi.model.OnboardingStatusResponse;
 import com.bankabc.onboarding.service.BpmnProcessService;
+import com.bankabc.onboarding.service.OnboardingBatchService;
 import com.bankabc.onboarding.service.FileStorageService;
 import com.bankabc.onboarding.service.FileValidationService;
 import com.bankabc.onboarding.service.OnboardingService;
@@ -35,6 +39,7 @@ import jakarta.validation.Valid;
 public class OnboardingWorkflowController implements OnboardingWorkflowApi {
 
     private final BpmnProcessService bpmnProcessService;
+    private final OnboardingBatchService onboardingBatchService;
     private final FileStorageService fileStorageService;
     private final FileValidationService fileValidationService;
     private final OnboardingService onboardingService;
@@ -66,6 +71,25 @@ public class OnboardingWorkflowController implements OnboardingWorkflowApi {
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
 
+    /**
+     * Start the onboarding process for a batch of applicants (Step 1 in bulk).
+     * Duplicate or failing applicants are reported per item and do not fail the batch.
+     * 
+     * @param onboardingBatchStartRequest The applicants to onboard
+     * @return Response with one result per applicant
+     */
+    @Override
+    public ResponseEntity<OnboardingBatchStartResponse> startOnboardingWorkflowBatch(
+            @Valid OnboardingBatchStartRequest onboardingBatchStartRequest) {
+
+        log.info("Starting onboarding batch with {} applicants", onboardingBatchStartRequest.getItems().size());
+
+        OnboardingBatchStartResponse response = onboardingBatchService.startOnboardingProcesses(
+                onboardingBatchStartRequest.getItems());
+        log.info("Onboarding batch processed: {} started, {} failed", response.getStarted(), response.getFailed());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Upload documents (Step 2: Document upload).
      * 
@@ -121,10 +145,13 @@ public class OnboardingWorkflowController implements OnboardingWorkflowApi {
             // Correlate message to resume process
             OnboardingStatusResponse statusResponse = bpmnProcessService.correlateDocumentUpload(processInstanceId, uploadedDocuments);
             
+            boolean asyncContinuation = bpmnProcessService.isAsyncContinuationEnabled();
             DocumentUploadResponse response = new DocumentUploadResponse()
                     .processInstanceId(processInstanceId)
                     .status(statusResponse.getStatus().getValue())
-                    .message(ApplicationConstants.Messages.DOCUMENTS_UPLOADED_SUCCESS)
+                    .message(asyncContinuation
+                            ? ApplicationConstants.Messages.DOCUMENTS_UPLOADED_PROCESSING
+                            : ApplicationConstants.Messages.DOCUMENTS_UPLOADED_SUCCESS)
                     .uploadedAt(OffsetDateTime.now(ZoneOffset.UTC))
                     .nextStep(statusResponse.getNextStep())
                     .nextStepDescription(workflowConfigurationService.getNextStepDescription(
@@ -133,6 +160,12 @@ public class OnboardingWorkflowController implements OnboardingWorkflowApi {
                     .photoUploaded(true);
             
             log.info("Documents uploaded successfully for process instance: {}", processInstanceId);
+            if (asyncContinuation) {
+                // Verification runs on the job executor - point the client at the status resource to poll
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/v1/onboarding/" + processInstanceId + "/status"))
+                        .body(response);
+            }
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Failed to store documents for process instance: {}", processInstanceId, e);
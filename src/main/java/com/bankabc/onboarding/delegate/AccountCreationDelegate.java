@@ -5,7 +5,7 @@ import java.util.UUID;
 import com.bankabc.onboarding.entity.Onboarding;
 import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
 import com.bankabc.onboarding.service.AccountService;
-import com.bankabc.onboarding.service.OnboardingService;
+import com.bankabc.onboarding.service.OnboardingUnitOfWork;
 import com.bankabc.onboarding.constants.ApplicationConstants;
 import com.bankabc.onboarding.util.DelegateUtils;
 import lombok.RequiredArgsConstructor;
@@ -25,7 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class AccountCreationDelegate implements JavaDelegate {
 
     private final AccountService accountService;
-    private final OnboardingService onboardingService;
+    private final OnboardingUnitOfWork onboardingUnitOfWork;
     private final DelegateUtils delegateUtils;
 
     @Override
@@ -60,7 +60,7 @@ public class AccountCreationDelegate implements JavaDelegate {
 
             onboarding.setAccountNumber(accountNumber);
             onboarding.setStatus(OnboardingStatus.ACCOUNT_CREATED);
-            onboardingService.saveOnboarding(onboarding);
+            onboardingUnitOfWork.update(onboarding);
 
             execution.setVariable(ApplicationConstants.ProcessVariables.ACCOUNT_NUMBER, accountNumber);
             execution.setVariable(ApplicationConstants.ProcessVariables.STATUS, OnboardingStatus.ACCOUNT_CREATED.name());
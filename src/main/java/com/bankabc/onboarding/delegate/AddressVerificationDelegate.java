@@ -3,7 +3,8 @@ package com.bankabc.onboarding.delegate;
 import com.bankabc.onboarding.constants.ApplicationConstants;
 import com.bankabc.onboarding.entity.Onboarding;
 import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
-import com.bankabc.onboarding.service.OnboardingService;
+import com.bankabc.onboarding.exception.ProviderRateLimitedException;
+import com.bankabc.onboarding.service.OnboardingUnitOfWork;
 import com.bankabc.onboarding.service.VerificationService;
 import com.bankabc.onboarding.util.DelegateUtils;
 import lombok.RequiredArgsConstructor;
@@ -26,7 +27,7 @@ import java.util.UUID;
 public class AddressVerificationDelegate implements JavaDelegate {
 
     private final VerificationService verificationService;
-    private final OnboardingService onboardingService;
+    private final OnboardingUnitOfWork onboardingUnitOfWork;
     private final DelegateUtils delegateUtils;
 
     @Override
@@ -40,13 +41,13 @@ public class AddressVerificationDelegate implements JavaDelegate {
 
             onboarding.setStatus(OnboardingStatus.ADDRESS_VERIFICATION_IN_PROGRESS);
 
-            // Perform address verification
-            boolean addressVerified = verificationService.verifyAddress(
+            // Perform address verification; fails with a TimeoutException past the address deadline
+            boolean addressVerified = DelegateUtils.await(verificationService.verifyAddressAsync(
                 onboarding.getStreet(),
                 onboarding.getCity(),
                 onboarding.getPostalCode(),
                 onboarding.getCountry()
-            );
+            ));
 
             if (!addressVerified) {
                 // Don't set global status to FAILED - let previous steps remain successful
@@ -64,7 +65,7 @@ public class AddressVerificationDelegate implements JavaDelegate {
             // Address verified successfully
             onboarding.setStatus(OnboardingStatus.ADDRESS_VERIFICATION_COMPLETED);
             onboarding.setAddressVerified(true);
-            onboardingService.saveOnboarding(onboarding);
+            onboardingUnitOfWork.update(onboarding);
 
             execution.setVariable(ApplicationConstants.ProcessVariables.ADDRESS_RESULT, ApplicationConstants.Workflow.KYC_RESULT_SUCCESS);
             execution.setVariable(ApplicationConstants.ProcessVariables.STATUS, OnboardingStatus.ADDRESS_VERIFICATION_COMPLETED.name());
@@ -76,6 +77,10 @@ public class AddressVerificationDelegate implements JavaDelegate {
         } catch (BpmnError e) {
             execution.setVariable(ApplicationConstants.ProcessVariables.FAILED_STEP_ID, ApplicationConstants.ProcessVariables.STEP_ADDRESS_VERIFICATION);
             throw e; // handled by BPMN boundary event
+        } catch (ProviderRateLimitedException e) {
+            // Not a verification failure: the job is deferred and runs again once the quota has room
+            log.info("Address verification deferred by {} for processInstanceId: {}", e.getDeferBy(), processInstanceId);
+            throw e;
         } catch (Exception e) {
             log.error("System error in AddressVerificationDelegate for processInstanceId: {}", processInstanceId, e);
             execution.setVariable(ApplicationConstants.ProcessVariables.ERROR_MESSAGE, "System error: " + e.getMessage());
@@ -2,7 +2,7 @@ package com.bankabc.onboarding.delegate;
 
 import com.bankabc.onboarding.entity.Onboarding;
 import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
-import com.bankabc.onboarding.service.OnboardingService;
+import com.bankabc.onboarding.service.OnboardingUnitOfWork;
 import com.bankabc.onboarding.constants.ApplicationConstants;
 import com.bankabc.onboarding.util.DelegateUtils;
 import lombok.RequiredArgsConstructor;
@@ -25,7 +25,7 @@ import java.util.UUID;
 @Slf4j
 public class CollectInfoDelegate implements JavaDelegate {
 
-    private final OnboardingService onboardingService;
+    private final OnboardingUnitOfWork onboardingUnitOfWork;
     private final DelegateUtils delegateUtils;
 
     @Override
@@ -39,9 +39,10 @@ public class CollectInfoDelegate implements JavaDelegate {
             Onboarding onboarding = delegateUtils.getOnboarding(execution);
             UUID onboardingId = onboarding.getId();
 
-            // Update onboarding state
+            // Update onboarding state; on the start path the row is already INFO_COLLECTED and
+            // still pending its INSERT, so this adds no statement
             onboarding.setStatus(OnboardingStatus.INFO_COLLECTED);
-            onboardingService.saveOnboarding(onboarding);
+            onboardingUnitOfWork.update(onboarding);
 
             // Set relevant process variables
             execution.setVariable(ApplicationConstants.ProcessVariables.STATUS, OnboardingStatus.INFO_COLLECTED.name());
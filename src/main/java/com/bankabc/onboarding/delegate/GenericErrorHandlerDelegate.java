@@ -2,12 +2,13 @@ package com.bankabc.onboarding.delegate;
 
 import com.bankabc.onboarding.entity.Onboarding;
 import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
+import com.bankabc.onboarding.model.NotificationResult;
 import com.bankabc.onboarding.service.NotificationService;
 import com.bankabc.onboarding.service.OnboardingService;
 import com.bankabc.onboarding.constants.ApplicationConstants;
 import com.bankabc.onboarding.util.DelegateUtils;
 import com.bankabc.onboarding.service.WorkflowConfigurationService;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.bankabc.onboarding.model.WorkflowDefinition.ErrorHandling;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
@@ -56,9 +57,11 @@ public class GenericErrorHandlerDelegate implements JavaDelegate {
             // Send notification to customer
             String customerName = "Customer";
 
-            boolean notificationSent = false;
+            // Email and SMS go out concurrently against one deadline
+            NotificationResult notificationResult = new NotificationResult(false, false);
             try {
-                notificationSent = notificationService.sendFailureNotifications(
+                notificationResult = notificationService.notifyFailure(
+                    onboardingId,
                     onboarding.getEmail(),
                     onboarding.getPhone(),
                     errorType,
@@ -68,17 +71,21 @@ public class GenericErrorHandlerDelegate implements JavaDelegate {
             } catch (Exception notifyEx) {
                 log.error("Notification sending failed for onboardingId: {}", onboardingId, notifyEx);
             }
+            boolean notificationSent = notificationResult.isAllSent();
 
             if (notificationSent) {
                 log.info("Error notification sent successfully for onboardingId: {} | Type: {}", onboardingId, errorType);
             } else {
-                log.warn("Failed to send error notification for onboardingId: {} | Type: {}", onboardingId, errorType);
+                log.warn("Error notification {} for onboardingId: {} | Type: {} | Email sent: {} | SMS sent: {}",
+                    notificationResult.getStatus(), onboardingId, errorType,
+                    notificationResult.isEmailSent(), notificationResult.isSmsSent());
             }
 
             // Update BPMN variables
             execution.setVariable(ApplicationConstants.ProcessVariables.ERROR_TYPE, errorType);
             execution.setVariable(ApplicationConstants.ProcessVariables.ERROR_MESSAGE, errorMessage);
             execution.setVariable(ApplicationConstants.ProcessVariables.NOTIFICATION_SENT, notificationSent);
+            execution.setVariable(ApplicationConstants.ProcessVariables.NOTIFICATION_RESULT, notificationResult.getStatus());
             execution.setVariable(ApplicationConstants.ProcessVariables.STATUS, OnboardingStatus.FAILED.name());
 
         } catch (Exception e) {
@@ -90,9 +97,9 @@ public class GenericErrorHandlerDelegate implements JavaDelegate {
 
     private String determineErrorType(DelegateExecution execution, String failedStepId) {
         try {
-            JsonNode stepConfig = workflowConfigurationService.getStepConfiguration(failedStepId);
-            return Optional.ofNullable(stepConfig)
-                .map(cfg -> cfg.path("errorHandling").path("errorType").asText(null))
+            ErrorHandling errorHandling = workflowConfigurationService.getErrorHandling(failedStepId);
+            return Optional.ofNullable(errorHandling)
+                .map(ErrorHandling::getErrorType)
                 .filter(type -> !type.isEmpty())
                 .orElseGet(() -> determineErrorTypeLegacy(execution));
         } catch (Exception e) {
@@ -109,8 +116,8 @@ public class GenericErrorHandlerDelegate implements JavaDelegate {
         }
 
         try {
-            JsonNode stepConfig = workflowConfigurationService.getStepConfiguration(failedStepId);
-            String defaultMessage = stepConfig.path("errorHandling").path("defaultMessage").asText(null);
+            ErrorHandling errorHandling = workflowConfigurationService.getErrorHandling(failedStepId);
+            String defaultMessage = errorHandling != null ? errorHandling.getDefaultMessage() : null;
             if (defaultMessage != null && !defaultMessage.isBlank()) {
                 return defaultMessage;
             }
@@ -4,7 +4,8 @@ import com.bankabc.onboarding.entity.Onboarding;
 import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
 import com.bankabc.onboarding.exception.DefaultApiError;
 import com.bankabc.onboarding.exception.ErrorTypes;
-import com.bankabc.onboarding.service.OnboardingService;
+import com.bankabc.onboarding.exception.ProviderRateLimitedException;
+import com.bankabc.onboarding.service.OnboardingUnitOfWork;
 import com.bankabc.onboarding.service.VerificationService;
 import com.bankabc.onboarding.constants.ApplicationConstants;
 import com.bankabc.onboarding.util.DelegateUtils;
@@ -26,7 +27,7 @@ import java.util.UUID;
 public class KycDelegate implements JavaDelegate {
 
     private final VerificationService verificationService;
-    private final OnboardingService onboardingService;
+    private final OnboardingUnitOfWork onboardingUnitOfWork;
     private final DelegateUtils delegateUtils;
 
     @Override
@@ -38,22 +39,21 @@ public class KycDelegate implements JavaDelegate {
             Onboarding onboarding = delegateUtils.getOnboarding(execution);
             UUID onboardingId = onboarding.getId();
 
-            // Update onboarding status
+            // Update onboarding status; the row is written once when the job transaction commits
             onboarding.setStatus(OnboardingStatus.KYC_IN_PROGRESS);
-            onboardingService.saveOnboarding(onboarding);
+            onboardingUnitOfWork.update(onboarding);
 
-            // Perform actual verification
-            boolean kycResult = verificationService.performKycVerification(
+            // Perform actual verification; fails with a TimeoutException past the KYC deadline
+            boolean kycResult = DelegateUtils.await(verificationService.performKycVerificationAsync(
                 onboarding.getFirstName(),
                 onboarding.getLastName(),
                 onboarding.getDateOfBirth(),
                 onboarding.getSsn()
-            );
+            ));
 
             if (kycResult) {
                 onboarding.setStatus(OnboardingStatus.KYC_COMPLETED);
                 onboarding.setKycVerified(true);
-                onboardingService.saveOnboarding(onboarding);
 
                 execution.setVariable(ApplicationConstants.ProcessVariables.KYC_RESULT, ApplicationConstants.Workflow.KYC_RESULT_SUCCESS);
                 execution.setVariable(ApplicationConstants.ProcessVariables.KYC_VERIFIED, ApplicationConstants.Workflow.KYC_VERIFIED_TRUE);
@@ -64,7 +64,6 @@ public class KycDelegate implements JavaDelegate {
             } else {
                 // Don't set global status to FAILED - let document upload step remain successful
                 onboarding.setKycVerified(false);
-                onboardingService.saveOnboarding(onboarding);
 
                 execution.setVariable(ApplicationConstants.ProcessVariables.KYC_RESULT, ApplicationConstants.Workflow.KYC_RESULT_FAILED);
                 execution.setVariable(ApplicationConstants.ProcessVariables.KYC_VERIFIED, ApplicationConstants.Workflow.KYC_VERIFIED_FALSE);
@@ -81,6 +80,10 @@ public class KycDelegate implements JavaDelegate {
         } catch (BpmnError e) {
             // Re-throw BPMN errors to trigger boundary events
             throw e;
+        } catch (ProviderRateLimitedException e) {
+            // Not a verification failure: the job is deferred and runs again once the quota has room
+            log.info("KYC verification deferred by {} for processInstanceId: {}", e.getDeferBy(), processInstanceId);
+            throw e;
         } catch (Exception e) {
             log.error("Error during KYC verification (processInstanceId: {})", processInstanceId, e);
             execution.setVariable(ApplicationConstants.ProcessVariables.KYC_RESULT, ApplicationConstants.Workflow.KYC_RESULT_ERROR);
@@ -0,0 +1,41 @@
+package com.bankabc.onboarding.delegate;
+
+import com.bankabc.onboarding.constants.ApplicationConstants;
+import com.bankabc.onboarding.entity.Onboarding;
+import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
+import com.bankabc.onboarding.service.OnboardingUnitOfWork;
+import com.bankabc.onboarding.util.DelegateUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Execution listener on the flow leaving the join gateway of the parallel-verification process.
+ * <p>
+ * KYC and address verification run as concurrent jobs and each writes only its own result
+ * columns, so whichever finishes last leaves an intermediate status behind. Once both branches
+ * have joined, this listener settles the onboarding on ADDRESS_VERIFICATION_COMPLETED, the same
+ * status the sequential process reaches before account creation.
+ */
+@Component("verificationJoinListener")
+@RequiredArgsConstructor
+@Slf4j
+public class VerificationJoinListener implements ExecutionListener {
+
+    private final OnboardingUnitOfWork onboardingUnitOfWork;
+    private final DelegateUtils delegateUtils;
+
+    @Override
+    public void notify(DelegateExecution execution) {
+        Onboarding onboarding = delegateUtils.getOnboarding(execution);
+
+        onboarding.setStatus(OnboardingStatus.ADDRESS_VERIFICATION_COMPLETED);
+        onboardingUnitOfWork.update(onboarding);
+
+        execution.setVariable(ApplicationConstants.ProcessVariables.STATUS, OnboardingStatus.ADDRESS_VERIFICATION_COMPLETED.name());
+        log.info("KYC and address verification joined for onboardingId: {} (kycVerified={}, addressVerified={})",
+            onboarding.getId(), onboarding.getKycVerified(), onboarding.getAddressVerified());
+    }
+}
@@ -0,0 +1,119 @@
+package com.bankabc.onboarding.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Customer notification waiting to be delivered.
+ * <p>
+ * Rows are written in the same transaction as the onboarding status change that triggers them
+ * and drained by NotificationOutboxPoller. Delivery is at least once: a row stays PENDING until a
+ * send succeeds, and a claimed row whose lease runs out is picked up again. The unique dedupe key
+ * makes enqueueing idempotent when a workflow step is executed more than once.
+ */
+@Entity
+@Table(name = "notification_outbox",
+       indexes = {
+           @Index(name = "idx_outbox_dedupe_key", columnList = "dedupe_key", unique = true),
+           @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+       })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "dedupe_key", nullable = false, updatable = false, length = 200)
+    private String dedupeKey;
+
+    @Column(name = "onboarding_id", updatable = false)
+    private UUID onboardingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "channel", nullable = false, updatable = false, length = 10)
+    private Channel channel;
+
+    @Column(name = "recipient", nullable = false, updatable = false, length = 100)
+    private String recipient;
+
+    @Column(name = "subject", length = 200)
+    private String subject;
+
+    @Lob
+    @Column(name = "body", nullable = false)
+    private String body;
+
+    // Delivery state
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private OffsetDateTime sentAt;
+
+    /**
+     * JPA lifecycle method to set timestamps before persisting.
+     */
+    @PrePersist
+    protected void onCreate() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        if (createdAt == null) {
+            createdAt = now;
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = now;
+        }
+    }
+
+    /**
+     * Delivery channel.
+     */
+    public enum Channel {
+        EMAIL,
+        SMS
+    }
+
+    /**
+     * Delivery status.
+     */
+    public enum Status {
+        /**
+         * Waiting for its first or next attempt
+         */
+        PENDING,
+        /**
+         * Delivered
+         */
+        SENT,
+        /**
+         * Gave up after the maximum number of attempts
+         */
+        FAILED
+    }
+}
@@ -1,14 +1,20 @@
 package com.bankabc.onboarding.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.bankabc.onboarding.constants.ApplicationConstants;
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
@@ -23,20 +29,33 @@ import java.util.UUID;
  * - Add document upload fields for ID proof and photo
  * - Add audit trail for compliance
  * - Add encryption for sensitive data (SSN)
+ *
+ * Status lookups by process instance ID (status endpoint, delegates) use the unique
+ * idx_process_instance_id; ops queries by status and creation time use idx_status_created_at
+ * and idx_created_at.
+ *
+ * IDs are assigned by the application before the first save (the onboarding ID is also the
+ * process business key), so new rows are persisted with a single INSERT instead of a merge.
+ *
+ * Updates only write the columns that changed, so concurrent verification steps that touch
+ * different result columns (kycVerified, addressVerified) never overwrite each other.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "onboarding", 
        indexes = {
-           @Index(name = "idx_ssn", columnList = "ssn")
+           @Index(name = "idx_ssn", columnList = "ssn"),
+           @Index(name = "idx_process_instance_id", columnList = "process_instance_id", unique = true),
+           @Index(name = "idx_status_created_at", columnList = "status, created_at"),
+           @Index(name = "idx_created_at", columnList = "created_at")
        })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Onboarding {
+public class Onboarding implements Persistable<UUID> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -136,12 +155,32 @@ public class Onboarding {
     @JsonFormat(pattern = ApplicationConstants.DATETIME_FORMAT)
     private OffsetDateTime completedAt;
 
+    /**
+     * Set once the row exists in the database; not a column.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient boolean persisted;
+
+    /**
+     * New until loaded or persisted, so Spring Data persists instead of merging an entity
+     * whose ID was assigned up front.
+     */
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
     /**
      * JPA lifecycle method to set timestamps before persisting.
      * Ensures all timestamps are in UTC regardless of database server timezone.
      */
     @PrePersist
     protected void onCreate() {
+        if (id == null) {
+            id = UUID.randomUUID();
+        }
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
         if (createdAt == null) {
             createdAt = now;
@@ -160,6 +199,15 @@ public class Onboarding {
         updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
     }
 
+    /**
+     * JPA lifecycle method marking the entity as stored once it has been loaded or inserted.
+     */
+    @PostLoad
+    @PostPersist
+    protected void markPersisted() {
+        persisted = true;
+    }
+
     /**
      * Enum representing customer gender.
      */
@@ -193,7 +241,6 @@ public class Onboarding {
         ADDRESS_VERIFICATION_COMPLETED("Address verification completed"),
         ACCOUNT_CREATION_IN_PROGRESS("Account creation in progress"),
         ACCOUNT_CREATED("Bank account created"),
-        NOTIFICATION_SENT("Customer notification sent"),
         COMPLETED("Onboarding completed successfully"),
         FAILED("Onboarding failed");
 
@@ -0,0 +1,22 @@
+package com.bankabc.onboarding.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a provider's request quota has no permit left within the step's wait limit.
+ * <p>
+ * Delegates let it escape instead of turning it into a BPMN error; JobDeferralPlugin then moves
+ * the job {@code deferBy} into the future without using up one of its retries.
+ */
+@Getter
+public class ProviderRateLimitedException extends ProviderUnavailableException {
+
+    private final Duration deferBy;
+
+    public ProviderRateLimitedException(String provider, Duration deferBy) {
+        super(provider, Reason.RATE_LIMITED);
+        this.deferBy = deferBy;
+    }
+}
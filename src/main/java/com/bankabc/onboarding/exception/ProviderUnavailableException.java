@@ -0,0 +1,37 @@
+package com.bankabc.onboarding.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a call to an external provider is refused locally, without reaching the provider.
+ */
+@Getter
+public class ProviderUnavailableException extends RuntimeException {
+
+    private final String provider;
+    private final Reason reason;
+
+    public ProviderUnavailableException(String provider, Reason reason) {
+        super(provider + " provider unavailable: " + reason.getDescription());
+        this.provider = provider;
+        this.reason = reason;
+    }
+
+    /**
+     * Why the call was refused.
+     */
+    @Getter
+    public enum Reason {
+        BULKHEAD_FULL("bulkhead-full", "too many calls in flight"),
+        CIRCUIT_OPEN("circuit-open", "circuit breaker open"),
+        RATE_LIMITED("rate-limited", "request quota used up");
+
+        private final String tag;
+        private final String description;
+
+        Reason(String tag, String description) {
+            this.tag = tag;
+            this.description = description;
+        }
+    }
+}
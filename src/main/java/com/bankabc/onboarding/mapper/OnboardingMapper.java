@@ -46,6 +46,7 @@ public interface OnboardingMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "completedAt", ignore = true)
+    @Mapping(target = "persisted", ignore = true)
     @Mapping(source = "dob", target = "dateOfBirth")
     @Mapping(source = "gender", target = "gender", qualifiedByName = "mapGender")
     Onboarding toEntity(OnboardingStartRequest request);
@@ -0,0 +1,32 @@
+package com.bankabc.onboarding.model;
+
+import lombok.Value;
+
+/**
+ * Outcome of one email in a batch send.
+ */
+@Value
+public class EmailSendResult {
+
+    /**
+     * The email as passed to the batch
+     */
+    Email email;
+
+    /**
+     * Why the email was not sent, null if it was sent
+     */
+    Exception error;
+
+    public static EmailSendResult sent(Email email) {
+        return new EmailSendResult(email, null);
+    }
+
+    public static EmailSendResult failed(Email email, Exception error) {
+        return new EmailSendResult(email, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bankabc.onboarding.model;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Identity data of one customer sent to the KYC provider.
+ */
+@Value
+public class KycRequest {
+
+    /**
+     * Customer's first name
+     */
+    String firstName;
+
+    /**
+     * Customer's last name
+     */
+    String lastName;
+
+    /**
+     * Customer's date of birth
+     */
+    LocalDate dateOfBirth;
+
+    /**
+     * Customer's social security number
+     */
+    String ssn;
+}
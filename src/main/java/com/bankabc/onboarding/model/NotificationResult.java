@@ -0,0 +1,37 @@
+package com.bankabc.onboarding.model;
+
+import com.bankabc.onboarding.constants.ApplicationConstants;
+import lombok.Value;
+
+/**
+ * Outcome of a customer notification sent on both channels.
+ */
+@Value
+public class NotificationResult {
+
+    /**
+     * Whether the email was delivered before the deadline
+     */
+    boolean emailSent;
+
+    /**
+     * Whether the SMS was delivered before the deadline
+     */
+    boolean smsSent;
+
+    public boolean isAllSent() {
+        return emailSent && smsSent;
+    }
+
+    /**
+     * SUCCESS when both channels delivered, PARTIAL when one did, ERROR when none did.
+     */
+    public String getStatus() {
+        if (isAllSent()) {
+            return ApplicationConstants.Notification.SUCCESS_RESULT;
+        }
+        return emailSent || smsSent
+                ? ApplicationConstants.Notification.PARTIAL_RESULT
+                : ApplicationConstants.Notification.ERROR_RESULT;
+    }
+}
@@ -0,0 +1,20 @@
+package com.bankabc.onboarding.model;
+
+import lombok.Value;
+
+/**
+ * A text message to one phone number.
+ */
+@Value
+public class SmsMessage {
+
+    /**
+     * Recipient phone number
+     */
+    String phone;
+
+    /**
+     * Message text
+     */
+    String message;
+}
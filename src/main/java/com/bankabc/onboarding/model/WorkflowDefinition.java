@@ -0,0 +1,147 @@
+package com.bankabc.onboarding.model;
+
+import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable, compiled form of onboarding.json.
+ * Built once by WorkflowConfigurationService so status lookups are plain EnumMap reads
+ * that return precomputed values.
+ */
+@Value
+@Builder
+public class WorkflowDefinition {
+
+    /**
+     * Key of the sequential onboarding process
+     */
+    String processDefinitionKey;
+
+    /**
+     * Key of the parallel-verification variant (may be null)
+     */
+    String parallelVerificationProcessDefinitionKey;
+
+    /**
+     * Message returned when a process is started
+     */
+    String processStartedMessage;
+
+    /**
+     * Steps by step ID, in configuration order
+     */
+    Map<String, StepDefinition> steps;
+
+    /**
+     * Resolved status entries, one per OnboardingStatus
+     */
+    Map<OnboardingStatus, StatusDefinition> statuses;
+
+    /**
+     * Workflow definition with no steps or statuses, used until a configuration is loaded.
+     */
+    public static final WorkflowDefinition EMPTY = WorkflowDefinition.builder()
+            .steps(Map.of())
+            .statuses(Collections.unmodifiableMap(new EnumMap<>(OnboardingStatus.class)))
+            .build();
+
+    /**
+     * Single workflow step from the "steps" section.
+     */
+    @Value
+    @Builder
+    public static class StepDefinition {
+        String id;
+        String name;
+        String description;
+        String nextStepDescription;
+        String delegateBean;
+        String messageName;
+        int order;
+        boolean mandatory;
+
+        /**
+         * Step timeout, null when the step has none
+         */
+        Duration timeout;
+
+        /**
+         * Error handling metadata, null when the step has none
+         */
+        ErrorHandling errorHandling;
+
+        /**
+         * Quota of the provider called by the step, null when calls are not rate limited
+         */
+        RateLimit rateLimit;
+    }
+
+    /**
+     * Error handling block of a step.
+     */
+    @Value
+    @Builder
+    public static class ErrorHandling {
+        String errorType;
+        String errorCode;
+        String defaultMessage;
+        boolean retryable;
+        int maxRetries;
+        String notificationTemplate;
+    }
+
+    /**
+     * Rate limit block of a step: a token bucket in front of the step's provider.
+     */
+    @Value
+    @Builder
+    public static class RateLimit {
+
+        /**
+         * Provider calls per second the provider allows; a batched KYC bulk call counts as one call
+         */
+        double permitsPerSecond;
+
+        /**
+         * Calls that may be made at once after an idle period
+         */
+        int burst;
+
+        /**
+         * Longest a job waits in place for a permit
+         */
+        Duration maxWait;
+
+        /**
+         * How far a job is pushed back when no permit is available within maxWait
+         */
+        Duration deferBy;
+    }
+
+    /**
+     * Status entry with every description precomputed.
+     */
+    @Value
+    @Builder
+    public static class StatusDefinition {
+        OnboardingStatus status;
+        String message;
+        String currentStepDescription;
+
+        /**
+         * ID of the next step, null when the workflow has ended
+         */
+        String nextStepId;
+
+        /**
+         * Resolved description of the next step
+         */
+        String nextStepDescription;
+    }
+}
@@ -0,0 +1,46 @@
+package com.bankabc.onboarding.repository;
+
+import com.bankabc.onboarding.entity.NotificationOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for NotificationOutbox entity operations.
+ */
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, UUID> {
+
+    /**
+     * Checks if a notification with the given dedupe key was already enqueued.
+     *
+     * @param dedupeKey the dedupe key
+     * @return true if a notification exists, false otherwise
+     */
+    boolean existsByDedupeKey(String dedupeKey);
+
+    /**
+     * Locks the oldest pending notifications that are due. Rows locked by another poller are
+     * skipped where the database supports it.
+     *
+     * @param now the current time
+     * @param pageable the batch size
+     * @return the due notifications, oldest first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select n from NotificationOutbox n "
+            + "where n.status = com.bankabc.onboarding.entity.NotificationOutbox.Status.PENDING "
+            + "and n.nextAttemptAt <= :now order by n.nextAttemptAt")
+    List<NotificationOutbox> findDueForUpdate(@Param("now") OffsetDateTime now, Pageable pageable);
+}
@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,6 +27,15 @@ public interface OnboardingRepository extends JpaRepository<Onboarding, UUID> {
      */
     boolean existsBySsn(String ssn);
 
+    /**
+     * Returns which of the given SSNs already belong to a customer, in a single query.
+     * 
+     * @param ssns the social security numbers to check
+     * @return the subset of SSNs that already exist
+     */
+    @Query("select o.ssn from Onboarding o where o.ssn in :ssns")
+    List<String> findExistingSsns(@Param("ssns") Collection<String> ssns);
+
 
 
     /**
@@ -34,5 +45,15 @@ public interface OnboardingRepository extends JpaRepository<Onboarding, UUID> {
      * @return Optional containing onboarding if found
      */
     Optional<Onboarding> findByProcessInstanceId(String processInstanceId);
-}
 
+    /**
+     * Reads only the columns needed for a status response, by BPMN process instance ID.
+     * 
+     * @param processInstanceId the BPMN process instance ID
+     * @return Optional containing the status projection if found
+     */
+    @Query("select new com.bankabc.onboarding.repository.OnboardingStatusView("
+            + "o.status, o.accountNumber, o.kycVerified, o.addressVerified, o.createdAt, o.updatedAt, o.completedAt) "
+            + "from Onboarding o where o.processInstanceId = :processInstanceId")
+    Optional<OnboardingStatusView> findStatusViewByProcessInstanceId(@Param("processInstanceId") String processInstanceId);
+}
@@ -0,0 +1,21 @@
+package com.bankabc.onboarding.repository;
+
+import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Read-only projection of the onboarding columns needed to answer a status request.
+ * Loaded with a constructor expression, so it is not a managed entity and costs no dirty checking.
+ */
+@Value
+public class OnboardingStatusView {
+    OnboardingStatus status;
+    String accountNumber;
+    Boolean kycVerified;
+    Boolean addressVerified;
+    OffsetDateTime createdAt;
+    OffsetDateTime updatedAt;
+    OffsetDateTime completedAt;
+}
@@ -0,0 +1,138 @@
+package com.bankabc.onboarding.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded cache of address verification results keyed by the normalized address.
+ * <p>
+ * Applicants at the same address (families, student housing, relocation blocks) share one
+ * provider call: addresses are compared after trimming, case folding, removing accents and
+ * punctuation, and postal codes without spaces. Verified and rejected addresses are cached with
+ * their own TTL; failed or timed-out calls are not cached. Concurrent lookups of an address that
+ * is not cached yet wait for the same provider call. Hit, miss, eviction and size metrics are
+ * published as {@code cache.*} meters tagged {@code cache=verification.address}, the hit ratio
+ * as {@code verification.address.cache.hit-ratio}.
+ */
+@Component
+@Slf4j
+public class AddressVerificationCache {
+
+    public static final String CACHE_NAME = "verification.address";
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern PUNCTUATION = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final boolean enabled;
+    private final AsyncCache<AddressKey, Boolean> cache;
+
+    public AddressVerificationCache(
+            MeterRegistry meterRegistry,
+            @Value("${verification.address.cache.enabled:true}") boolean enabled,
+            @Value("${verification.address.cache.max-size:10000}") long maxSize,
+            @Value("${verification.address.cache.verified-ttl:24h}") Duration verifiedTtl,
+            @Value("${verification.address.cache.rejected-ttl:1h}") Duration rejectedTtl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new OutcomeExpiry(verifiedTtl, rejectedTtl))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("verification.address.cache.hit-ratio", cache, c -> c.synchronous().stats().hitRate())
+                .description("Share of address verifications answered from the cache")
+                .register(meterRegistry);
+        log.info("Address verification cache {} (max size: {}, verified ttl: {}, rejected ttl: {})",
+                enabled ? "enabled" : "disabled", maxSize, verifiedTtl, rejectedTtl);
+    }
+
+    /**
+     * Returns the cached result for the address, or starts the verification and caches its result.
+     *
+     * @param street the street address
+     * @param city the city
+     * @param postalCode the postal code
+     * @param country the country
+     * @param verification starts the provider call on a cache miss
+     * @return the verification result
+     */
+    public CompletableFuture<Boolean> get(String street, String city, String postalCode, String country,
+                                          Supplier<CompletableFuture<Boolean>> verification) {
+        if (!enabled) {
+            return verification.get();
+        }
+        AddressKey key = AddressKey.of(street, city, postalCode, country);
+        // A copy, so one caller completing or cancelling its future does not affect the others
+        return cache.get(key, (address, executor) -> verification.get()).copy();
+    }
+
+    /**
+     * Number of cached addresses, including verifications in flight.
+     */
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    /**
+     * Address in the normalized form used as cache key.
+     */
+    record AddressKey(String street, String city, String postalCode, String country) {
+
+        static AddressKey of(String street, String city, String postalCode, String country) {
+            return new AddressKey(text(street), text(city), compact(postalCode), compact(country));
+        }
+
+        /**
+         * Lower case without accents, with every run of punctuation and whitespace turned into one space.
+         */
+        private static String text(String value) {
+            if (value == null) {
+                return "";
+            }
+            String withoutAccents = ACCENTS.matcher(Normalizer.normalize(value, Normalizer.Form.NFKD)).replaceAll("");
+            return PUNCTUATION.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        }
+
+        /**
+         * Upper case letters and digits only, e.g. "1012 lg" and "1012LG" are the same postal code.
+         */
+        private static String compact(String value) {
+            return text(value).replace(" ", "").toUpperCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Keeps verified and rejected addresses for their own TTL.
+     */
+    private record OutcomeExpiry(Duration verifiedTtl, Duration rejectedTtl) implements Expiry<AddressKey, Boolean> {
+
+        @Override
+        public long expireAfterCreate(AddressKey key, Boolean verified, long currentTime) {
+            return (Boolean.TRUE.equals(verified) ? verifiedTtl : rejectedTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(AddressKey key, Boolean verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, verified, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(AddressKey key, Boolean verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.model.SmsMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends SMS messages through the SmsGateway in micro-batches.
+ * <p>
+ * {@link #submit} only queues the message and returns a future, so callers never wait for the
+ * provider. A single flush thread collects queued messages into a batch and sends it when it
+ * holds {@code max-batch-size} messages or {@code flush-interval} after its first message,
+ * whichever comes first. Batches are paced to the provider's rate limit, the lower of
+ * {@code rate-limit} and SmsGateway.maxMessagesPerSecond.
+ * <p>
+ * Published meters: {@code sms.batch.size} and {@code sms.batch.latency} (histograms),
+ * {@code sms.queue.size} and {@code sms.sent} (tagged by result).
+ */
+@Service
+@Slf4j
+public class BatchingSmsSender {
+
+    private final SmsGateway smsGateway;
+    private final int maxBatchSize;
+    private final Duration flushInterval;
+    private final double messagesPerSecond;
+
+    private final BlockingQueue<PendingSms> queue;
+    private final Thread flusher;
+    private volatile boolean running = true;
+    private long nextSendNanos = System.nanoTime();
+
+    private final DistributionSummary batchSize;
+    private final Timer batchLatency;
+    private final Counter sent;
+    private final Counter failed;
+
+    public BatchingSmsSender(
+            SmsGateway smsGateway,
+            MeterRegistry meterRegistry,
+            @Value("${onboarding.sms.batch.max-size:50}") int maxBatchSize,
+            @Value("${onboarding.sms.batch.flush-interval:200ms}") Duration flushInterval,
+            @Value("${onboarding.sms.batch.queue-capacity:10000}") int queueCapacity,
+            @Value("${onboarding.sms.rate-limit:0}") double rateLimit) {
+        this.smsGateway = smsGateway;
+        this.maxBatchSize = Math.max(1, Math.min(maxBatchSize, smsGateway.maxBatchSize()));
+        this.flushInterval = flushInterval;
+        this.messagesPerSecond = lowestLimit(rateLimit, smsGateway.maxMessagesPerSecond());
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.flusher = new Thread(this::flushLoop, "sms-batch-flusher");
+        this.flusher.setDaemon(true);
+
+        this.batchSize = DistributionSummary.builder("sms.batch.size")
+                .description("Messages per SMS provider call")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchLatency = Timer.builder("sms.batch.latency")
+                .description("Time the SMS provider took to accept a batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sent = Counter.builder("sms.sent").tag("result", "sent").register(meterRegistry);
+        this.failed = Counter.builder("sms.sent").tag("result", "failed").register(meterRegistry);
+        Gauge.builder("sms.queue.size", queue, BlockingQueue::size)
+                .description("SMS messages waiting for the next batch")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.start();
+        log.info("SMS batching: up to {} messages per batch, flush interval {}, rate limit {}",
+                maxBatchSize, flushInterval, messagesPerSecond > 0 ? messagesPerSecond + "/s" : "none");
+    }
+
+    /**
+     * Sends the messages still queued and stops the flush thread.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queues an SMS for the next batch.
+     *
+     * @param phone the recipient phone number
+     * @param message the SMS message
+     * @return completes with whether the provider accepted the message
+     * @throws TaskRejectedException if the queue is full
+     */
+    public CompletableFuture<Boolean> submit(String phone, String message) {
+        PendingSms pending = new PendingSms(new SmsMessage(phone, message), new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            throw new TaskRejectedException("SMS queue is full or shutting down");
+        }
+        return pending.result();
+    }
+
+    private void flushLoop() {
+        List<PendingSms> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // Shutdown: send whatever is queued without waiting for more
+                queue.drainTo(batch, maxBatchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Blocks for the first message, then adds messages until the batch is full or the flush interval has passed.
+     */
+    private void collect(List<PendingSms> batch) throws InterruptedException {
+        PendingSms first = running ? queue.take() : queue.poll();
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long flushAt = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = flushAt - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            PendingSms next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void send(List<PendingSms> batch) {
+        pace(batch.size());
+        List<SmsMessage> messages = batch.stream().map(PendingSms::sms).toList();
+        long start = System.nanoTime();
+        List<Boolean> results = null;
+        Exception failure = null;
+        try {
+            results = smsGateway.sendBatch(messages);
+        } catch (Exception e) {
+            failure = e;
+            log.error("SMS batch of {} messages failed: {}", batch.size(), e.getMessage());
+        }
+        batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSize.record(batch.size());
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingSms pending = batch.get(i);
+            if (failure != null) {
+                failed.increment();
+                pending.result().completeExceptionally(failure);
+            } else {
+                boolean accepted = results != null && i < results.size() && Boolean.TRUE.equals(results.get(i));
+                (accepted ? sent : failed).increment();
+                pending.result().complete(accepted);
+            }
+        }
+    }
+
+    /**
+     * Waits until the rate limit allows sending {@code messages} more messages.
+     */
+    private void pace(int messages) {
+        if (messagesPerSecond <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long sendAt = Math.max(now, nextSendNanos);
+        nextSendNanos = sendAt + (long) (messages * TimeUnit.SECONDS.toNanos(1) / messagesPerSecond);
+        // Not interruptible on purpose: a shutdown still sends the batch it already took
+        boolean interrupted = false;
+        while (sendAt - System.nanoTime() > 0) {
+            LockSupport.parkNanos(sendAt - System.nanoTime());
+            interrupted |= Thread.interrupted();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static double lowestLimit(double configured, double provider) {
+        if (configured <= 0) {
+            return Math.max(provider, 0);
+        }
+        return provider > 0 ? Math.min(configured, provider) : configured;
+    }
+
+    private record PendingSms(SmsMessage sms, CompletableFuture<Boolean> result) {
+    }
+}
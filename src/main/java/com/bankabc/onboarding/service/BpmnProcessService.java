@@ -8,11 +8,13 @@ import com.bankabc.onboarding.openapi.model.OnboardingStatusResponse;
 import com.bankabc.onboarding.entity.Onboarding;
 import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
 import com.bankabc.onboarding.mapper.OnboardingMapper;
+import com.bankabc.onboarding.repository.OnboardingStatusView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +23,7 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Service for managing BPMN process instances for onboarding workflows.
@@ -35,6 +38,10 @@ public class BpmnProcessService {
     private final OnboardingService onboardingService;
     private final OnboardingMapper onboardingMapper;
     private final WorkflowConfigurationService workflowConfigurationService;
+    private final OnboardingStatusCache onboardingStatusCache;
+
+    @Value("${onboarding.workflow.async-continuation.enabled:true}")
+    private boolean asyncContinuationEnabled;
 
     /**
      * Start a new onboarding process instance.
@@ -50,30 +57,32 @@ public class BpmnProcessService {
         String processDefinitionKey = workflowConfigurationService.getProcessDefinitionKey();
         
         try {
-            
-            
-            // Convert request to entity and save
+            // The onboarding ID is generated up front and doubles as the process business key,
+            // so the row is persisted once, already in its final state, and flushed as a single
+            // INSERT when the transaction commits
+            UUID onboardingId = UUID.randomUUID();
             Onboarding onboarding = onboardingMapper.toEntity(request);
+            onboarding.setId(onboardingId);
+            onboarding.setProcessDefinitionKey(processDefinitionKey);
+            onboarding.setStatus(OnboardingStatus.INFO_COLLECTED);
             onboarding = onboardingService.saveOnboarding(onboarding);
             
             // Create process variables with only essential data
             Map<String, Object> variables = new HashMap<>();
-            variables.put("onboardingId", onboarding.getId());
+            variables.put("onboardingId", onboardingId);
             
             // Start process instance
             ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(
-                    processDefinitionKey, 
+                    processDefinitionKey,
+                    onboardingId.toString(),
                     variables
             );
           
             String processInstanceId = processInstance.getId();
             log.info("Started onboarding process with instance ID: {}", processInstanceId);
             
-            // Update onboarding with process instance ID and set initial status
+            // Managed entity: the process instance ID is part of the pending INSERT
             onboarding.setProcessInstanceId(processInstanceId);
-            onboarding.setProcessDefinitionKey(processDefinitionKey);
-            onboarding.setStatus(OnboardingStatus.INFO_COLLECTED);
-            onboarding = onboardingService.saveOnboarding(onboarding);
             
             return new OnboardingStartResponse()
                     .processInstanceId(processInstanceId)
@@ -140,8 +149,8 @@ public class BpmnProcessService {
             
             log.info("Successfully correlated document upload for process instance: {}", processInstanceId);
             
-            // Get updated onboarding status
-            return getOnboardingStatus(processInstanceId);
+            // Get updated onboarding status, bypassing the cache inside this transaction
+            return loadOnboardingStatus(processInstanceId);
             
         } catch (org.camunda.bpm.engine.delegate.BpmnError e) {
             // Handle upload validation errors specifically
@@ -162,7 +171,7 @@ public class BpmnProcessService {
             // Other BPMN errors are handled by boundary events - don't re-throw, just log and continue
             log.info("BpmnError handled by boundary event in correlateDocumentUpload: {} - {}", e.getErrorCode(), e.getMessage());
             // Don't re-throw - let the process continue and return status after error handling
-            return getOnboardingStatus(processInstanceId);
+            return loadOnboardingStatus(processInstanceId);
         } catch (ProcessEngineException e) {
             log.error("Process engine error correlating document upload for process instance: {}", processInstanceId, e);
             String messageName = workflowConfigurationService.getMessageName("wait-documents");
@@ -200,17 +209,27 @@ public class BpmnProcessService {
 
     /**
      * Get the current status of an onboarding process.
+     * Served from {@link OnboardingStatusCache}; the database is only read on a cache miss.
      *
      * @param processInstanceId The process instance ID
      * @return The onboarding status response
      */
     public OnboardingStatusResponse getOnboardingStatus(String processInstanceId) {
+        return onboardingStatusCache.get(processInstanceId, this::loadOnboardingStatus);
+    }
+
+    /**
+     * Build the status response from the database.
+     *
+     * @param processInstanceId The process instance ID
+     * @return The onboarding status response
+     */
+    private OnboardingStatusResponse loadOnboardingStatus(String processInstanceId) {
         log.debug("Getting onboarding status for process instance: {}", processInstanceId);
         
         try {
-            // Find onboarding by process instance ID
-            Onboarding onboarding = onboardingService.findByProcessInstanceIdOrThrow(processInstanceId);
-            
+            // Read only the status columns by process instance ID
+            OnboardingStatusView onboarding = onboardingService.findStatusViewByProcessInstanceIdOrThrow(processInstanceId);
             
             // Determine current and next steps
             String currentStep = workflowConfigurationService.getCurrentStepDescription(onboarding.getStatus());
@@ -245,6 +264,17 @@ public class BpmnProcessService {
         }
     }
 
+    /**
+     * Whether the process continues in the background after the document upload commits.
+     * In this mode {@link #correlateDocumentUpload} returns as soon as the upload is stored and
+     * clients poll {@link #getOnboardingStatus} for progress.
+     *
+     * @return true if async continuation is enabled
+     */
+    public boolean isAsyncContinuationEnabled() {
+        return asyncContinuationEnabled;
+    }
+
     /**
      * Check if a process instance is active.
      *
@@ -1,8 +1,10 @@
 package com.bankabc.onboarding.service;
 
+import com.bankabc.onboarding.config.EmailDispatchConfig;
 import com.bankabc.onboarding.exception.DefaultApiError;
 import com.bankabc.onboarding.exception.ErrorTypes;
 import com.bankabc.onboarding.model.Email;
+import com.bankabc.onboarding.model.EmailSendResult;
 import com.bankabc.onboarding.util.EmailUtil;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +12,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpStatus;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
@@ -17,6 +21,12 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service for sending emails using Spring Boot Mail and Freemarker templates.
@@ -39,10 +49,13 @@ public class EmailService {
     }
 
     /**
-     * Sends email asynchronously (single recipient or multiple recipients).
+     * Sends email asynchronously (single recipient or multiple recipients) on the email dispatch
+     * executor. Returning normally means the email was accepted for delivery; when the dispatch
+     * queue is full and the rejection policy is abort, a TaskRejectedException is thrown instead.
+     * Delivery failures complete the returned future exceptionally.
      */
-    @Async
-    public void sendMail(Email email) throws Exception {
+    @Async(EmailDispatchConfig.EXECUTOR_NAME)
+    public CompletableFuture<Void> sendMail(Email email) throws Exception {
         if (email == null) {
             log.error("Email object is null, cannot send email");
             throw new DefaultApiError(
@@ -52,19 +65,88 @@ public class EmailService {
             );
         }
 
-      sendEmail(email, email.isHtml());
+        try {
+            sendEmail(email, email.isHtml());
+        } catch (Exception e) {
+            log.error("Error sending email to: {}", email.getTo(), e);
+            throw e;
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Sends emails asynchronously on the email dispatch executor, one SMTP session per sender.
+     * Every email gets its own result in the order given: an invalid email or a rejected
+     * recipient fails only that email. As with sendMail, a TaskRejectedException is thrown when
+     * the dispatch queue is full.
+     */
+    @Async(EmailDispatchConfig.EXECUTOR_NAME)
+    public CompletableFuture<List<EmailSendResult>> sendBatch(List<Email> emails) {
+        Map<Email, Exception> failures = new IdentityHashMap<>();
+        Map<String, Map<MimeMessage, Email>> sessions = new LinkedHashMap<>();
+        for (Email email : emails) {
+            try {
+                String body = validateEmailContent(email);
+                MimeMessage mimeMessage = buildMimeMessage(email, body, email.isHtml());
+                sessions.computeIfAbsent(StringUtils.defaultString(email.getFrom()), from -> new LinkedHashMap<>())
+                    .put(mimeMessage, email);
+            } catch (Exception e) {
+                failures.put(email, e);
+            }
+        }
+
+        for (Map<MimeMessage, Email> session : sessions.values()) {
+            sendSession(session, failures);
+        }
+
+        List<EmailSendResult> results = new ArrayList<>(emails.size());
+        for (Email email : emails) {
+            Exception error = failures.get(email);
+            if (error == null) {
+                results.add(EmailSendResult.sent(email));
+            } else {
+                log.error("Error sending email to: {} - {}", email != null ? email.getTo() : null, error.getMessage());
+                results.add(EmailSendResult.failed(email, error));
+            }
+            if (email != null) {
+                cleanupAttachment(email);
+            }
+        }
+        log.info("Email batch sent: {} of {} emails delivered in {} session(s)",
+            emails.size() - failures.size(), emails.size(), sessions.size());
+        return CompletableFuture.completedFuture(results);
+    }
+
+    /**
+     * Sends all messages of one sender through a single transport and records per-message failures.
+     */
+    private void sendSession(Map<MimeMessage, Email> session, Map<Email, Exception> failures) {
+        try {
+            mailSender.send(session.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            session.forEach((mimeMessage, email) -> {
+                Exception error = failedMessages.isEmpty() ? e : failedMessages.get(mimeMessage);
+                if (error != null) {
+                    failures.put(email, error);
+                }
+            });
+        } catch (MailException e) {
+            // Authentication or connection failure, nothing in this session was sent
+            session.values().forEach(email -> failures.put(email, e));
+        }
     }
 
     /**
      * Unified method for sending HTML or plain text emails.
      */
     void sendEmail(Email email, boolean isHtml) throws Exception {
-        validateEmailContent(email);
+        String body = validateEmailContent(email);
         
         if (isHtml) {
-            sendHtmlEmail(email);
+            sendHtmlEmail(email, body);
         } else {
-            sendPlainTextEmail(email);
+            sendPlainTextEmail(email, body);
         }
         
         cleanupAttachment(email);
@@ -73,34 +155,42 @@ public class EmailService {
     /**
      * Sends HTML email with attachments support.
      */
-    private void sendHtmlEmail(Email email) throws Exception {
+    private void sendHtmlEmail(Email email, String body) throws Exception {
+        mailSender.send(buildMimeMessage(email, body, true));
+        logEmailSent("HTML", email);
+    }
+
+    /**
+     * Builds a MIME message with recipients, subject, body and attachment.
+     *
+     * @param body the rendered body, or blank to send the email's own body
+     */
+    private MimeMessage buildMimeMessage(Email email, String body, boolean isHtml) throws Exception {
         MimeMessage mimeMessage = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, isHtml || email.getAttachment() != null, "UTF-8");
 
         configureEmailRecipients(email, helper);
         helper.setSubject(email.getSubject());
         
         // Use template-based content if available, otherwise use simple body content
-        String emailBody = emailUtil.buildEmailBody(email);
+        String emailBody = body;
         if (emailBody == null || emailBody.isEmpty()) {
             emailBody = email.getBody();
         }
-        helper.setText(emailBody, true);
+        helper.setText(emailBody, isHtml);
         addAttachmentIfPresent(email, helper);
-
-        mailSender.send(mimeMessage);
-        logEmailSent("HTML", email);
+        return mimeMessage;
     }
 
     /**
      * Sends plain text email.
      */
-    private void sendPlainTextEmail(Email email)  {
+    private void sendPlainTextEmail(Email email, String body)  {
         SimpleMailMessage mailMessage = new SimpleMailMessage();
 
         configureEmailRecipients(email, mailMessage);
         mailMessage.setSubject(email.getSubject());
-        mailMessage.setText(emailUtil.buildEmailBody(email));
+        mailMessage.setText(body);
 
         mailSender.send(mailMessage);
         logEmailSent("Simple", email);
@@ -241,8 +331,10 @@ public class EmailService {
 
     /**
      * Validates email content to prevent SMTP issues.
+     *
+     * @return the rendered body, so the caller does not render the template again
      */
-    private void validateEmailContent(Email email) {
+    private String validateEmailContent(Email email) {
         if (email == null) {
             throw new DefaultApiError(
                 HttpStatus.BAD_REQUEST,
@@ -295,5 +387,6 @@ public class EmailService {
         }
 
         log.debug("Email validation passed for recipient: {}", email.getTo());
+        return emailBody;
     }
 }
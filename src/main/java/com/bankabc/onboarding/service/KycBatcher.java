@@ -0,0 +1,204 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.constants.ApplicationConstants;
+import com.bankabc.onboarding.exception.ProviderRateLimitedException;
+import com.bankabc.onboarding.model.KycRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects concurrent KYC verifications from many process instances into bulk provider calls.
+ * <p>
+ * {@link #submit} adds the request to the open batch and returns a future. The batch is sent
+ * with one KycBulkProvider call once it holds {@code max-size} requests or {@code max-wait}
+ * after its first request, whichever comes first, and each future completes with its own
+ * customer's result. Requests whose caller has already given up (deadline) are left out.
+ * <p>
+ * Each bulk call takes one permit from the KYC quota of the ProviderRateLimiter. A batch that gets
+ * no permit within the quota's wait limit fails every request in it with
+ * ProviderRateLimitedException, which defers their jobs. Only once the permit is granted does the
+ * bulk call enter the KYC VerificationProviderGuard, so neither the batch window nor the quota
+ * wait counts towards the call's {@code verification.kyc.timeout} or towards the circuit
+ * breaker's slow calls.
+ * <p>
+ * Published meters: {@code kyc.batch.size} and {@code kyc.batch.latency} (histograms).
+ */
+@Component
+@Slf4j
+public class KycBatcher {
+
+    private final KycBulkProvider provider;
+    private final ProviderRateLimiter rateLimiter;
+    private final VerificationProviderGuard guard;
+    private final Duration timeout;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration maxWait;
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final DistributionSummary batchSize;
+    private final Timer batchLatency;
+
+    private List<PendingKyc> batch = new ArrayList<>();
+    private long generation;
+
+    public KycBatcher(
+            KycBulkProvider provider,
+            ProviderRateLimiter rateLimiter,
+            @Qualifier("kycProviderGuard") VerificationProviderGuard guard,
+            MeterRegistry meterRegistry,
+            @Value("${verification.kyc.timeout:5s}") Duration timeout,
+            @Value("${verification.kyc.batch.enabled:true}") boolean enabled,
+            @Value("${verification.kyc.batch.max-size:20}") int maxBatchSize,
+            @Value("${verification.kyc.batch.max-wait:50ms}") Duration maxWait) {
+        this.provider = provider;
+        this.rateLimiter = rateLimiter;
+        this.guard = guard;
+        this.timeout = timeout;
+        this.enabled = enabled;
+        this.maxBatchSize = Math.max(1, Math.min(maxBatchSize, provider.maxBatchSize()));
+        this.maxWait = maxWait;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName("kyc-batch-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+
+        this.batchSize = DistributionSummary.builder("kyc.batch.size")
+                .description("Customers per KYC provider call")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchLatency = Timer.builder("kyc.batch.latency")
+                .description("Time the KYC provider took to answer a batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        log.info("KYC batching {} (up to {} customers per call, max wait {})",
+                enabled ? "enabled" : "disabled", this.maxBatchSize, maxWait);
+    }
+
+    /**
+     * Whether KYC verifications should go through this batcher.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds a verification to the open batch.
+     *
+     * @param request the customer to verify
+     * @return completes with whether the provider verified the customer
+     */
+    public CompletableFuture<Boolean> submit(KycRequest request) {
+        PendingKyc pending = new PendingKyc(request, new CompletableFuture<>());
+        List<PendingKyc> full = null;
+        synchronized (this) {
+            batch.add(pending);
+            if (batch.size() >= maxBatchSize) {
+                full = takeBatch();
+            } else if (batch.size() == 1) {
+                long batchGeneration = generation;
+                timer.schedule(() -> flushIfOpen(batchGeneration), maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return pending.result();
+    }
+
+    /**
+     * Sends the open batch and stops the flush timer.
+     */
+    @PreDestroy
+    public void stop() {
+        List<PendingKyc> remaining;
+        synchronized (this) {
+            remaining = takeBatch();
+        }
+        send(remaining);
+        timer.shutdownNow();
+    }
+
+    /**
+     * Flushes the batch that was open when the timer was set, unless it was already sent because it filled up.
+     */
+    private void flushIfOpen(long batchGeneration) {
+        List<PendingKyc> due;
+        synchronized (this) {
+            if (batchGeneration != generation || batch.isEmpty()) {
+                return;
+            }
+            due = takeBatch();
+        }
+        send(due);
+    }
+
+    private List<PendingKyc> takeBatch() {
+        List<PendingKyc> taken = batch;
+        batch = new ArrayList<>(maxBatchSize);
+        generation++;
+        return taken;
+    }
+
+    private void send(List<PendingKyc> taken) {
+        List<PendingKyc> live = taken.stream().filter(pending -> !pending.result().isDone()).toList();
+        if (live.isEmpty()) {
+            return;
+        }
+        batchSize.record(live.size());
+        List<KycRequest> requests = live.stream().map(PendingKyc::request).toList();
+        CompletableFuture<List<Boolean>> results = rateLimiter.acquire(VerificationService.KYC_PROVIDER,
+                ApplicationConstants.Workflow.FAILED_STEP_KYC, () -> guard.call(() -> verifyBatch(requests), timeout));
+        results.whenComplete((verified, failure) -> {
+            Throwable error = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause()
+                    : failure;
+            if (error != null && !(error instanceof ProviderRateLimitedException)) {
+                log.error("KYC batch of {} customers failed: {}", live.size(), error.getMessage());
+            }
+            for (int i = 0; i < live.size(); i++) {
+                CompletableFuture<Boolean> result = live.get(i).result();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else if (verified == null || i >= verified.size()) {
+                    result.completeExceptionally(new IllegalStateException("KYC provider returned no result for customer " + i));
+                } else {
+                    result.complete(Boolean.TRUE.equals(verified.get(i)));
+                }
+            }
+        });
+    }
+
+    private CompletableFuture<List<Boolean>> verifyBatch(List<KycRequest> requests) {
+        long start = System.nanoTime();
+        CompletableFuture<List<Boolean>> results;
+        try {
+            results = provider.verifyBatch(requests);
+        } catch (RuntimeException e) {
+            results = CompletableFuture.failedFuture(e);
+        }
+        return results.whenComplete((verified, error) ->
+                batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private record PendingKyc(KycRequest request, CompletableFuture<Boolean> result) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.model.KycRequest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SPI for KYC providers with a bulk endpoint.
+ * <p>
+ * KycBatcher collects concurrent verifications and submits them with one call. Register an
+ * implementation as a bean to replace the SimulatedKycBulkProvider.
+ */
+public interface KycBulkProvider {
+
+    /**
+     * Verifies a batch of customers in one provider call.
+     *
+     * @param requests the customers, at most {@link #maxBatchSize()}
+     * @return completes with, per request and in the same order, whether the customer was
+     *         verified; fails if the whole call failed
+     */
+    CompletableFuture<List<Boolean>> verifyBatch(List<KycRequest> requests);
+
+    /**
+     * Largest batch the provider accepts in one call.
+     */
+    default int maxBatchSize() {
+        return 100;
+    }
+}
@@ -0,0 +1,187 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.entity.NotificationOutbox;
+import com.bankabc.onboarding.model.Email;
+import com.bankabc.onboarding.model.EmailSendResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the notification outbox.
+ * <p>
+ * Each tick claims a batch of due notifications, hands the emails to the email dispatch executor
+ * in chunks of {@code email-batch-size} (one SMTP session per chunk), starts the SMS messages
+ * alongside and then waits up to {@code send-timeout} for both channels to finish. Each row is
+ * marked sent or failed on its own, so one bad recipient never holds back the rest of the batch.
+ * Full batches are drained back to back.
+ * <p>
+ * Emails the dispatch executor refuses because its queue is full were never sent: they are
+ * released without using up an attempt, and the poller waits for the next tick instead of
+ * claiming more.
+ */
+@Component
+@ConditionalOnProperty(prefix = "onboarding.notification.outbox.poller", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class NotificationOutboxPoller {
+
+    private final NotificationOutboxService notificationOutboxService;
+    private final EmailService emailService;
+    private final NotificationService notificationService;
+    private final int batchSize;
+    private final int emailBatchSize;
+    private final Duration sendTimeout;
+
+    public NotificationOutboxPoller(
+            NotificationOutboxService notificationOutboxService,
+            EmailService emailService,
+            NotificationService notificationService,
+            @Value("${onboarding.notification.outbox.batch-size:50}") int batchSize,
+            @Value("${onboarding.notification.outbox.email-batch-size:10}") int emailBatchSize,
+            @Value("${onboarding.notification.outbox.send-timeout:30s}") Duration sendTimeout) {
+        this.notificationOutboxService = notificationOutboxService;
+        this.emailService = emailService;
+        this.notificationService = notificationService;
+        this.batchSize = batchSize;
+        this.emailBatchSize = emailBatchSize;
+        this.sendTimeout = sendTimeout;
+    }
+
+    /**
+     * Delivers due notifications until a batch comes back smaller than the batch size.
+     */
+    @Scheduled(fixedDelayString = "${onboarding.notification.outbox.poll-interval:1000}")
+    public void poll() {
+        int handled;
+        do {
+            handled = drainBatch();
+        } while (handled >= batchSize);
+    }
+
+    /**
+     * Claims and delivers one batch.
+     *
+     * @return the number of notifications sent or failed; released ones are not counted
+     */
+    int drainBatch() {
+        List<NotificationOutbox> batch = notificationOutboxService.claimDue();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        log.debug("Delivering {} outbox notifications", batch.size());
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>(batch.size());
+        List<Integer> emailIndexes = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            NotificationOutbox notification = batch.get(i);
+            if (notification.getChannel() == NotificationOutbox.Channel.EMAIL) {
+                emailIndexes.add(i);
+                sends.add(null);
+            } else {
+                sends.add(sendSms(notification));
+            }
+        }
+        RejectedExecutionException rejected = null;
+        for (int from = 0; from < emailIndexes.size(); from += emailBatchSize) {
+            List<Integer> chunk = emailIndexes.subList(from, Math.min(from + emailBatchSize, emailIndexes.size()));
+            rejected = dispatchEmails(batch, chunk, sends, rejected);
+        }
+
+        int released = 0;
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        for (int i = 0; i < batch.size(); i++) {
+            NotificationOutbox notification = batch.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                notificationOutboxService.markSent(notification.getId());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RejectedExecutionException) {
+                    notificationOutboxService.release(notification.getId());
+                    released++;
+                    continue;
+                }
+                notificationOutboxService.markFailed(notification.getId(), String.valueOf(e.getCause().getMessage()));
+            } catch (TimeoutException e) {
+                notificationOutboxService.markFailed(notification.getId(), "Send timed out after " + sendTimeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                notificationOutboxService.markFailed(notification.getId(), "Poller interrupted");
+                break;
+            }
+        }
+        if (released > 0) {
+            log.warn("Email dispatch queue full, released {} outbox emails for the next tick", released);
+        }
+        return batch.size() - released;
+    }
+
+    /**
+     * Sends one chunk of emails as a batch and completes each row's future from its own result.
+     * Once the dispatch queue has refused a chunk, later chunks of the batch are not offered.
+     *
+     * @return the refusal of this or an earlier chunk, null if the queue accepted them
+     */
+    private RejectedExecutionException dispatchEmails(List<NotificationOutbox> batch, List<Integer> chunk,
+                                                      List<CompletableFuture<Void>> sends,
+                                                      RejectedExecutionException rejected) {
+        if (rejected != null) {
+            for (int index : chunk) {
+                sends.set(index, CompletableFuture.failedFuture(rejected));
+            }
+            return rejected;
+        }
+        List<Email> emails = new ArrayList<>(chunk.size());
+        for (int index : chunk) {
+            NotificationOutbox notification = batch.get(index);
+            emails.add(Email.builder()
+                    .to(notification.getRecipient())
+                    .subject(notification.getSubject())
+                    .body(notification.getBody())
+                    .html(true)
+                    .build());
+        }
+
+        CompletableFuture<List<EmailSendResult>> results;
+        try {
+            results = emailService.sendBatch(emails);
+        } catch (RejectedExecutionException e) {
+            // Dispatch queue full; released and offered again on a later tick
+            rejected = e;
+            results = CompletableFuture.failedFuture(e);
+        } catch (Exception e) {
+            results = CompletableFuture.failedFuture(e);
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            int position = i;
+            sends.set(chunk.get(i), results.thenCompose(sent -> {
+                EmailSendResult result = sent.get(position);
+                return result.isSuccess()
+                        ? CompletableFuture.<Void>completedFuture(null)
+                        : CompletableFuture.<Void>failedFuture(result.getError());
+            }));
+        }
+        return rejected;
+    }
+
+    private CompletableFuture<Void> sendSms(NotificationOutbox notification) {
+        try {
+            return notificationService.sendSmsNotificationAsync(notification.getRecipient(), notification.getBody())
+                    .thenCompose(sent -> sent
+                            ? CompletableFuture.<Void>completedFuture(null)
+                            : CompletableFuture.<Void>failedFuture(new IllegalStateException("SMS was not sent")));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
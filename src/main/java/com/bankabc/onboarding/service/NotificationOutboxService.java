@@ -0,0 +1,236 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.entity.NotificationOutbox;
+import com.bankabc.onboarding.entity.NotificationOutbox.Channel;
+import com.bankabc.onboarding.entity.NotificationOutbox.Status;
+import com.bankabc.onboarding.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service for the customer notification outbox.
+ * <p>
+ * Delegates enqueue notifications inside their job transaction, so a notification exists if and
+ * only if the status change that caused it committed. NotificationOutboxPoller claims due rows
+ * in batches, sends them outside any transaction and records the outcome per row. A claim pushes
+ * {@code nextAttemptAt} out by the lease, so rows of a poller that dies mid-batch are retried
+ * once the lease expires. Failed sends are retried with exponential backoff and jitter until
+ * {@code max-attempts} is reached. A row given up on stays FAILED and counts towards
+ * {@code notification.outbox.failed}, tagged by channel, which is what to alert on: the
+ * onboarding it belongs to has already completed and does not change.
+ * <p>
+ * The outbox is also the retry queue for notifications sent directly by NotificationService:
+ * one whose first attempt fails is persisted with {@link #enqueueRetry} and from then on retried
+ * by the poller like any other row, instead of failing the job that sent it.
+ */
+@Service
+@Slf4j
+@Transactional
+public class NotificationOutboxService {
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final double retryJitter;
+
+    public NotificationOutboxService(
+            NotificationOutboxRepository notificationOutboxRepository,
+            MeterRegistry meterRegistry,
+            @Value("${onboarding.notification.outbox.batch-size:50}") int batchSize,
+            @Value("${onboarding.notification.outbox.lease:60s}") Duration lease,
+            @Value("${onboarding.notification.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${onboarding.notification.outbox.retry-backoff:30s}") Duration retryBackoff,
+            @Value("${onboarding.notification.outbox.max-retry-backoff:30m}") Duration maxRetryBackoff,
+            @Value("${onboarding.notification.outbox.retry-jitter:0.5}") double retryJitter) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.retryJitter = Math.min(Math.max(retryJitter, 0), 1);
+    }
+
+    /**
+     * Enqueues an email in the current transaction.
+     *
+     * @param onboardingId the onboarding the email belongs to
+     * @param event the workflow event, part of the dedupe key
+     * @param to the recipient email address
+     * @param subject the email subject
+     * @param body the email body
+     * @return true if enqueued, false if the same email was already enqueued
+     */
+    public boolean enqueueEmail(UUID onboardingId, String event, String to, String subject, String body) {
+        return enqueue(onboardingId, event, Channel.EMAIL, to, subject, body);
+    }
+
+    /**
+     * Enqueues an SMS in the current transaction.
+     *
+     * @param onboardingId the onboarding the SMS belongs to
+     * @param event the workflow event, part of the dedupe key
+     * @param phone the recipient phone number
+     * @param message the SMS message
+     * @return true if enqueued, false if the same SMS was already enqueued
+     */
+    public boolean enqueueSms(UUID onboardingId, String event, String phone, String message) {
+        return enqueue(onboardingId, event, Channel.SMS, phone, null, message);
+    }
+
+    /**
+     * Persists a notification whose first delivery attempt already failed, so the poller retries
+     * it after the backoff. Commits on its own, so the retry survives a rollback of the caller.
+     *
+     * @param onboardingId the onboarding the notification belongs to
+     * @param channel the delivery channel
+     * @param recipient the recipient email address or phone number
+     * @param subject the email subject, null for SMS
+     * @param body the message body
+     * @param error the reason the first attempt failed
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void enqueueRetry(UUID onboardingId, Channel channel, String recipient, String subject, String body, String error) {
+        NotificationOutbox notification = notificationOutboxRepository.save(NotificationOutbox.builder()
+                .dedupeKey("retry:" + channel + ":" + UUID.randomUUID())
+                .onboardingId(onboardingId)
+                .channel(channel)
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .attempts(1)
+                .lastError(StringUtils.abbreviate(error, 500))
+                .nextAttemptAt(OffsetDateTime.now(ZoneOffset.UTC).plus(retryDelay(1)))
+                .build());
+        log.warn("{} notification {} failed, retrying at {}: {}", channel, notification.getDedupeKey(),
+                notification.getNextAttemptAt(), error);
+    }
+
+    /**
+     * Claims the next batch of due notifications by pushing their next attempt out by the lease.
+     *
+     * @return the claimed notifications, oldest first
+     */
+    public List<NotificationOutbox> claimDue() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<NotificationOutbox> due = notificationOutboxRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+        for (NotificationOutbox notification : due) {
+            notification.setAttempts(notification.getAttempts() + 1);
+            notification.setNextAttemptAt(now.plus(lease));
+        }
+        return due;
+    }
+
+    /**
+     * Hands a claimed notification back without counting the claim as an attempt, for a row that
+     * was never sent, e.g. because the email dispatch queue was full. It is due again at once.
+     *
+     * @param id the notification ID
+     */
+    public void release(UUID id) {
+        notificationOutboxRepository.findById(id).ifPresent(notification -> {
+            notification.setAttempts(Math.max(0, notification.getAttempts() - 1));
+            notification.setNextAttemptAt(OffsetDateTime.now(ZoneOffset.UTC));
+        });
+    }
+
+    /**
+     * Records a successful delivery.
+     *
+     * @param id the notification ID
+     */
+    public void markSent(UUID id) {
+        notificationOutboxRepository.findById(id).ifPresent(notification -> {
+            notification.setStatus(Status.SENT);
+            notification.setSentAt(OffsetDateTime.now(ZoneOffset.UTC));
+            notification.setLastError(null);
+        });
+    }
+
+    /**
+     * Records a failed delivery attempt and schedules the next one, or gives up after
+     * {@code max-attempts}.
+     *
+     * @param id the notification ID
+     * @param error the failure reason
+     */
+    public void markFailed(UUID id, String error) {
+        notificationOutboxRepository.findById(id).ifPresent(notification -> {
+            notification.setLastError(StringUtils.abbreviate(error, 500));
+            if (notification.getAttempts() >= maxAttempts) {
+                notification.setStatus(Status.FAILED);
+                Counter.builder("notification.outbox.failed")
+                        .description("Notifications given up on after max-attempts")
+                        .tag("channel", notification.getChannel().name().toLowerCase())
+                        .register(meterRegistry)
+                        .increment();
+                log.error("Giving up on {} notification {} for onboarding {} after {} attempts: {}",
+                        notification.getChannel(), notification.getDedupeKey(), notification.getOnboardingId(),
+                        notification.getAttempts(), error);
+                return;
+            }
+            notification.setNextAttemptAt(OffsetDateTime.now(ZoneOffset.UTC).plus(retryDelay(notification.getAttempts())));
+            log.warn("{} notification {} failed (attempt {}), retrying at {}: {}", notification.getChannel(),
+                    notification.getDedupeKey(), notification.getAttempts(), notification.getNextAttemptAt(), error);
+        });
+    }
+
+    /**
+     * Backoff before the next attempt: retry-backoff doubled per failed attempt, capped at max-retry-backoff.
+     */
+    Duration backoff(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    /**
+     * Backoff with up to retry-jitter of it taken off at random, so notifications that failed
+     * together, e.g. during an SMTP outage, do not all come due at the same instant.
+     */
+    Duration retryDelay(int attempts) {
+        Duration backoff = backoff(attempts);
+        if (retryJitter == 0) {
+            return backoff;
+        }
+        double factor = 1 - retryJitter * ThreadLocalRandom.current().nextDouble();
+        return Duration.ofMillis((long) (backoff.toMillis() * factor));
+    }
+
+    private boolean enqueue(UUID onboardingId, String event, Channel channel, String recipient,
+                            String subject, String body) {
+        String dedupeKey = onboardingId + ":" + event + ":" + channel;
+        if (notificationOutboxRepository.existsByDedupeKey(dedupeKey)) {
+            log.info("Notification {} already enqueued, skipping", dedupeKey);
+            return false;
+        }
+        notificationOutboxRepository.save(NotificationOutbox.builder()
+                .dedupeKey(dedupeKey)
+                .onboardingId(onboardingId)
+                .channel(channel)
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .build());
+        log.debug("Enqueued notification {}", dedupeKey);
+        return true;
+    }
+}
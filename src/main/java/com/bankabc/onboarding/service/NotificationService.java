@@ -1,14 +1,42 @@
 package com.bankabc.onboarding.service;
 
+import com.bankabc.onboarding.entity.NotificationOutbox.Channel;
 import com.bankabc.onboarding.model.Email;
+import com.bankabc.onboarding.model.NotificationResult;
+import com.bankabc.onboarding.util.NotificationTemplates;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.bankabc.onboarding.constants.ApplicationConstants;
 
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * Service for handling notifications during the onboarding process.
+ * <p>
+ * SMS messages are queued on BatchingSmsSender, which sends them to the SmsGateway in batches.
+ * Failure notifications go out on both channels at once: the email on the email dispatch
+ * executor and the SMS through the SMS batch. Both are awaited against one shared
+ * {@code onboarding.notification.send-timeout} deadline, so the step takes as long as the
+ * slower channel rather than the sum of both.
+ * <p>
+ * A notification whose delivery fails is not lost and does not fail the calling job: it is
+ * persisted to the notification outbox, which retries it in batches with backoff. The outbox
+ * write runs on its own {@code notification-retry-writer} thread, never on the SMS batch flusher
+ * or the email dispatch threads that report the failure.
  */
 @Service
 @Slf4j
@@ -17,16 +45,39 @@ public class NotificationService {
 
 
     private final EmailService emailService;
+    private final NotificationTemplates notificationTemplates;
+    private final BatchingSmsSender batchingSmsSender;
+    private final NotificationOutboxService notificationOutboxService;
+    private final ExecutorService retryWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-retry-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${onboarding.notification.send-timeout:5s}")
+    private Duration sendTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Lets queued retry writes finish before the outbox's data source closes.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        retryWriter.shutdown();
+        if (!retryWriter.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Notification retries still queued at shutdown were not written to the outbox");
+        }
+    }
 
     /**
-     * Sends email notification.
+     * Sends email notification through the email dispatch executor.
      * 
+     * @param onboardingId the onboarding the email belongs to, kept on its retry
      * @param email the recipient email address
      * @param subject the email subject
      * @param content the email content
-     * @return true if sent successfully, false otherwise
+     * @return true if the email was accepted for delivery, false otherwise
      */
-    public boolean sendEmailNotification(String email, String subject, String content) {
+    public boolean sendEmailNotification(UUID onboardingId, String email, String subject, String content) {
         log.info("Sending email notification with subject: {}", subject);
         
         try {
@@ -38,11 +89,8 @@ public class NotificationService {
                 .html(true) // Use HTML for better formatting
                 .build();
             
-            // Send email using EmailService
-            emailService.sendMail(emailObj);
-            
-            log.info("Email notification sent successfully to: {}", email);
-            return true;
+            // Queue email on the dispatch executor; a rejected or failed email goes to the retry queue
+            return accepted(deliverEmail(onboardingId, emailObj));
             
         } catch (Exception e) {
             log.error("Error sending email notification to: {}", email, e);
@@ -51,97 +99,70 @@ public class NotificationService {
     }
 
     /**
-     * Sends SMS notification.
+     * Queues SMS notification for the next SMS batch.
      * 
+     * @param onboardingId the onboarding the SMS belongs to, kept on its retry
      * @param phone the recipient phone number
      * @param message the SMS message
-     * @return true if sent successfully, false otherwise
+     * @return true if the SMS was accepted for delivery, false otherwise
      */
-    public boolean sendSmsNotification(String phone, String message) {
+    public boolean sendSmsNotification(UUID onboardingId, String phone, String message) {
         log.info("Sending SMS notification");
-        
-        try {
-            // Log SMS for demo purposes
-            log.info("SMS NOTIFICATION SENT:\nMessage: {}", message);
-            
-            // Future: Send actual SMS
-            // return smsService.sendSms(phone, message);
-            
-            return true;
-            
-        } catch (Exception e) {
-            log.error("Error sending SMS notification", e);
-            return false;
-        }
+        return accepted(deliverSms(onboardingId, phone, message));
     }
 
     /**
      * Sends failure notification email to customer.
      * 
+     * @param onboardingId the onboarding that failed
      * @param email the recipient email address
      * @param failureType the type of failure that occurred
      * @param errorMessage the specific error message
      * @param customerName the customer's name
-     * @return true if sent successfully, false otherwise
+     * @return true if the email was accepted for delivery, false otherwise
      */
-    public boolean sendFailureEmailNotification(String email, String failureType, String errorMessage, String customerName) {
+    public boolean sendFailureEmailNotification(UUID onboardingId, String email, String failureType,
+                                                String errorMessage, String customerName) {
         log.info("Sending failure email notification for failure type: {}", failureType);
-        
-        try {
-            String subject = "Onboarding Process Update - " + getFailureSubject(failureType);
-            String content = buildFailureEmailContent(failureType, errorMessage, customerName);
-            
-            // Create Email object with HTML content
-            Email emailObj = Email.builder()
-                .to(email)
-                .subject(subject)
-                .body(content)
-                .html(true)
-                .build();
-            
-            // Send email using EmailService
-            emailService.sendMail(emailObj);
-            
-            log.info("Failure email notification sent successfully to: {}", email);
-            return true;
-            
-        } catch (Exception e) {
-            log.error("Error sending failure email notification to: {}", email, e);
-            return false;
-        }
+        return accepted(deliverFailureEmail(onboardingId, email, failureType, errorMessage, customerName));
     }
 
     /**
      * Sends failure notification SMS to customer.
      * 
+     * @param onboardingId the onboarding that failed
      * @param phone the recipient phone number
      * @param failureType the type of failure that occurred
      * @param errorMessage the specific error message
-     * @return true if sent successfully, false otherwise
+     * @return true if the SMS was accepted for delivery, false otherwise
      */
-    public boolean sendFailureSmsNotification(String phone, String failureType, String errorMessage) {
+    public boolean sendFailureSmsNotification(UUID onboardingId, String phone, String failureType, String errorMessage) {
         log.info("Sending failure SMS notification for failure type: {}", failureType);
-        
+        return accepted(deliverSms(onboardingId, phone, buildFailureSmsContent(failureType, errorMessage)));
+    }
+
+    /**
+     * Queues SMS notification and returns its delivery. Failures are not retried here; the
+     * notification outbox calls this and retries on its own.
+     * 
+     * @param phone the recipient phone number
+     * @param message the SMS message
+     * @return completes with true if the SMS gateway accepted the message, false otherwise
+     */
+    public CompletableFuture<Boolean> sendSmsNotificationAsync(String phone, String message) {
         try {
-            String message = buildFailureSmsContent(failureType, errorMessage);
-            
-            // Log SMS for demo purposes
-            log.info("FAILURE SMS NOTIFICATION SENT:\nMessage: {}", message);
-            
-            // Future: Send actual SMS
-            // return smsService.sendSms(phone, message);
-            
-            return true;
-            
+            return batchingSmsSender.submit(phone, message);
         } catch (Exception e) {
-            log.error("Error sending failure SMS notification", e);
-            return false;
+            // SMS queue full
+            log.error("Error sending SMS notification", e);
+            return CompletableFuture.completedFuture(false);
         }
     }
 
     /**
      * Sends comprehensive failure notifications (both email and SMS).
      * 
+     * @param onboardingId the onboarding that failed
      * @param email the recipient email address
      * @param phone the recipient phone number
      * @param failureType the type of failure that occurred
@@ -149,14 +170,144 @@ public class NotificationService {
      * @param customerName the customer's name
      * @return true if both notifications sent successfully, false otherwise
      */
-    public boolean sendFailureNotifications(String email, String phone, String failureType, 
+    public boolean sendFailureNotifications(UUID onboardingId, String email, String phone, String failureType,
                                          String errorMessage, String customerName) {
+        return notifyFailure(onboardingId, email, phone, failureType, errorMessage, customerName).isAllSent();
+    }
+
+    /**
+     * Sends the failure email and SMS concurrently and waits for both until the send timeout.
+     * A channel that fails or misses the deadline is reported as not sent; a failed one is
+     * retried from the notification outbox.
+     * 
+     * @param onboardingId the onboarding that failed
+     * @param email the recipient email address
+     * @param phone the recipient phone number
+     * @param failureType the type of failure that occurred
+     * @param errorMessage the specific error message
+     * @param customerName the customer's name
+     * @return the result per channel
+     */
+    public NotificationResult notifyFailure(UUID onboardingId, String email, String phone, String failureType,
+                                            String errorMessage, String customerName) {
         log.info("Sending comprehensive failure notifications for failure type: {}", failureType);
-        
-        boolean emailSent = sendFailureEmailNotification(email, failureType, errorMessage, customerName);
-        boolean smsSent = sendFailureSmsNotification(phone, failureType, errorMessage);
-        
-        return emailSent && smsSent;
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+
+        CompletableFuture<Boolean> emailSent = deliverFailureEmail(onboardingId, email, failureType, errorMessage, customerName);
+        CompletableFuture<Boolean> smsSent = deliverSms(onboardingId, phone, buildFailureSmsContent(failureType, errorMessage));
+
+        NotificationResult result = new NotificationResult(
+            await(emailSent, deadline, "email"), await(smsSent, deadline, "SMS"));
+        log.info("Failure notifications for failure type {}: {}", failureType, result.getStatus());
+        return result;
+    }
+
+    /**
+     * Renders and queues the failure email and returns its delivery.
+     */
+    private CompletableFuture<Boolean> deliverFailureEmail(UUID onboardingId, String email, String failureType,
+                                                          String errorMessage, String customerName) {
+        Email emailObj;
+        try {
+            emailObj = Email.builder()
+                .to(email)
+                .subject("Onboarding Process Update - " + getFailureSubject(failureType))
+                .body(notificationTemplates.renderFailureEmail(failureType, errorMessage, customerName))
+                .html(true)
+                .build();
+        } catch (Exception e) {
+            log.error("Error rendering failure email notification to: {}", email, e);
+            return CompletableFuture.completedFuture(false);
+        }
+        return deliverEmail(onboardingId, emailObj);
+    }
+
+    /**
+     * Queues the email and returns its delivery. A rejected or failed email is handed to the
+     * retry queue and completes with false.
+     */
+    private CompletableFuture<Boolean> deliverEmail(UUID onboardingId, Email email) {
+        CompletableFuture<Void> delivery;
+        try {
+            delivery = emailService.sendMail(email);
+        } catch (Exception e) {
+            // Dispatch queue full
+            delivery = CompletableFuture.failedFuture(e);
+        }
+        return delivery.handle((sent, error) -> {
+            if (error == null) {
+                return true;
+            }
+            log.error("Email notification to {} was not delivered: {}", email.getTo(), causeMessage(error));
+            scheduleRetry(onboardingId, Channel.EMAIL, email.getTo(), email.getSubject(), email.getBody(), causeMessage(error));
+            return false;
+        });
+    }
+
+    /**
+     * Queues the SMS and returns its delivery. A rejected or failed SMS is handed to the retry
+     * queue and completes with false.
+     */
+    private CompletableFuture<Boolean> deliverSms(UUID onboardingId, String phone, String message) {
+        return sendSmsNotificationAsync(phone, message).handle((sent, error) -> {
+            if (error == null && Boolean.TRUE.equals(sent)) {
+                return true;
+            }
+            String reason = error != null ? causeMessage(error) : "SMS was not sent";
+            log.error("SMS notification was not delivered: {}", reason);
+            scheduleRetry(onboardingId, Channel.SMS, phone, null, message, reason);
+            return false;
+        });
+    }
+
+    /**
+     * Hands a failed notification to the retry writer, which persists it to the outbox so
+     * NotificationOutboxPoller retries it with backoff. Called from the thread that completed the
+     * delivery, so it must not touch the database itself.
+     */
+    private void scheduleRetry(UUID onboardingId, Channel channel, String recipient, String subject, String body, String error) {
+        if (StringUtils.isBlank(recipient)) {
+            log.warn("{} notification without recipient is not retried", channel);
+            return;
+        }
+        try {
+            retryWriter.execute(() -> writeRetry(onboardingId, channel, recipient, subject, body, error));
+        } catch (RejectedExecutionException e) {
+            log.error("Could not queue {} notification to {} for retry: shutting down", channel, recipient);
+        }
+    }
+
+    private void writeRetry(UUID onboardingId, Channel channel, String recipient, String subject, String body, String error) {
+        try {
+            notificationOutboxService.enqueueRetry(onboardingId, channel, recipient, subject, body, error);
+        } catch (Exception e) {
+            log.error("Could not queue {} notification to {} for retry", channel, recipient, e);
+        }
+    }
+
+    /**
+     * False only if the delivery has already failed; a delivery still in flight counts as accepted.
+     */
+    private static boolean accepted(CompletableFuture<Boolean> delivery) {
+        return !delivery.isDone() || delivery.join();
+    }
+
+    private static String causeMessage(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return String.valueOf(cause.getMessage());
+    }
+
+    private boolean await(CompletableFuture<Boolean> channel, long deadline, String channelName) {
+        try {
+            return channel.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            log.error("Failure {} notification was not delivered: {}", channelName, e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            log.warn("Failure {} notification not delivered within {}", channelName, sendTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
     }
 
     /**
@@ -176,116 +327,6 @@ public class NotificationService {
         };
     }
 
-    /**
-     * Builds failure email content based on failure type.
-     * 
-     * @param failureType the type of failure
-     * @param errorMessage the specific error message
-     * @param customerName the customer's name
-     * @return the email content
-     */
-    private String buildFailureEmailContent(String failureType, String errorMessage, String customerName) {
-        return switch (failureType.toUpperCase()) {
-            case ApplicationConstants.ErrorType.KYC_VERIFICATION_FAILED -> String.format("""
-                    Dear %s,
-                    
-                    We encountered an issue during your identity verification process.
-                    
-                    Issue: %s
-                    
-                    Next Steps:
-                    - Please ensure your passport and photo documents are clear and readable
-                    - Make sure all personal information matches your official documents
-                    - Contact our support team if you need assistance
-                    
-                    You can restart the verification process by logging into your account.
-                    
-                    If you have any questions, please contact our support team.
-                    
-                    Best regards,
-                    Bank ABC Team
-                    """, customerName, errorMessage);
-                    
-            case ApplicationConstants.ErrorType.ADDRESS_VERIFICATION_FAILED -> String.format("""
-                    Dear %s,
-                    
-                    We were unable to verify your residential address.
-                    
-                    Issue: %s
-                    
-                    Next Steps:
-                    - Please ensure your address information is complete and accurate
-                    - Verify that your address is a residential address (not a P.O. Box)
-                    - Contact our support team if you need assistance updating your address
-                    
-                    You can update your address information by logging into your account.
-                    
-                    If you have any questions, please contact our support team.
-                    
-                    Best regards,
-                    Bank ABC Team
-                    """, customerName, errorMessage);
-                    
-            case ApplicationConstants.ErrorType.ACCOUNT_CREATION_FAILED -> String.format("""
-                    Dear %s,
-                    
-                    We encountered a technical issue while creating your bank account.
-                    
-                    Issue: %s
-                    
-                    Next Steps:
-                    - Our technical team has been notified of this issue
-                    - We will attempt to resolve this within 24 hours
-                    - You will receive another notification once your account is created
-                    - Contact our support team if you need immediate assistance
-                    
-                    We apologize for any inconvenience caused.
-                    
-                    Best regards,
-                    Bank ABC Team
-                    """, customerName, errorMessage);
-                    
-            case ApplicationConstants.ErrorType.DOCUMENT_UPLOAD_FAILED -> String.format("""
-                    Dear %s,
-                    
-                    We encountered an issue processing your uploaded documents.
-                    
-                    Issue: %s
-                    
-                    Next Steps:
-                    - Please ensure your documents are in the correct format (JPEG, PNG, or PDF)
-                    - Make sure file sizes are under 10MB
-                    - Ensure documents are clear and all text is readable
-                    - Try uploading your documents again
-                    
-                    You can upload your documents by logging into your account.
-                    
-                    If you have any questions, please contact our support team.
-                    
-                    Best regards,
-                    Bank ABC Team
-                    """, customerName, errorMessage);
-                    
-            default -> String.format("""
-                    Dear %s,
-                    
-                    We encountered an issue during your onboarding process.
-                    
-                    Issue: %s
-                    
-                    Next Steps:
-                    - Please review your information and try again
-                    - Contact our support team if you need assistance
-                    - You can restart the process by logging into your account
-                    
-                    If you have any questions, please contact our support team.
-                    
-                    Best regards,
-                    Bank ABC Team
-                    """, customerName, errorMessage);
-        };
-    }
-
     /**
      * Builds failure SMS content based on failure type.
      * 
@@ -0,0 +1,178 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.constants.ApplicationConstants;
+import com.bankabc.onboarding.entity.Onboarding;
+import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
+import com.bankabc.onboarding.exception.DefaultApiError;
+import com.bankabc.onboarding.exception.ErrorTypes;
+import com.bankabc.onboarding.mapper.OnboardingMapper;
+import com.bankabc.onboarding.openapi.model.OnboardingBatchItemResult;
+import com.bankabc.onboarding.openapi.model.OnboardingBatchStartResponse;
+import com.bankabc.onboarding.openapi.model.OnboardingStartRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Service for starting onboarding processes for a batch of applicants.
+ * <p>
+ * Duplicate SSNs are detected with a single query for the whole batch. The remaining applicants
+ * are processed in chunks of {@code onboarding.batch-start.chunk-size}: each chunk inserts its
+ * onboarding rows through one JDBC batch and starts its process instances in one transaction.
+ * If a chunk fails it is rolled back and retried one applicant per transaction, so a single bad
+ * item only fails itself.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OnboardingBatchService {
+
+    private final RuntimeService runtimeService;
+    private final OnboardingService onboardingService;
+    private final OnboardingMapper onboardingMapper;
+    private final WorkflowConfigurationService workflowConfigurationService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${onboarding.batch-start.chunk-size:50}")
+    private int chunkSize;
+
+    /**
+     * Start onboarding processes for a batch of applicants.
+     *
+     * @param requests The applicants, in request order
+     * @return One result per applicant, in request order
+     */
+    public OnboardingBatchStartResponse startOnboardingProcesses(List<OnboardingStartRequest> requests) {
+        log.info("Starting onboarding batch with {} applicants", requests.size());
+        OnboardingBatchItemResult[] results = new OnboardingBatchItemResult[requests.size()];
+
+        // Reject SSNs that already exist or appear earlier in the same batch
+        Set<String> existingSsns = onboardingService.findExistingSsns(
+                requests.stream().map(OnboardingStartRequest::getSsn).distinct().toList());
+        Set<String> seenSsns = new HashSet<>();
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String ssn = requests.get(i).getSsn();
+            if (existingSsns.contains(ssn) || !seenSsns.add(ssn)) {
+                results[i] = duplicate(i);
+            } else {
+                pending.add(i);
+            }
+        }
+
+        String processDefinitionKey = workflowConfigurationService.getProcessDefinitionKey();
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            try {
+                startChunk(chunk, requests, processDefinitionKey, results);
+            } catch (RuntimeException e) {
+                log.warn("Onboarding batch chunk of {} failed, retrying applicants individually: {}",
+                        chunk.size(), e.getMessage());
+                for (Integer index : chunk) {
+                    startSingle(index, requests, processDefinitionKey, results);
+                }
+            }
+        }
+
+        long started = Arrays.stream(results)
+                .filter(result -> result.getStatus() == OnboardingBatchItemResult.StatusEnum.STARTED)
+                .count();
+        log.info("Onboarding batch finished: {} of {} applicants started", started, requests.size());
+
+        return new OnboardingBatchStartResponse()
+                .total(requests.size())
+                .started((int) started)
+                .failed(requests.size() - (int) started)
+                .results(Arrays.asList(results));
+    }
+
+    private void startSingle(int index, List<OnboardingStartRequest> requests, String processDefinitionKey,
+                             OnboardingBatchItemResult[] results) {
+        try {
+            startChunk(List.of(index), requests, processDefinitionKey, results);
+        } catch (DataIntegrityViolationException e) {
+            // SSN inserted concurrently by another request
+            results[index] = duplicate(index);
+        } catch (DefaultApiError e) {
+            results[index] = failed(index, e.getErrorName(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Failed to start onboarding process for batch item {}", index, e);
+            results[index] = failed(index, ErrorTypes.PROCESS_START_FAILED.name(),
+                    ErrorTypes.PROCESS_START_FAILED.getMessage());
+        }
+    }
+
+    /**
+     * Inserts and starts a chunk of applicants in one transaction. Onboarding IDs are assigned up
+     * front and used as business keys; the rows are only flushed at commit, so each one is
+     * inserted once, already carrying its process instance ID.
+     */
+    private void startChunk(List<Integer> chunk, List<OnboardingStartRequest> requests, String processDefinitionKey,
+                            OnboardingBatchItemResult[] results) {
+        OnboardingBatchItemResult[] chunkResults = transactionTemplate.execute(status -> {
+            List<Onboarding> onboardings = chunk.stream()
+                    .map(index -> {
+                        Onboarding onboarding = onboardingMapper.toEntity(requests.get(index));
+                        onboarding.setId(UUID.randomUUID());
+                        return onboarding;
+                    })
+                    .toList();
+            onboardings = onboardingService.saveAllOnboardings(onboardings);
+
+            OnboardingBatchItemResult[] started = new OnboardingBatchItemResult[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                Onboarding onboarding = onboardings.get(i);
+                ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(
+                        processDefinitionKey,
+                        onboarding.getId().toString(),
+                        Map.of("onboardingId", onboarding.getId()));
+
+                onboarding.setProcessInstanceId(processInstance.getId());
+                onboarding.setProcessDefinitionKey(processDefinitionKey);
+                onboarding.setStatus(OnboardingStatus.INFO_COLLECTED);
+
+                started[i] = new OnboardingBatchItemResult()
+                        .index(chunk.get(i))
+                        .status(OnboardingBatchItemResult.StatusEnum.STARTED)
+                        .processInstanceId(processInstance.getId())
+                        .onboardingStatus(OnboardingStatus.INFO_COLLECTED.name())
+                        .message(workflowConfigurationService.getProcessStartSuccessMessage());
+            }
+            return started;
+        });
+
+        // Only publish results once the chunk has committed
+        for (int i = 0; i < chunk.size(); i++) {
+            results[chunk.get(i)] = chunkResults[i];
+        }
+    }
+
+    private OnboardingBatchItemResult duplicate(int index) {
+        return new OnboardingBatchItemResult()
+                .index(index)
+                .status(OnboardingBatchItemResult.StatusEnum.DUPLICATE)
+                .errorName(ApplicationConstants.ErrorType.CUSTOMER_ALREADY_EXISTS)
+                .message(ApplicationConstants.Messages.CUSTOMER_ALREADY_EXISTS);
+    }
+
+    private OnboardingBatchItemResult failed(int index, String errorName, String message) {
+        return new OnboardingBatchItemResult()
+                .index(index)
+                .status(OnboardingBatchItemResult.StatusEnum.FAILED)
+                .errorName(errorName)
+                .message(message);
+    }
+}
@@ -4,14 +4,19 @@ import com.bankabc.onboarding.entity.Onboarding;
 import com.bankabc.onboarding.exception.DefaultApiError;
 import com.bankabc.onboarding.exception.ErrorTypes;
 import com.bankabc.onboarding.repository.OnboardingRepository;
+import com.bankabc.onboarding.repository.OnboardingStatusView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -25,15 +30,31 @@ import java.util.UUID;
 public class OnboardingService {
 
     private final OnboardingRepository onboardingRepository;
+    private final OnboardingStatusCache onboardingStatusCache;
 
     /**
-     * Saves onboarding entity to database.
+     * Saves onboarding entity to database and evicts its cached status.
      * 
      * @param onboarding the onboarding entity to save
      * @return the saved onboarding entity
      */
     public Onboarding saveOnboarding(Onboarding onboarding) {
-        return onboardingRepository.save(onboarding);
+        Onboarding saved = onboardingRepository.save(onboarding);
+        onboardingStatusCache.evict(saved.getProcessInstanceId());
+        return saved;
+    }
+
+    /**
+     * Saves several onboarding entities. New entities are inserted with JDBC batching
+     * when the transaction flushes.
+     * 
+     * @param onboardings the onboarding entities to save
+     * @return the saved onboarding entities
+     */
+    public List<Onboarding> saveAllOnboardings(List<Onboarding> onboardings) {
+        List<Onboarding> saved = onboardingRepository.saveAll(onboardings);
+        saved.forEach(onboarding -> onboardingStatusCache.evict(onboarding.getProcessInstanceId()));
+        return saved;
     }
 
     /**
@@ -76,6 +97,19 @@ public class OnboardingService {
         return onboardingRepository.existsBySsn(ssn);
     }
 
+    /**
+     * Returns which of the given SSNs already belong to a customer.
+     * 
+     * @param ssns the social security numbers to check
+     * @return the SSNs that already exist
+     */
+    public Set<String> findExistingSsns(Collection<String> ssns) {
+        if (ssns.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(onboardingRepository.findExistingSsns(ssns));
+    }
+
     /**
      * Finds onboarding by ID and throws DefaultApiError if not found.
      * 
@@ -110,4 +144,23 @@ public class OnboardingService {
                 ));
     }
 
+    /**
+     * Finds the status projection by process instance ID and throws DefaultApiError if not found.
+     * Reads only the columns a status response needs.
+     * 
+     * @param processInstanceId the BPMN process instance ID
+     * @return the status projection
+     * @throws DefaultApiError if onboarding not found
+     */
+    @Transactional(readOnly = true)
+    public OnboardingStatusView findStatusViewByProcessInstanceIdOrThrow(String processInstanceId) {
+        return onboardingRepository.findStatusViewByProcessInstanceId(processInstanceId)
+                .orElseThrow(() -> new DefaultApiError(
+                    HttpStatus.NOT_FOUND,
+                    ErrorTypes.ONBOARDING_NOT_FOUND.name(),
+                    ErrorTypes.ONBOARDING_NOT_FOUND.getMessage(),
+                    Map.of("processInstanceId", processInstanceId)
+                ));
+    }
+
 }
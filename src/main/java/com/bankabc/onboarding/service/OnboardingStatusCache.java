@@ -0,0 +1,84 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.openapi.model.OnboardingStatusResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-backed cache of onboarding status responses keyed by process instance ID.
+ * <p>
+ * Entries are evicted whenever an onboarding is saved. The eviction is repeated once the surrounding
+ * transaction completes, so a poll that runs between the save and the commit cannot leave the
+ * pre-commit state in the cache. The TTL bounds staleness for changes made outside the service.
+ * Hit, miss, eviction and size metrics are published as {@code cache.*} meters tagged
+ * {@code cache=onboarding.status}.
+ */
+@Component
+@Slf4j
+public class OnboardingStatusCache {
+
+    public static final String CACHE_NAME = "onboarding.status";
+
+    private final boolean enabled;
+    private final Cache<String, OnboardingStatusResponse> cache;
+
+    public OnboardingStatusCache(
+            MeterRegistry meterRegistry,
+            @Value("${onboarding.status-cache.enabled:true}") boolean enabled,
+            @Value("${onboarding.status-cache.max-size:100000}") long maxSize,
+            @Value("${onboarding.status-cache.ttl:5s}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Onboarding status cache {} (max size: {}, ttl: {})", enabled ? "enabled" : "disabled", maxSize, ttl);
+    }
+
+    /**
+     * Returns the cached status or loads and caches it. Failed loads are not cached.
+     *
+     * @param processInstanceId The process instance ID
+     * @param loader            Loads the status on a cache miss
+     * @return The onboarding status response
+     */
+    public OnboardingStatusResponse get(String processInstanceId,
+                                        Function<String, OnboardingStatusResponse> loader) {
+        if (!enabled) {
+            return loader.apply(processInstanceId);
+        }
+        return cache.get(processInstanceId, loader);
+    }
+
+    /**
+     * Evicts the status of a process instance now and again when the current transaction completes.
+     *
+     * @param processInstanceId The process instance ID, ignored when null
+     */
+    public void evict(String processInstanceId) {
+        if (processInstanceId == null) {
+            return;
+        }
+        cache.invalidate(processInstanceId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(processInstanceId);
+                }
+            });
+        }
+    }
+}
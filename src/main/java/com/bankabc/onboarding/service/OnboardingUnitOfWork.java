@@ -0,0 +1,114 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.entity.Onboarding;
+import com.bankabc.onboarding.exception.DefaultApiError;
+import com.bankabc.onboarding.exception.ErrorTypes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-transaction unit of work for Onboarding rows touched by delegates.
+ * <p>
+ * Within a job transaction each onboarding is loaded once and shared by every delegate and
+ * listener that asks for it. {@link #update(Onboarding)} only marks the row dirty; it is written
+ * once, just before commit, and because the entity is {@code @DynamicUpdate} Hibernate's dirty
+ * check turns that write into a single UPDATE of the changed columns.
+ * <p>
+ * Without an active transaction synchronization, loads and updates go straight to
+ * {@link OnboardingService}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OnboardingUnitOfWork {
+
+    private final OnboardingService onboardingService;
+
+    /**
+     * Returns the onboarding for the current transaction, loading it on first access.
+     *
+     * @param onboardingId the onboarding ID
+     * @return the onboarding entity
+     * @throws DefaultApiError if the onboarding does not exist
+     */
+    public Onboarding load(UUID onboardingId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return findOrThrow(onboardingId);
+        }
+        return currentEntries().computeIfAbsent(onboardingId, id -> new Entry(findOrThrow(id))).onboarding;
+    }
+
+    /**
+     * Marks the onboarding as changed so it is written once when the transaction commits.
+     *
+     * @param onboarding the changed onboarding entity
+     */
+    public void update(Onboarding onboarding) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onboardingService.saveOnboarding(onboarding);
+            return;
+        }
+        Entry entry = currentEntries().computeIfAbsent(onboarding.getId(), id -> new Entry(onboarding));
+        entry.onboarding = onboarding;
+        entry.dirty = true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<UUID, Entry> currentEntries() {
+        Map<UUID, Entry> entries = (Map<UUID, Entry>) TransactionSynchronizationManager.getResource(this);
+        if (entries == null) {
+            Map<UUID, Entry> bound = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    writeDirty(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OnboardingUnitOfWork.this);
+                }
+            });
+            entries = bound;
+        }
+        return entries;
+    }
+
+    private void writeDirty(Map<UUID, Entry> entries) {
+        for (Entry entry : entries.values()) {
+            if (entry.dirty) {
+                log.debug("Flushing onboarding {} with status {}", entry.onboarding.getId(), entry.onboarding.getStatus());
+                onboardingService.saveOnboarding(entry.onboarding);
+                entry.dirty = false;
+            }
+        }
+    }
+
+    private Onboarding findOrThrow(UUID onboardingId) {
+        return onboardingService.findById(onboardingId)
+            .orElseThrow(() -> new DefaultApiError(
+                HttpStatus.NOT_FOUND,
+                ErrorTypes.ONBOARDING_NOT_FOUND.name(),
+                "Onboarding not found: " + onboardingId,
+                Map.of("onboardingId", onboardingId.toString())
+            ));
+    }
+
+    private static final class Entry {
+        private Onboarding onboarding;
+        private boolean dirty;
+
+        private Entry(Onboarding onboarding) {
+            this.onboarding = onboarding;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.exception.ProviderRateLimitedException;
+import com.bankabc.onboarding.model.WorkflowDefinition.RateLimit;
+import com.bankabc.onboarding.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-provider call quotas, one token bucket per provider.
+ * <p>
+ * The quota of a provider is the {@code rateLimit} block of the step that calls it in
+ * onboarding.json and is picked up again on reload; a changed limit starts a fresh bucket. Every
+ * {@link #acquire} is one provider call: a KYC bulk call for a whole batch takes one permit. A call
+ * waits up to the step's {@code maxWait} for its permit, holding no thread; past that it fails with
+ * ProviderRateLimitedException, which defers the job instead of failing the step.
+ * <p>
+ * Published meters, tagged by provider: {@code verification.rate-limit.wait},
+ * {@code verification.rate-limit.deferred} and {@code verification.rate-limit.available-permits}.
+ */
+@Component
+@Slf4j
+public class ProviderRateLimiter {
+
+    private final WorkflowConfigurationService workflowConfigurationService;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Quota> quotas = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor timer;
+
+    public ProviderRateLimiter(WorkflowConfigurationService workflowConfigurationService, MeterRegistry meterRegistry) {
+        this.workflowConfigurationService = workflowConfigurationService;
+        this.meterRegistry = meterRegistry;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName("provider-rate-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+        for (String provider : new String[] {VerificationService.KYC_PROVIDER, VerificationService.ADDRESS_PROVIDER}) {
+            Gauge.builder("verification.rate-limit.available-permits", quotas,
+                            byProvider -> availablePermits(byProvider.get(provider)))
+                    .description("Provider calls that can start without waiting, NaN when the provider is not rate limited")
+                    .tag("provider", provider)
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * Starts one provider call once the provider's quota grants a permit.
+     *
+     * @param provider the provider, used for the bucket and the meter tags
+     * @param stepId the step whose {@code rateLimit} configures the provider's quota
+     * @param call starts the provider call
+     * @param <T> the result type
+     * @return the call's result; fails at once with ProviderRateLimitedException if no permit is
+     *         free within the step's {@code maxWait}
+     */
+    public <T> CompletableFuture<T> acquire(String provider, String stepId, Supplier<CompletableFuture<T>> call) {
+        RateLimit rateLimit = workflowConfigurationService.getRateLimit(stepId);
+        if (rateLimit == null) {
+            quotas.remove(provider);
+            return call.get();
+        }
+        TokenBucket bucket = quotas.compute(provider, (key, quota) -> quota != null && quota.rateLimit().equals(rateLimit)
+                ? quota
+                : new Quota(rateLimit, new TokenBucket(rateLimit.getPermitsPerSecond(), rateLimit.getBurst()))).bucket();
+
+        long wait = bucket.reserve(rateLimit.getMaxWait());
+        if (wait < 0) {
+            Counter.builder("verification.rate-limit.deferred")
+                    .description("Provider calls deferred because the quota had no permit within the wait limit")
+                    .tag("provider", provider)
+                    .register(meterRegistry)
+                    .increment();
+            log.info("{} provider quota used up, deferring by {}", provider, rateLimit.getDeferBy());
+            return CompletableFuture.failedFuture(new ProviderRateLimitedException(provider, rateLimit.getDeferBy()));
+        }
+        Timer.builder("verification.rate-limit.wait")
+                .description("Time a provider call waited for a quota permit")
+                .tag("provider", provider)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(wait, TimeUnit.NANOSECONDS);
+        if (wait == 0) {
+            return call.get();
+        }
+        return CompletableFuture.supplyAsync(call, CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS, timer))
+                .thenCompose(Function.identity());
+    }
+
+    private static double availablePermits(Quota quota) {
+        return quota != null ? quota.bucket().getAvailablePermits() : Double.NaN;
+    }
+
+    private record Quota(RateLimit rateLimit, TokenBucket bucket) {
+    }
+}
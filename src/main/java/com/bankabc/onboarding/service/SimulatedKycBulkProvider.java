@@ -0,0 +1,93 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.model.KycRequest;
+import com.bankabc.onboarding.util.Bulkhead;
+import com.bankabc.onboarding.util.LatencyDistribution;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for a KYC provider's bulk endpoint, used until a real provider is configured, in
+ * tests and in benchmarks.
+ * <p>
+ * A call takes a round trip drawn from the latency distribution plus {@code perItemLatency} per
+ * customer, and accepts a configurable share of customers. Like a real provider it serves at
+ * most {@code maxConcurrentCalls} calls at a time; further calls wait their turn. Answers are
+ * scheduled on a timer, so calls in flight hold no thread.
+ */
+public class SimulatedKycBulkProvider implements KycBulkProvider, AutoCloseable {
+
+    private final double successRate;
+    private final LatencyDistribution callLatency;
+    private final long perItemNanos;
+    private final int maxBatchSize;
+    private final Bulkhead concurrentCalls;
+    private final ScheduledThreadPoolExecutor timer;
+    private final AtomicLong calls = new AtomicLong();
+
+    public SimulatedKycBulkProvider(double successRate, LatencyDistribution callLatency, Duration perItemLatency,
+                                    int maxConcurrentCalls, int maxBatchSize) {
+        this.successRate = successRate;
+        this.callLatency = callLatency;
+        this.perItemNanos = perItemLatency.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.concurrentCalls = new Bulkhead(maxConcurrentCalls, Integer.MAX_VALUE);
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName("kyc-bulk-provider");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public CompletableFuture<List<Boolean>> verifyBatch(List<KycRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "Batch of " + requests.size() + " exceeds the provider limit of " + maxBatchSize));
+        }
+        calls.incrementAndGet();
+        return concurrentCalls.submit(() -> answer(requests.size()));
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Number of provider calls made so far.
+     */
+    public long getCalls() {
+        return calls.get();
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    private CompletableFuture<List<Boolean>> answer(int size) {
+        CompletableFuture<List<Boolean>> result = new CompletableFuture<>();
+        long delay = callLatency.sample(ThreadLocalRandom.current()).toNanos() + perItemNanos * size;
+        ScheduledFuture<?> answer = timer.schedule(() -> {
+            List<Boolean> verified = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                verified.add(ThreadLocalRandom.current().nextDouble() < successRate);
+            }
+            result.complete(verified);
+        }, delay, TimeUnit.NANOSECONDS);
+        result.whenComplete((verified, error) -> answer.cancel(false));
+        return result;
+    }
+}
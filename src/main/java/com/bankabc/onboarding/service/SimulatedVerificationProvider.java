@@ -0,0 +1,49 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.util.LatencyDistribution;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for an external verification provider.
+ * <p>
+ * Answers after a latency drawn from its LatencyDistribution and accepts a configurable share
+ * of requests. The answer is scheduled on a shared timer, so a call in flight holds no thread,
+ * and a call completed by the caller first (deadline, cancellation) drops its pending answer.
+ */
+public class SimulatedVerificationProvider {
+
+    @Getter
+    private final String name;
+    private final double successRate;
+    @Getter
+    private final LatencyDistribution latency;
+    private final ScheduledExecutorService timer;
+
+    public SimulatedVerificationProvider(String name, double successRate, LatencyDistribution latency,
+                                         ScheduledExecutorService timer) {
+        this.name = name;
+        this.successRate = successRate;
+        this.latency = latency;
+        this.timer = timer;
+    }
+
+    /**
+     * Starts a verification.
+     *
+     * @return completes with true if the provider verified the customer, false if it rejected them
+     */
+    public CompletableFuture<Boolean> verify() {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        ScheduledFuture<?> answer = timer.schedule(
+                () -> result.complete(ThreadLocalRandom.current().nextDouble() < successRate),
+                latency.sample(ThreadLocalRandom.current()).toNanos(), TimeUnit.NANOSECONDS);
+        result.whenComplete((verified, error) -> answer.cancel(false));
+        return result;
+    }
+}
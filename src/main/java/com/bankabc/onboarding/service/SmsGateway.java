@@ -0,0 +1,38 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.model.SmsMessage;
+
+import java.util.List;
+
+/**
+ * SPI for SMS providers.
+ * <p>
+ * Implementations submit a batch of messages to the provider in one call. They are only called
+ * from the BatchingSmsSender flush thread, one batch at a time, so they need not be thread-safe
+ * and may block. Register an implementation as a bean to replace the StubSmsGateway.
+ */
+public interface SmsGateway {
+
+    /**
+     * Submits a batch of messages to the provider.
+     *
+     * @param messages the messages, at most {@link #maxBatchSize()}
+     * @return per message, in the same order, whether the provider accepted it
+     * @throws Exception if the whole batch failed
+     */
+    List<Boolean> sendBatch(List<SmsMessage> messages) throws Exception;
+
+    /**
+     * Largest batch the provider accepts in one call.
+     */
+    default int maxBatchSize() {
+        return 100;
+    }
+
+    /**
+     * Messages per second the provider allows, 0 for no limit.
+     */
+    default double maxMessagesPerSecond() {
+        return 0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.model.SmsMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * In-process SMS gateway used until a real provider is configured, and in tests.
+ * <p>
+ * Logs every message instead of sending it, accepts all of them after an optional simulated
+ * provider latency and keeps the most recent messages and batch sizes for inspection.
+ */
+@Slf4j
+public class StubSmsGateway implements SmsGateway {
+
+    private static final int RETAINED_MESSAGES = 1_000;
+
+    private final Duration latency;
+    private final int maxBatchSize;
+    private final double maxMessagesPerSecond;
+
+    private final Deque<SmsMessage> sentMessages = new ArrayDeque<>();
+    private final Deque<Integer> batchSizes = new ArrayDeque<>();
+
+    public StubSmsGateway(Duration latency, int maxBatchSize, double maxMessagesPerSecond) {
+        this.latency = latency;
+        this.maxBatchSize = maxBatchSize;
+        this.maxMessagesPerSecond = maxMessagesPerSecond;
+    }
+
+    @Override
+    public List<Boolean> sendBatch(List<SmsMessage> messages) throws InterruptedException {
+        if (!latency.isZero()) {
+            Thread.sleep(latency.toMillis());
+        }
+        List<Boolean> results = new ArrayList<>(messages.size());
+        synchronized (this) {
+            for (SmsMessage message : messages) {
+                log.info("SMS NOTIFICATION SENT:\nMessage: {}", message.getMessage());
+                retain(sentMessages, message);
+                results.add(true);
+            }
+            retain(batchSizes, messages.size());
+        }
+        return results;
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public double maxMessagesPerSecond() {
+        return maxMessagesPerSecond;
+    }
+
+    /**
+     * The most recent messages, oldest first.
+     */
+    public synchronized List<SmsMessage> getSentMessages() {
+        return List.copyOf(sentMessages);
+    }
+
+    /**
+     * Sizes of the most recent batches, oldest first.
+     */
+    public synchronized List<Integer> getBatchSizes() {
+        return List.copyOf(batchSizes);
+    }
+
+    private static <T> void retain(Deque<T> deque, T element) {
+        deque.addLast(element);
+        if (deque.size() > RETAINED_MESSAGES) {
+            deque.pollFirst();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.exception.ProviderUnavailableException;
+import com.bankabc.onboarding.exception.ProviderUnavailableException.Reason;
+import com.bankabc.onboarding.util.Bulkhead;
+import com.bankabc.onboarding.util.CircuitBreaker;
+import com.bankabc.onboarding.util.CircuitBreaker.Outcome;
+import com.bankabc.onboarding.util.CircuitBreaker.State;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead and circuit breaker around one verification provider.
+ * <p>
+ * The bulkhead keeps a slow provider from taking every job: calls beyond its concurrency and
+ * queue limits fail at once. The circuit breaker counts errors, timeouts and calls slower than
+ * {@code slow-call-duration} as failures; while it is open calls fail at once without reaching
+ * the provider. Call time is measured from the moment the bulkhead starts the call, and a call
+ * that times out while still queued is not counted, so our own queueing under load never opens
+ * the circuit against a healthy provider. Both refusals fail with ProviderUnavailableException, which the delegates turn
+ * into their verification-failed BPMN error.
+ * <p>
+ * Published meters, tagged by provider: {@code verification.bulkhead.in-flight},
+ * {@code verification.bulkhead.queued}, {@code verification.circuit.state} (1 for the current
+ * state), {@code verification.circuit.failure-rate} and {@code verification.rejections} (tagged
+ * by reason).
+ */
+@Slf4j
+public class VerificationProviderGuard {
+
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    @Getter
+    private final String provider;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final long slowCallNanos;
+    private final Counter bulkheadRejections;
+    private final Counter circuitRejections;
+
+    public VerificationProviderGuard(String provider, Bulkhead bulkhead, CircuitBreaker circuitBreaker,
+                                     Duration slowCallDuration, MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.bulkhead = bulkhead;
+        this.circuitBreaker = circuitBreaker;
+        this.slowCallNanos = slowCallDuration.toNanos();
+
+        Gauge.builder("verification.bulkhead.in-flight", bulkhead, Bulkhead::getInFlight)
+                .description("Provider calls in flight")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("verification.bulkhead.queued", bulkhead, Bulkhead::getQueued)
+                .description("Provider calls waiting for a bulkhead slot")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        for (State state : State.values()) {
+            Gauge.builder("verification.circuit.state", circuitBreaker, breaker -> breaker.getState() == state ? 1 : 0)
+                    .description("1 for the current circuit breaker state")
+                    .tag("provider", provider)
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        Gauge.builder("verification.circuit.failure-rate", circuitBreaker, CircuitBreaker::getFailureRate)
+                .description("Share of failed calls in the circuit breaker window")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        this.bulkheadRejections = rejections(meterRegistry, Reason.BULKHEAD_FULL);
+        this.circuitRejections = rejections(meterRegistry, Reason.CIRCUIT_OPEN);
+    }
+
+    /**
+     * Makes a provider call through the circuit breaker and the bulkhead.
+     *
+     * @param call starts the provider call
+     * @param timeout deadline for the call, including the time it waits for a bulkhead slot; only
+     *                the time after the slot was taken counts towards {@code slow-call-duration}
+     * @param <T> the result type
+     * @return the call's result; fails with ProviderUnavailableException if the call was refused
+     *         and with TimeoutException past the deadline
+     */
+    public <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call, Duration timeout) {
+        if (!circuitBreaker.tryAcquire()) {
+            circuitRejections.increment();
+            return CompletableFuture.failedFuture(new ProviderUnavailableException(provider, Reason.CIRCUIT_OPEN));
+        }
+        AtomicLong startedAt = new AtomicLong(NOT_STARTED);
+        CompletableFuture<T> result;
+        try {
+            result = bulkhead.submit(() -> {
+                startedAt.set(System.nanoTime());
+                return call.get();
+            });
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.record(Outcome.IGNORED);
+            bulkheadRejections.increment();
+            log.warn("{} provider call refused: {}", provider, e.getMessage());
+            return CompletableFuture.failedFuture(new ProviderUnavailableException(provider, Reason.BULKHEAD_FULL));
+        }
+        State before = circuitBreaker.getState();
+        return result
+                .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((value, error) -> {
+                    long started = startedAt.get();
+                    circuitBreaker.record(started == NOT_STARTED
+                            ? Outcome.IGNORED
+                            : outcome(error, System.nanoTime() - started));
+                    State after = circuitBreaker.getState();
+                    if (after != before) {
+                        log.warn("{} provider circuit breaker {} -> {}", provider, before, after);
+                    }
+                });
+    }
+
+    public State getState() {
+        return circuitBreaker.getState();
+    }
+
+    private Outcome outcome(Throwable error, long elapsedNanos) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            return Outcome.IGNORED;
+        }
+        if (cause != null || elapsedNanos > slowCallNanos) {
+            return Outcome.FAILURE;
+        }
+        return Outcome.SUCCESS;
+    }
+
+    private Counter rejections(MeterRegistry meterRegistry, Reason reason) {
+        return Counter.builder("verification.rejections")
+                .description("Provider calls refused without reaching the provider")
+                .tag("provider", provider)
+                .tag("reason", reason.getTag())
+                .register(meterRegistry);
+    }
+}
@@ -1,13 +1,61 @@
 package com.bankabc.onboarding.service;
 
+import com.bankabc.onboarding.constants.ApplicationConstants;
+import com.bankabc.onboarding.exception.ProviderUnavailableException;
+import com.bankabc.onboarding.model.KycRequest;
+import com.bankabc.onboarding.util.Hedger;
+import com.bankabc.onboarding.util.LatencyDistribution;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
 /**
  * Service for performing KYC (Know Your Customer) verification.
  * Currently implements mock verification logic.
- * 
+ * <p>
+ * Verifications return a CompletableFuture that completes when the provider answers, or fails
+ * with a TimeoutException once the provider's {@code timeout} has passed. The simulated
+ * providers answer from a shared timer after a latency drawn from their configured
+ * distribution, so waiting for a verification holds no thread; a caller on a virtual thread
+ * releases its carrier while it waits. Latency per provider and outcome is published as the
+ * {@code verification.latency} histogram.
+ * <p>
+ * Each provider sits behind its own VerificationProviderGuard, so a slow or failing KYC provider
+ * is cut off by its bulkhead and circuit breaker instead of holding every job, and address
+ * verification keeps its own capacity. Address results are cached per normalized address.
+ * KYC verifications are collected by the KycBatcher into bulk provider calls unless
+ * {@code verification.kyc.batch.enabled} is false.
+ * <p>
+ * KYC calls are hedged: a call the provider has not answered within the
+ * {@code verification.kyc.hedge.percentile} of recent latencies is sent a second time and the
+ * first answer wins, within a budget of {@code verification.kyc.hedge.budget} extra calls. Unbatched,
+ * both attempts run under the same guard slot and deadline; batched, each attempt joins a batch
+ * and the guard and deadline apply per bulk call. Published meters, tagged by provider:
+ * {@code verification.hedge.sent}, {@code verification.hedge.won},
+ * {@code verification.hedge.throttled} and {@code verification.hedge.delay}.
+ * <p>
+ * Calls to a provider are spaced by the ProviderRateLimiter, which takes one permit per provider
+ * call: per customer for address verification and unbatched KYC, per bulk call in the KycBatcher.
+ * The permit is taken before the call enters its guard, so time spent waiting for the quota
+ * counts neither towards the provider deadline nor as a slow call. Address results served from
+ * the cache use no permit.
+ *
  * Future enhancements:
  * - Integrate with external KYC providers (Onfido, Trulioo)
  * - Implement document verification
@@ -18,129 +66,224 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class VerificationService {
 
-    @Value("${verification.kyc.success-rate:0.9}")
-    private double kycSuccessRate;
-    
-    @Value("${verification.address.success-rate:0.95}")
-    private double addressSuccessRate;
-
+    public static final String KYC_PROVIDER = "kyc";
+    public static final String ADDRESS_PROVIDER = "address";
 
+    private final MeterRegistry meterRegistry;
+    private final ScheduledThreadPoolExecutor timer;
+    private final SimulatedVerificationProvider kycProvider;
+    private final SimulatedVerificationProvider addressProvider;
+    private final VerificationProviderGuard kycGuard;
+    private final VerificationProviderGuard addressGuard;
+    private final AddressVerificationCache addressCache;
+    private final KycBatcher kycBatcher;
+    private final ProviderRateLimiter rateLimiter;
+    private final Hedger kycHedger;
+    private final Duration kycTimeout;
+    private final Duration addressTimeout;
 
+    public VerificationService(
+            MeterRegistry meterRegistry,
+            @Qualifier("kycProviderGuard") VerificationProviderGuard kycGuard,
+            @Qualifier("addressProviderGuard") VerificationProviderGuard addressGuard,
+            AddressVerificationCache addressCache,
+            KycBatcher kycBatcher,
+            ProviderRateLimiter rateLimiter,
+            @Value("${verification.kyc.success-rate:0.9}") double kycSuccessRate,
+            @Value("${verification.kyc.latency.distribution:log-normal}") String kycDistribution,
+            @Value("${verification.kyc.latency.median:1000ms}") Duration kycMedian,
+            @Value("${verification.kyc.latency.p99:2500ms}") Duration kycP99,
+            @Value("${verification.kyc.timeout:5s}") Duration kycTimeout,
+            @Value("${verification.kyc.hedge.enabled:true}") boolean kycHedgeEnabled,
+            @Value("${verification.kyc.hedge.percentile:0.95}") double kycHedgePercentile,
+            @Value("${verification.kyc.hedge.window-size:200}") int kycHedgeWindowSize,
+            @Value("${verification.kyc.hedge.min-delay:100ms}") Duration kycHedgeMinDelay,
+            @Value("${verification.kyc.hedge.budget:0.05}") double kycHedgeBudget,
+            @Value("${verification.address.success-rate:0.95}") double addressSuccessRate,
+            @Value("${verification.address.latency.distribution:log-normal}") String addressDistribution,
+            @Value("${verification.address.latency.median:500ms}") Duration addressMedian,
+            @Value("${verification.address.latency.p99:1500ms}") Duration addressP99,
+            @Value("${verification.address.timeout:3s}") Duration addressTimeout) {
+        this.meterRegistry = meterRegistry;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName("verification-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.kycProvider = new SimulatedVerificationProvider(KYC_PROVIDER, kycSuccessRate,
+                LatencyDistribution.of(kycDistribution, kycMedian, kycP99), timer);
+        this.addressProvider = new SimulatedVerificationProvider(ADDRESS_PROVIDER, addressSuccessRate,
+                LatencyDistribution.of(addressDistribution, addressMedian, addressP99), timer);
+        this.kycGuard = kycGuard;
+        this.addressGuard = addressGuard;
+        this.addressCache = addressCache;
+        this.kycBatcher = kycBatcher;
+        this.rateLimiter = rateLimiter;
+        this.kycHedger = kycHedgeEnabled
+                ? hedger(KYC_PROVIDER, kycHedgePercentile, kycHedgeWindowSize, kycHedgeMinDelay, kycHedgeBudget)
+                : null;
+        this.kycTimeout = kycTimeout;
+        this.addressTimeout = addressTimeout;
+        log.info("Verification providers: KYC latency {} (timeout {}), address latency {} (timeout {})",
+                kycProvider.getLatency(), kycTimeout, addressProvider.getLatency(), addressTimeout);
+    }
 
-  
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
 
     /**
-     * Performs KYC verification with individual parameters.
-     * 
+     * Starts KYC verification without blocking the caller.
+     *
      * @param firstName the customer's first name
      * @param lastName the customer's last name
      * @param dateOfBirth the customer's date of birth
      * @param ssn the customer's social security number
-     * @return true if verification passes, false otherwise
+     * @return completes with true if verification passes, false if it fails; fails with a
+     *         TimeoutException if the provider does not answer within the KYC timeout and with
+     *         ProviderRateLimitedException if the KYC quota has no permit within its wait limit
      */
-    public boolean performKycVerification(String firstName, String lastName, 
-                                        java.time.LocalDate dateOfBirth, String ssn) {
+    public CompletableFuture<Boolean> performKycVerificationAsync(String firstName, String lastName,
+                                                                  LocalDate dateOfBirth, String ssn) {
         log.info("Starting KYC verification");
-        
-        try {
-            // Mock external KYC service call
-            boolean externalKycResult = callExternalKycService(firstName, lastName, dateOfBirth, ssn);
-            if (!externalKycResult) {
-                log.warn("External KYC service verification failed");
-                return false;
-            }
-            
-            log.info("KYC verification completed successfully");
-            return true;
-            
-        } catch (Exception e) {
-            log.error("Error during KYC verification", e);
-            return false;
+        Supplier<CompletableFuture<Boolean>> attempt = kycBatcher.isEnabled()
+                ? () -> kycBatcher.submit(new KycRequest(firstName, lastName, dateOfBirth, ssn))
+                : kycProvider::verify;
+        Supplier<CompletableFuture<Boolean>> verification = kycHedger != null ? () -> kycHedger.call(attempt) : attempt;
+        if (kycBatcher.isEnabled()) {
+            // The batcher takes the permit and the guard slot per bulk call
+            return call(KYC_PROVIDER, kycTimeout, verification);
         }
+        return rateLimiter.acquire(KYC_PROVIDER, ApplicationConstants.Workflow.FAILED_STEP_KYC,
+                () -> call(KYC_PROVIDER, kycTimeout, () -> kycGuard.call(verification, kycTimeout)));
     }
 
     /**
-     * Verifies customer address using external services.
-     * 
+     * Starts address verification without blocking the caller.
+     * Addresses verified or rejected recently are answered from the AddressVerificationCache.
+     *
      * @param street the street address
      * @param city the city
      * @param postalCode the postal code
      * @param country the country
-     * @return true if address is valid, false otherwise
+     * @return completes with true if the address is valid, false otherwise; fails with a
+     *         TimeoutException if the provider does not answer within the address timeout and with
+     *         ProviderRateLimitedException if the address quota has no permit within its wait limit
      */
-    public boolean verifyAddress(String street, String city, String postalCode, String country) {
+    public CompletableFuture<Boolean> verifyAddressAsync(String street, String city, String postalCode, String country) {
         log.info("Starting address verification");
-        
-        try {
-            // Mock external address verification service call
-            boolean externalAddressResult = callExternalAddressService(street, city, postalCode, country);
-            if (!externalAddressResult) {
-                log.warn("External address verification failed");
-                return false;
-            }
-            
-            log.info("Address verification completed successfully");
-            return true;
-            
-        } catch (Exception e) {
-            log.error("Error during address verification", e);
-            return false;
-        }
+        return addressCache.get(street, city, postalCode, country,
+                () -> rateLimiter.acquire(ADDRESS_PROVIDER, ApplicationConstants.Workflow.FAILED_STEP_ADDRESS,
+                        () -> call(ADDRESS_PROVIDER, addressTimeout,
+                                () -> addressGuard.call(addressProvider::verify, addressTimeout))));
     }
 
+    /**
+     * Performs KYC verification with individual parameters, blocking until the provider answers.
+     *
+     * @param firstName the customer's first name
+     * @param lastName the customer's last name
+     * @param dateOfBirth the customer's date of birth
+     * @param ssn the customer's social security number
+     * @return true if verification passes, false otherwise (including errors and timeouts)
+     */
+    public boolean performKycVerification(String firstName, String lastName,
+                                        LocalDate dateOfBirth, String ssn) {
+        return await(performKycVerificationAsync(firstName, lastName, dateOfBirth, ssn), "KYC verification");
+    }
 
     /**
-     * Mock external address verification service call.
-     * 
+     * Verifies customer address using external services, blocking until the provider answers.
+     *
      * @param street the street address
      * @param city the city
      * @param postalCode the postal code
      * @param country the country
-     * @return true if external verification passes, false otherwise
+     * @return true if address is valid, false otherwise (including errors and timeouts)
      */
-    private boolean callExternalAddressService(String street, String city, String postalCode, String country) {
-        log.debug("Calling external address verification service");
-        
-        // Mock external service call - simulate network delay
-        try {
-            Thread.sleep(500); // Simulate API call delay
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
-        }
-        
-        // Mock verification result - configurable success rate
-        boolean result = Math.random() < addressSuccessRate;
-        log.debug("External address verification result: {}", result);
-        
-        return result;
+    public boolean verifyAddress(String street, String city, String postalCode, String country) {
+        return await(verifyAddressAsync(street, city, postalCode, country), "Address verification");
     }
 
     /**
-     * Mock external KYC service call with individual parameters.
-     * 
-     * @param firstName the customer's first name
-     * @param lastName the customer's last name
-     * @param dateOfBirth the customer's date of birth
-     * @param ssn the customer's social security number
-     * @return true if external verification passes, false otherwise
+     * Starts a guarded verification and records its latency and outcome.
      */
-    private boolean callExternalKycService(String firstName, String lastName, 
-                                         java.time.LocalDate dateOfBirth, String ssn) {
-        log.debug("Calling external KYC service");
-        
-        // Mock external service call - simulate network delay
+    private CompletableFuture<Boolean> call(String provider, Duration timeout,
+                                            Supplier<CompletableFuture<Boolean>> verification) {
+        long start = System.nanoTime();
+        return verification.get()
+                .exceptionally(error -> {
+                    if (unwrap(error) instanceof TimeoutException) {
+                        throw new CompletionException(new TimeoutException(
+                                provider + " provider did not answer within " + timeout));
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                })
+                .whenComplete((verified, error) -> {
+                    String outcome = error == null
+                            ? (Boolean.TRUE.equals(verified) ? "verified" : "rejected")
+                            : outcome(unwrap(error));
+                    Timer.builder("verification.latency")
+                            .description("Time until the verification provider answered or the call timed out")
+                            .tag("provider", provider)
+                            .tag("outcome", outcome)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    log.debug("{} verification {}", provider, outcome);
+                });
+    }
+
+    private Hedger hedger(String provider, double percentile, int windowSize, Duration minDelay, double budget) {
+        Hedger hedger = new Hedger(percentile, windowSize, minDelay, budget, timer);
+        FunctionCounter.builder("verification.hedge.sent", hedger, Hedger::getHedgesSent)
+                .description("Duplicate provider calls sent because the first was slow")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        FunctionCounter.builder("verification.hedge.won", hedger, Hedger::getHedgesWon)
+                .description("Duplicate provider calls that answered first")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        FunctionCounter.builder("verification.hedge.throttled", hedger, Hedger::getHedgesThrottled)
+                .description("Duplicate provider calls skipped because the hedge budget was used up")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        TimeGauge.builder("verification.hedge.delay", hedger, TimeUnit.NANOSECONDS,
+                        h -> Math.max(0, h.getHedgeDelayNanos()))
+                .description("Time after which a provider call is hedged, 0 until enough latencies are known")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        log.info("{} provider calls hedged after the p{} latency (at least {}), budget {}% extra calls",
+                provider, Math.round(percentile * 100), minDelay, Math.round(budget * 100));
+        return hedger;
+    }
+
+    private boolean await(CompletableFuture<Boolean> verification, String name) {
         try {
-            Thread.sleep(1000); // Simulate API call delay
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            boolean verified = verification.join();
+            if (verified) {
+                log.info("{} completed successfully", name);
+            } else {
+                log.warn("{} failed", name);
+            }
+            return verified;
+        } catch (Exception e) {
+            log.error("Error during {}", name, unwrap(e));
             return false;
         }
-        
-        // Mock verification result - configurable success rate
-        boolean result = Math.random() < kycSuccessRate;
-        log.debug("External KYC service result: {}", result);
-        
-        return result;
+    }
+
+    private static String outcome(Throwable error) {
+        if (error instanceof TimeoutException) {
+            return "timeout";
+        }
+        return error instanceof ProviderUnavailableException ? "unavailable" : "error";
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 }
@@ -3,65 +3,160 @@ package com.bankabc.onboarding.service;
 import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
 import com.bankabc.onboarding.exception.DefaultApiError;
 import com.bankabc.onboarding.exception.ErrorTypes;
+import com.bankabc.onboarding.model.WorkflowDefinition;
+import com.bankabc.onboarding.model.WorkflowDefinition.ErrorHandling;
+import com.bankabc.onboarding.model.WorkflowDefinition.RateLimit;
+import com.bankabc.onboarding.model.WorkflowDefinition.StatusDefinition;
+import com.bankabc.onboarding.model.WorkflowDefinition.StepDefinition;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.Message;
+import org.camunda.bpm.model.bpmn.instance.Process;
+import org.camunda.bpm.model.bpmn.instance.ServiceTask;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing workflow configuration and dynamic step descriptions.
- * Loads configuration from onboarding.json and provides dynamic descriptions.
+ * Compiles onboarding.json into an immutable {@link WorkflowDefinition} at startup, validates it
+ * against the deployed BPMN models and answers every lookup from the precomputed tables.
+ * <p>
+ * When {@code onboarding.workflow.config.location} points at an external file, that file is used
+ * instead of the bundled one and is watched for changes. A changed file is compiled into a new
+ * snapshot that replaces the current one in a single volatile write, so readers never block and
+ * never see a partially built configuration. Invalid files are rejected and logged.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WorkflowConfigurationService {
 
+    private static final String CONFIGURATION_RESOURCE = "onboarding.json";
+    private static final String BPMN_RESOURCE_PATTERN = "classpath*:processes/*.bpmn";
+    private static final String CONFIG_WATCHER_THREAD_NAME = "workflow-config-watcher";
+    private static final long CONFIG_RELOAD_DEBOUNCE_MILLIS = 200;
+    /**
+     * Kubernetes mounts a ConfigMap file as a symlink through this directory link and updates it by
+     * swapping the link, so the file's own name never shows up in the watch events.
+     */
+    private static final Path CONFIG_MAP_DATA_LINK = Path.of("..data");
+    private static final Pattern TIMEOUT_PATTERN = Pattern.compile("(\\d+)(ms|[smhd])");
+
     private final ObjectMapper objectMapper;
-    private Map<String, JsonNode> stepConfigurations = new HashMap<>();
-    private Map<OnboardingStatus, String> nextStepMappings = new HashMap<>();
-    private JsonNode workflowConfig;
+
+    /**
+     * Current compiled configuration. Replaced as a whole on reload, never modified in place.
+     */
+    private volatile WorkflowDefinition definition = WorkflowDefinition.EMPTY;
+
+    private volatile WatchService configWatchService;
+
+    @Value("${onboarding.workflow.parallel-verification.enabled:false}")
+    private boolean parallelVerificationEnabled;
+
+    @Value("${onboarding.workflow.config.location:}")
+    private String externalConfigLocation;
+
+    @Value("${onboarding.workflow.config.watch:true}")
+    private boolean watchExternalConfig;
 
     @PostConstruct
     public void loadConfiguration() {
+        Path externalConfig = getExternalConfigPath();
+        // Fall back to the bundled configuration until the external file has been provisioned
+        Path source = externalConfig != null && Files.exists(externalConfig) ? externalConfig : null;
         try {
-            ClassPathResource resource = new ClassPathResource("onboarding.json");
-            JsonNode rootNode = objectMapper.readTree(resource.getInputStream());
-            
-            // Load workflow configuration
-            workflowConfig = rootNode.get("workflow");
-            
-            // Load step configurations
-            JsonNode steps = rootNode.get("steps");
-            if (steps != null && steps.isArray()) {
-                for (JsonNode step : steps) {
-                    String stepId = step.get("id").asText();
-                    stepConfigurations.put(stepId, step);
-                }
-            }
-            
-            // Initialize status to next step mappings
-            initializeNextStepMappings();
-            
-            log.info("Loaded workflow configuration with {} steps", stepConfigurations.size());
-            
-        } catch (IOException e) {
+            WorkflowDefinition compiled = readAndValidate(source);
+            definition = compiled;
+
+            log.info("Loaded workflow configuration with {} steps from {}", compiled.getSteps().size(),
+                    source != null ? source : CONFIGURATION_RESOURCE);
+
+        } catch (IOException | IllegalArgumentException e) {
             log.error("Failed to load workflow configuration", e);
             throw new DefaultApiError(
                 HttpStatus.INTERNAL_SERVER_ERROR,
                 ErrorTypes.INTERNAL_SERVER_ERROR.name(),
                 "Failed to load workflow configuration: " + e.getMessage(),
-                Map.of("originalError", e.getMessage())
+                Map.of("originalError", String.valueOf(e.getMessage()))
             );
         }
+
+        if (externalConfig != null && watchExternalConfig) {
+            startConfigWatcher(externalConfig);
+        }
+    }
+
+    /**
+     * Recompile the external configuration file and swap it in.
+     * Readers keep using the previous snapshot until the new one is complete; an invalid file is
+     * rejected and the current snapshot stays in place.
+     * 
+     * @return true if the new configuration was applied
+     */
+    public synchronized boolean reloadConfiguration() {
+        Path externalConfig = getExternalConfigPath();
+        if (externalConfig == null) {
+            log.warn("Workflow configuration reload requested but onboarding.workflow.config.location is not set");
+            return false;
+        }
+
+        try {
+            WorkflowDefinition compiled = readAndValidate(externalConfig);
+            definition = compiled;
+            log.info("Reloaded workflow configuration with {} steps from {}", compiled.getSteps().size(), externalConfig);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Rejected workflow configuration from {}, keeping the current configuration: {}",
+                    externalConfig, e.getMessage());
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void stopConfigWatcher() {
+        WatchService watchService = configWatchService;
+        configWatchService = null;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Failed to close workflow configuration watcher", e);
+            }
+        }
     }
 
     /**
@@ -71,22 +166,8 @@ public class WorkflowConfigurationService {
      * @return Dynamic next step description
      */
     public String getNextStepDescription(OnboardingStatus currentStatus) {
-        String nextStepId = nextStepMappings.get(currentStatus);
-        if (nextStepId == null) {
-            return getDefaultNextStepDescription(currentStatus);
-        }
-        
-        JsonNode stepConfig = stepConfigurations.get(nextStepId);
-        if (stepConfig != null) {
-            // First try to get nextStepDescription, then fall back to description
-            if (stepConfig.has("nextStepDescription")) {
-                return stepConfig.get("nextStepDescription").asText();
-            } else if (stepConfig.has("description")) {
-                return stepConfig.get("description").asText();
-            }
-        }
-        
-        return getDefaultNextStepDescription(currentStatus);
+        StatusDefinition status = definition.getStatuses().get(currentStatus);
+        return status != null ? status.getNextStepDescription() : null;
     }
 
     /**
@@ -96,21 +177,8 @@ public class WorkflowConfigurationService {
      * @return Dynamic current step description
      */
     public String getCurrentStepDescription(OnboardingStatus currentStatus) {
-        return switch (currentStatus) {
-            case INITIATED -> "Starting onboarding process";
-            case INFO_COLLECTED -> "Information collected successfully";
-            case WAITING_FOR_DOCUMENTS -> "Waiting for document upload";
-            case DOCUMENTS_UPLOADED -> "Documents uploaded and processed";
-            case KYC_IN_PROGRESS -> "KYC verification in progress";
-            case KYC_COMPLETED -> "KYC verification completed";
-            case ADDRESS_VERIFICATION_IN_PROGRESS -> "Address verification in progress";
-            case ADDRESS_VERIFICATION_COMPLETED -> "Address verification completed";
-            case ACCOUNT_CREATION_IN_PROGRESS -> "Creating bank account";
-            case ACCOUNT_CREATED -> "Bank account created successfully";
-            case NOTIFICATION_SENT -> "Customer notification sent";
-            case COMPLETED -> "Onboarding completed successfully";
-            case FAILED -> "Onboarding process failed";
-        };
+        StatusDefinition status = definition.getStatuses().get(currentStatus);
+        return status != null ? status.getCurrentStepDescription() : currentStatus.getDescription();
     }
 
     /**
@@ -120,27 +188,66 @@ public class WorkflowConfigurationService {
      * @return Next step ID
      */
     public String getNextStepId(OnboardingStatus currentStatus) {
-        return nextStepMappings.get(currentStatus);
+        StatusDefinition status = definition.getStatuses().get(currentStatus);
+        return status != null ? status.getNextStepId() : null;
     }
 
     /**
      * Get step configuration by ID.
      * 
      * @param stepId The step ID
-     * @return Step configuration as JsonNode
+     * @return Step definition, or null if the step is not configured
      */
-    public JsonNode getStepConfiguration(String stepId) {
-        return stepConfigurations.get(stepId);
+    public StepDefinition getStepConfiguration(String stepId) {
+        return stepId != null ? definition.getSteps().get(stepId) : null;
+    }
+
+    /**
+     * Get the error handling metadata of a step.
+     * 
+     * @param stepId The step ID
+     * @return Error handling metadata, or null if the step has none
+     */
+    public ErrorHandling getErrorHandling(String stepId) {
+        StepDefinition step = getStepConfiguration(stepId);
+        return step != null ? step.getErrorHandling() : null;
+    }
+
+    /**
+     * Get the timeout of a step.
+     * 
+     * @param stepId The step ID
+     * @return Step timeout, or null if the step has none
+     */
+    public Duration getStepTimeout(String stepId) {
+        StepDefinition step = getStepConfiguration(stepId);
+        return step != null ? step.getTimeout() : null;
+    }
+
+    /**
+     * Get the rate limit of the provider called by a step.
+     * 
+     * @param stepId The step ID
+     * @return Rate limit, or null if the step's calls are not rate limited
+     */
+    public RateLimit getRateLimit(String stepId) {
+        StepDefinition step = getStepConfiguration(stepId);
+        return step != null ? step.getRateLimit() : null;
     }
 
     /**
      * Get the process definition key from configuration.
+     * Returns the parallel-verification variant when it is enabled.
      * 
      * @return Process definition key
      */
     public String getProcessDefinitionKey() {
-        if (workflowConfig != null && workflowConfig.has("processDefinitionKey")) {
-            return workflowConfig.get("processDefinitionKey").asText();
+        WorkflowDefinition current = definition;
+        if (parallelVerificationEnabled && current.getParallelVerificationProcessDefinitionKey() != null) {
+            return current.getParallelVerificationProcessDefinitionKey();
+        }
+        if (current.getProcessDefinitionKey() != null) {
+            return current.getProcessDefinitionKey();
         }
         return "onboarding-process"; // fallback
     }
@@ -152,11 +259,8 @@ public class WorkflowConfigurationService {
      * @return Message name for the step
      */
     public String getMessageName(String stepId) {
-        JsonNode stepConfig = stepConfigurations.get(stepId);
-        if (stepConfig != null && stepConfig.has("messageName")) {
-            return stepConfig.get("messageName").asText();
-        }
-        return null;
+        StepDefinition step = getStepConfiguration(stepId);
+        return step != null ? step.getMessageName() : null;
     }
 
     /**
@@ -166,22 +270,8 @@ public class WorkflowConfigurationService {
      * @return Status message
      */
     public String getStatusMessage(OnboardingStatus status) {
-        return switch (status) {
-            case INITIATED -> "Starting onboarding process";
-            case INFO_COLLECTED -> "Information collected successfully";
-            case WAITING_FOR_DOCUMENTS -> "Waiting for document upload";
-            case DOCUMENTS_UPLOADED -> "Documents uploaded and processed";
-
-            case KYC_IN_PROGRESS -> "KYC verification in progress";
-            case KYC_COMPLETED -> "KYC verification completed";
-            case ADDRESS_VERIFICATION_IN_PROGRESS -> "Address verification in progress";
-            case ADDRESS_VERIFICATION_COMPLETED -> "Address verification completed";
-            case ACCOUNT_CREATION_IN_PROGRESS -> "Creating bank account";
-            case ACCOUNT_CREATED -> "Bank account created successfully";
-            case NOTIFICATION_SENT -> "Customer notification sent";
-            case COMPLETED -> "Onboarding completed successfully";
-            case FAILED -> "Onboarding process failed";
-        };
+        StatusDefinition statusDefinition = definition.getStatuses().get(status);
+        return statusDefinition != null ? statusDefinition.getMessage() : status.getDescription();
     }
 
     /**
@@ -190,49 +280,294 @@ public class WorkflowConfigurationService {
      * @return Success message for process start
      */
     public String getProcessStartSuccessMessage() {
-        return "Onboarding process started successfully";
+        String message = definition.getProcessStartedMessage();
+        return message != null ? message : "Onboarding process started successfully";
     }
 
     /**
-     * Initialize the mapping from status to next step.
+     * Compile the raw configuration into an immutable workflow definition.
+     * 
+     * @param rootNode The parsed onboarding.json
+     * @return Compiled workflow definition
+     * @throws IllegalArgumentException if the configuration is incomplete or inconsistent
      */
-    private void initializeNextStepMappings() {
-        nextStepMappings.put(OnboardingStatus.INITIATED, "collect-info");
-        nextStepMappings.put(OnboardingStatus.INFO_COLLECTED, "upload-documents");
-        nextStepMappings.put(OnboardingStatus.WAITING_FOR_DOCUMENTS, "upload-documents");
-        nextStepMappings.put(OnboardingStatus.DOCUMENTS_UPLOADED, "kyc-verification");
-        nextStepMappings.put(OnboardingStatus.KYC_IN_PROGRESS, "kyc-verification");
-        nextStepMappings.put(OnboardingStatus.KYC_COMPLETED, "address-verification");
-        nextStepMappings.put(OnboardingStatus.ADDRESS_VERIFICATION_IN_PROGRESS, "address-verification");
-        nextStepMappings.put(OnboardingStatus.ADDRESS_VERIFICATION_COMPLETED, "account-creation");
-        nextStepMappings.put(OnboardingStatus.ACCOUNT_CREATION_IN_PROGRESS, "account-creation");
-        nextStepMappings.put(OnboardingStatus.ACCOUNT_CREATED, "notify-customer");
-        nextStepMappings.put(OnboardingStatus.NOTIFICATION_SENT, "complete");
-        nextStepMappings.put(OnboardingStatus.COMPLETED, null);
-        nextStepMappings.put(OnboardingStatus.FAILED, null);
+    WorkflowDefinition compile(JsonNode rootNode) {
+        JsonNode workflowConfig = rootNode.path("workflow");
+        String processDefinitionKey = text(workflowConfig, "processDefinitionKey");
+        if (processDefinitionKey == null) {
+            throw new IllegalArgumentException("workflow.processDefinitionKey is required");
+        }
+
+        Map<String, StepDefinition> steps = new LinkedHashMap<>();
+        for (JsonNode step : rootNode.path("steps")) {
+            StepDefinition stepDefinition = compileStep(step);
+            if (steps.put(stepDefinition.getId(), stepDefinition) != null) {
+                throw new IllegalArgumentException("Duplicate step id: " + stepDefinition.getId());
+            }
+        }
+
+        EnumMap<OnboardingStatus, StatusDefinition> statuses = new EnumMap<>(OnboardingStatus.class);
+        for (JsonNode status : rootNode.path("statuses")) {
+            StatusDefinition statusDefinition = compileStatus(status, steps);
+            if (statuses.put(statusDefinition.getStatus(), statusDefinition) != null) {
+                throw new IllegalArgumentException("Duplicate status entry: " + statusDefinition.getStatus());
+            }
+        }
+        Set<OnboardingStatus> missing = EnumSet.allOf(OnboardingStatus.class);
+        missing.removeAll(statuses.keySet());
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Missing status entries: " + missing);
+        }
+
+        return WorkflowDefinition.builder()
+                .processDefinitionKey(processDefinitionKey)
+                .parallelVerificationProcessDefinitionKey(text(workflowConfig, "parallelVerificationProcessDefinitionKey"))
+                .processStartedMessage(text(workflowConfig, "processStartedMessage"))
+                .steps(Collections.unmodifiableMap(steps))
+                .statuses(Collections.unmodifiableMap(statuses))
+                .build();
+    }
+
+    private StepDefinition compileStep(JsonNode step) {
+        String id = text(step, "id");
+        if (id == null) {
+            throw new IllegalArgumentException("Step without id: " + step);
+        }
+
+        ErrorHandling errorHandling = null;
+        JsonNode errorHandlingNode = step.path("errorHandling");
+        if (errorHandlingNode.isObject()) {
+            String errorType = text(errorHandlingNode, "errorType");
+            if (errorType == null) {
+                throw new IllegalArgumentException("errorHandling.errorType is required for step " + id);
+            }
+            errorHandling = ErrorHandling.builder()
+                    .errorType(errorType)
+                    .errorCode(text(errorHandlingNode, "errorCode"))
+                    .defaultMessage(text(errorHandlingNode, "defaultMessage"))
+                    .retryable(errorHandlingNode.path("retryable").asBoolean(false))
+                    .maxRetries(errorHandlingNode.path("maxRetries").asInt(0))
+                    .notificationTemplate(text(errorHandlingNode, "notificationTemplate"))
+                    .build();
+        }
+
+        return StepDefinition.builder()
+                .id(id)
+                .name(text(step, "name"))
+                .description(text(step, "description"))
+                .nextStepDescription(text(step, "nextStepDescription"))
+                .delegateBean(text(step, "delegateBean"))
+                .messageName(text(step, "messageName"))
+                .order(step.path("order").asInt(0))
+                .mandatory(step.path("mandatory").asBoolean(false))
+                .timeout(parseTimeout(id, text(step, "timeout")))
+                .errorHandling(errorHandling)
+                .rateLimit(compileRateLimit(id, step.path("rateLimit")))
+                .build();
+    }
+
+    private RateLimit compileRateLimit(String stepId, JsonNode rateLimitNode) {
+        if (!rateLimitNode.isObject()) {
+            return null;
+        }
+        double permitsPerSecond = rateLimitNode.path("permitsPerSecond").asDouble(0);
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("rateLimit.permitsPerSecond must be positive for step " + stepId);
+        }
+        int burst = rateLimitNode.path("burst").asInt(1);
+        if (burst < 1) {
+            throw new IllegalArgumentException("rateLimit.burst must be at least 1 for step " + stepId);
+        }
+        Duration maxWait = parseTimeout(stepId, text(rateLimitNode, "maxWait"));
+        Duration deferBy = parseTimeout(stepId, text(rateLimitNode, "deferBy"));
+        return RateLimit.builder()
+                .permitsPerSecond(permitsPerSecond)
+                .burst(burst)
+                .maxWait(maxWait != null ? maxWait : Duration.ZERO)
+                .deferBy(deferBy != null ? deferBy : Duration.ofSeconds(30))
+                .build();
+    }
+
+    private StatusDefinition compileStatus(JsonNode status, Map<String, StepDefinition> steps) {
+        String name = text(status, "status");
+        if (name == null) {
+            throw new IllegalArgumentException("Status entry without status: " + status);
+        }
+        OnboardingStatus onboardingStatus = OnboardingStatus.valueOf(name);
+
+        String description = text(status, "description");
+        if (description == null) {
+            throw new IllegalArgumentException("description is required for status " + name);
+        }
+
+        // The status' own text wins, otherwise describe the next step from its step entry
+        String nextStepId = text(status, "nextStep");
+        String nextStepDescription = text(status, "nextStepDescription");
+        StepDefinition nextStep = nextStepId != null ? steps.get(nextStepId) : null;
+        if (nextStepDescription == null && nextStep != null) {
+            nextStepDescription = nextStep.getNextStepDescription() != null
+                    ? nextStep.getNextStepDescription()
+                    : nextStep.getDescription();
+        }
+        if (nextStepDescription == null) {
+            throw new IllegalArgumentException("No next step description for status " + name
+                    + " (nextStep: " + nextStepId + ")");
+        }
+
+        String message = text(status, "message");
+        return StatusDefinition.builder()
+                .status(onboardingStatus)
+                .message(message != null ? message : description)
+                .currentStepDescription(description)
+                .nextStepId(nextStepId)
+                .nextStepDescription(nextStepDescription)
+                .build();
     }
 
     /**
-     * Get default next step description when configuration is not available.
+     * Check that the configured processes exist and reference the configured delegates and messages.
      * 
-     * @param currentStatus The current onboarding status
-     * @return Default description
-     */
-    private String getDefaultNextStepDescription(OnboardingStatus currentStatus) {
-        return switch (currentStatus) {
-            case INITIATED -> "Please provide your personal information";
-            case INFO_COLLECTED -> "Please upload your passport and photo documents";
-            case WAITING_FOR_DOCUMENTS -> "Please upload your passport and photo documents";
-            case DOCUMENTS_UPLOADED -> "Documents processed, verification in progress";
-            case KYC_IN_PROGRESS -> "KYC verification in progress";
-            case KYC_COMPLETED -> "Address verification in progress";
-            case ADDRESS_VERIFICATION_IN_PROGRESS -> "Address verification in progress";
-            case ADDRESS_VERIFICATION_COMPLETED -> "Creating your bank account";
-            case ACCOUNT_CREATION_IN_PROGRESS -> "Creating your bank account";
-            case ACCOUNT_CREATED -> "Sending account details to you";
-            case NOTIFICATION_SENT -> "Onboarding process completed";
-            case COMPLETED -> "Onboarding completed successfully";
-            case FAILED -> "Please contact support for assistance";
+     * @param workflowDefinition The compiled workflow definition
+     * @throws IOException if the BPMN resources cannot be read
+     * @throws IllegalArgumentException if the configuration does not match the BPMN models
+     */
+    void validateAgainstBpmn(WorkflowDefinition workflowDefinition) throws IOException {
+        Map<String, BpmnModelInstance> modelsByProcessKey = new LinkedHashMap<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(BPMN_RESOURCE_PATTERN)) {
+            try (InputStream inputStream = resource.getInputStream()) {
+                BpmnModelInstance model = Bpmn.readModelFromStream(inputStream);
+                for (Process process : model.getModelElementsByType(Process.class)) {
+                    modelsByProcessKey.put(process.getId(), model);
+                }
+            }
+        }
+
+        List<String> processKeys = new ArrayList<>();
+        processKeys.add(workflowDefinition.getProcessDefinitionKey());
+        if (workflowDefinition.getParallelVerificationProcessDefinitionKey() != null) {
+            processKeys.add(workflowDefinition.getParallelVerificationProcessDefinitionKey());
+        }
+
+        List<String> problems = new ArrayList<>();
+        for (String processKey : processKeys) {
+            BpmnModelInstance model = modelsByProcessKey.get(processKey);
+            if (model == null) {
+                problems.add("process '" + processKey + "' is not deployed");
+                continue;
+            }
+
+            Set<String> delegateExpressions = model.getModelElementsByType(ServiceTask.class).stream()
+                    .map(ServiceTask::getCamundaDelegateExpression)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<String> messageNames = model.getModelElementsByType(Message.class).stream()
+                    .map(Message::getName)
+                    .collect(Collectors.toSet());
+
+            for (StepDefinition step : workflowDefinition.getSteps().values()) {
+                if (step.getDelegateBean() != null && !delegateExpressions.contains("${" + step.getDelegateBean() + "}")) {
+                    problems.add("step '" + step.getId() + "' delegate '" + step.getDelegateBean()
+                            + "' is not used in process '" + processKey + "'");
+                }
+                if (step.getMessageName() != null && !messageNames.contains(step.getMessageName())) {
+                    problems.add("step '" + step.getId() + "' message '" + step.getMessageName()
+                            + "' is not defined in process '" + processKey + "'");
+                }
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException("Workflow configuration does not match BPMN: " + String.join("; ", problems));
+        }
+    }
+
+    /**
+     * Compile and validate the given file, or the bundled onboarding.json when the path is null.
+     */
+    private WorkflowDefinition readAndValidate(Path externalConfig) throws IOException {
+        try (InputStream inputStream = externalConfig != null
+                ? Files.newInputStream(externalConfig)
+                : new ClassPathResource(CONFIGURATION_RESOURCE).getInputStream()) {
+            WorkflowDefinition compiled = compile(objectMapper.readTree(inputStream));
+            validateAgainstBpmn(compiled);
+            return compiled;
+        }
+    }
+
+    private Path getExternalConfigPath() {
+        return externalConfigLocation == null || externalConfigLocation.isBlank()
+                ? null
+                : Path.of(externalConfigLocation).toAbsolutePath();
+    }
+
+    /**
+     * Watch the directory of the external configuration and reload whenever the file, or the
+     * ConfigMap data link it points through, changes.
+     */
+    private void startConfigWatcher(Path externalConfig) {
+        try {
+            WatchService watchService = FileSystems.getDefault().newWatchService();
+            externalConfig.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            configWatchService = watchService;
+
+            Thread watcher = new Thread(() -> watchConfig(watchService, externalConfig), CONFIG_WATCHER_THREAD_NAME);
+            watcher.setDaemon(true);
+            watcher.start();
+            log.info("Watching {} for workflow configuration changes", externalConfig);
+        } catch (IOException e) {
+            log.error("Unable to watch workflow configuration {}, hot reload disabled", externalConfig, e);
+        }
+    }
+
+    private void watchConfig(WatchService watchService, Path externalConfig) {
+        Path fileName = externalConfig.getFileName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                // Editors and deploy tools often write a file in several steps - let them finish
+                Thread.sleep(CONFIG_RELOAD_DEBOUNCE_MILLIS);
+                boolean changed = key.pollEvents().stream()
+                        .anyMatch(event -> triggersReload(event.context(), fileName));
+                key.reset();
+                if (changed) {
+                    reloadConfiguration();
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Workflow configuration watcher stopped");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Whether a change to the given directory entry may have changed the configuration file.
+     */
+    static boolean triggersReload(Object changed, Path fileName) {
+        return fileName.equals(changed) || CONFIG_MAP_DATA_LINK.equals(changed);
+    }
+
+    private static Duration parseTimeout(String stepId, String timeout) {
+        if (timeout == null) {
+            return null;
+        }
+        Matcher matcher = TIMEOUT_PATTERN.matcher(timeout.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid timeout '" + timeout + "' for step " + stepId);
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        return switch (matcher.group(2)) {
+            case "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            default -> Duration.ofDays(amount);
         };
     }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
 }
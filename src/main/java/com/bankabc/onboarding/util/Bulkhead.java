@@ -0,0 +1,109 @@
+package com.bankabc.onboarding.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of asynchronous calls in flight to one dependency.
+ * <p>
+ * Up to {@code maxConcurrent} calls run at once; further calls wait in a queue of at most
+ * {@code maxQueued} and start in order as running calls finish. A call whose result the caller
+ * completes first, e.g. on a deadline, leaves the queue, or is cancelled if it already started,
+ * so abandoned calls never hold a slot.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+
+    private final Deque<Pending<?>> queue = new ArrayDeque<>();
+    private int inFlight;
+
+    public Bulkhead(int maxConcurrent, int maxQueued) {
+        if (maxConcurrent < 1 || maxQueued < 0) {
+            throw new IllegalArgumentException("Bulkhead needs maxConcurrent >= 1 and maxQueued >= 0");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Starts the call now if a slot is free, otherwise queues it.
+     *
+     * @param call starts the call and returns its result
+     * @param <T> the result type
+     * @return the call's result
+     * @throws RejectedExecutionException if all slots are taken and the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        Pending<T> pending = new Pending<>(call, new CompletableFuture<>());
+        synchronized (this) {
+            if (inFlight >= maxConcurrent) {
+                if (queue.size() >= maxQueued) {
+                    throw new RejectedExecutionException("Bulkhead full: " + inFlight + " in flight, " + queue.size() + " queued");
+                }
+                queue.addLast(pending);
+                pending.result().whenComplete((value, error) -> abandon(pending));
+                return pending.result();
+            }
+            inFlight++;
+        }
+        start(pending);
+        return pending.result();
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    private <T> void start(Pending<T> pending) {
+        CompletableFuture<T> call;
+        try {
+            call = pending.call().get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<T> started = call;
+        started.whenComplete((value, error) -> {
+            release();
+            if (error != null) {
+                pending.result().completeExceptionally(error);
+            } else {
+                pending.result().complete(value);
+            }
+        });
+        // The caller gave up: stop the call so its slot is released
+        pending.result().whenComplete((value, error) -> started.cancel(false));
+    }
+
+    /**
+     * Hands the slot of a finished call to the next queued call, or frees it.
+     */
+    private void release() {
+        Pending<?> next;
+        synchronized (this) {
+            do {
+                next = queue.pollFirst();
+            } while (next != null && next.result().isDone());
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+        }
+        start(next);
+    }
+
+    private synchronized void abandon(Pending<?> pending) {
+        queue.remove(pending);
+    }
+
+    private record Pending<T>(Supplier<CompletableFuture<T>> call, CompletableFuture<T> result) {
+    }
+}
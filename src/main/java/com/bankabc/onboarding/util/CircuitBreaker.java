@@ -0,0 +1,160 @@
+package com.bankabc.onboarding.util;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker.
+ * <p>
+ * CLOSED: calls pass and their outcomes fill a sliding window of the last {@code windowSize}
+ * calls. Once the window holds at least {@code minimumCalls} and the share of failures reaches
+ * {@code failureRateThreshold}, the breaker opens.
+ * <p>
+ * OPEN: calls are refused until {@code openDuration} has passed, then the breaker turns
+ * HALF_OPEN and lets {@code halfOpenCalls} trial calls through. If all of them succeed it closes
+ * with an empty window, a single failure opens it again.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Outcome of a permitted call.
+     */
+    public enum Outcome {
+        SUCCESS,
+        FAILURE,
+        /**
+         * The call did not reach the dependency and says nothing about its health
+         */
+        IGNORED
+    }
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoTime;
+
+    private final boolean[] window;
+    private int windowCount;
+    private int windowNext;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openUntil;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(double failureRateThreshold, int windowSize, int minimumCalls,
+                          Duration openDuration, int halfOpenCalls) {
+        this(failureRateThreshold, windowSize, minimumCalls, openDuration, halfOpenCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(double failureRateThreshold, int windowSize, int minimumCalls,
+                   Duration openDuration, int halfOpenCalls, LongSupplier nanoTime) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Asks to make a call. Every permitted call must report its outcome with {@link #record}.
+     *
+     * @return true if the call may go ahead, false if the breaker refuses it
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoTime.getAsLong() - openUntil < 0) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = 0;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenPermits++;
+        }
+        return true;
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     */
+    public synchronized void record(Outcome outcome) {
+        switch (state) {
+            case CLOSED -> {
+                if (outcome != Outcome.IGNORED) {
+                    addToWindow(outcome == Outcome.FAILURE);
+                    if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+                        open();
+                    }
+                }
+            }
+            case HALF_OPEN -> {
+                if (outcome == Outcome.FAILURE) {
+                    open();
+                } else if (outcome == Outcome.IGNORED) {
+                    halfOpenPermits--;
+                } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                    close();
+                }
+            }
+            case OPEN -> {
+                // Late outcome of a call permitted before the breaker opened
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && nanoTime.getAsLong() - openUntil >= 0) {
+            // Reported as half-open from the moment trial calls are allowed
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * Share of failures in the current window, 0 while it is empty.
+     */
+    public synchronized double getFailureRate() {
+        return windowCount == 0 ? 0 : (double) windowFailures / windowCount;
+    }
+
+    private void addToWindow(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowNext] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openUntil = nanoTime.getAsLong() + openNanos;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowCount = 0;
+        windowNext = 0;
+        windowFailures = 0;
+    }
+}
@@ -3,7 +3,7 @@ package com.bankabc.onboarding.util;
 import com.bankabc.onboarding.entity.Onboarding;
 import com.bankabc.onboarding.exception.DefaultApiError;
 import com.bankabc.onboarding.exception.ErrorTypes;
-import com.bankabc.onboarding.service.OnboardingService;
+import com.bankabc.onboarding.service.OnboardingUnitOfWork;
 import lombok.RequiredArgsConstructor;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.springframework.http.HttpStatus;
@@ -11,6 +11,8 @@ import org.springframework.stereotype.Component;
 
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Utility class for common delegate operations.
@@ -20,7 +22,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public final class DelegateUtils {
 
-    private final OnboardingService onboardingService;
+    private final OnboardingUnitOfWork onboardingUnitOfWork;
 
     /**
      * Retrieves and validates the onboarding ID from process variables.
@@ -47,6 +49,7 @@ public final class DelegateUtils {
 
     /**
      * Retrieves the onboarding entity by ID with validation.
+     * The entity is loaded once per job transaction and shared through OnboardingUnitOfWork.
      * 
      * @param execution the delegate execution context
      * @return the onboarding entity
@@ -55,13 +58,7 @@ public final class DelegateUtils {
     public Onboarding getOnboarding(DelegateExecution execution) {
         UUID onboardingId = getOnboardingId(execution);
         
-        return onboardingService.findById(onboardingId)
-            .orElseThrow(() -> new DefaultApiError(
-                HttpStatus.NOT_FOUND,
-                ErrorTypes.ONBOARDING_NOT_FOUND.name(),
-                "Onboarding not found: " + onboardingId,
-                Map.of("onboardingId", onboardingId.toString())
-            ));
+        return onboardingUnitOfWork.load(onboardingId);
     }
 
     /**
@@ -73,12 +70,27 @@ public final class DelegateUtils {
      * @throws DefaultApiError if onboarding entity doesn't exist
      */
     public Onboarding getOnboarding(DelegateExecution execution, UUID onboardingId) {
-        return onboardingService.findById(onboardingId)
-            .orElseThrow(() -> new DefaultApiError(
-                HttpStatus.NOT_FOUND,
-                ErrorTypes.ONBOARDING_NOT_FOUND.name(),
-                "Onboarding not found: " + onboardingId,
-                Map.of("onboardingId", onboardingId.toString())
-            ));
+        return onboardingUnitOfWork.load(onboardingId);
+    }
+
+    /**
+     * Waits for an asynchronous service call from a delegate.
+     * On a virtual-thread job executor the wait parks the job's virtual thread and frees its
+     * carrier, so the number of verifications in flight is not bounded by platform threads.
+     * 
+     * @param result the pending result
+     * @param <T> the result type
+     * @return the result
+     * @throws Exception the exception the call failed with
+     */
+    public static <T> T await(CompletableFuture<T> result) throws Exception {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 }
@@ -3,17 +3,31 @@ package com.bankabc.onboarding.util;
 import com.bankabc.onboarding.model.Email;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.output.StringBuilderWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Component;
 import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for building email content using Freemarker templates.
  * Supports header/footer templates and Spring's FreeMarkerTemplateUtils.
+ * <p>
+ * Templates are parsed once and kept in memory; all templates under templates/email are loaded
+ * at startup. Header and footer only vary in the bank constants and a few per-email slots
+ * (subject, current date and time), so they are rendered once per bank configuration and only
+ * the slots are filled in per email. Each thread renders into its own reusable buffer.
  */
 @Slf4j
 @Component
@@ -22,6 +36,14 @@ public final class EmailUtil {
     public static final String HEADER_TEMPLATE = "Header.ftl";
     public static final String FOOTER_TEMPLATE = "Footer.ftl";
     public static final String THREAD_NAME_PREFIX = "Email-async-";
+
+    private static final String TEMPLATE_RESOURCE_PATTERN = "classpath*:/templates/email/*.ftl";
+    private static final String[] HEADER_SLOTS = {"subject"};
+    private static final String[] FOOTER_SLOTS = {"currentDate", "currentTime"};
+    /** Buffers that grew beyond this are dropped after use instead of being kept by the thread. */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+    private static final ThreadLocal<StringBuilderWriter> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilderWriter(16 * 1024));
     
     @Value("${bank.website.url:https://www.bankabc.com}")
     private String bankWebsiteUrl;
@@ -34,6 +56,28 @@ public final class EmailUtil {
     
     private final Configuration freemarkerConfig;
 
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    private volatile HeaderFooter headerFooter;
+
+    /**
+     * Parses all email templates and pre-renders header and footer so the first email does not pay for it.
+     */
+    @PostConstruct
+    public void warmUp() {
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(TEMPLATE_RESOURCE_PATTERN)) {
+                if (resource.getFilename() != null) {
+                    getTemplate(resource.getFilename());
+                }
+            }
+            getHeaderFooter();
+            log.info("Email templates loaded: {}", templates.keySet());
+        } catch (Exception e) {
+            log.warn("Could not preload email templates, they are loaded on first use: {}", e.getMessage());
+        }
+    }
+
     /**
      * Builds email body content using Freemarker template or plain text.
      * 
@@ -74,9 +118,8 @@ public final class EmailUtil {
      * @throws Exception if template processing fails
      */
     private String buildEmailBodyFromTemplate(Email email) throws Exception {
-        log.info("Building template - Starts: {}", email.getTemplateName());
+        log.debug("Building template - Starts: {}", email.getTemplateName());
         
-        StringBuilder sb = new StringBuilder();
         String templateName = email.getTemplateName();
         Map<String, Object> templateModel = email.getTemplateVariables();
         
@@ -88,22 +131,66 @@ public final class EmailUtil {
         // Add common template variables
         addCommonTemplateVariables(templateModel, templateName);
         
-        // Process main template
-        Template template = freemarkerConfig.getTemplate(templateName);
-        String mainContent = FreeMarkerTemplateUtils.processTemplateIntoString(template, templateModel);
-        
-        // Check if we should use header/footer templates
-        if (shouldUseHeaderFooter(templateName)) {
-            String[] headerFooter = buildHeaderFooterTemplate(templateModel);
-            sb.append(headerFooter[0]); // Header
-            sb.append(mainContent);
-            sb.append(headerFooter[1]); // Footer
-        } else {
-            sb.append(mainContent);
+        Template template = getTemplate(templateName);
+        StringBuilderWriter writer = BUFFER.get();
+        StringBuilder sb = writer.getBuilder();
+        sb.setLength(0);
+        try {
+            // Check if we should use header/footer templates
+            if (shouldUseHeaderFooter(templateName)) {
+                HeaderFooter fragments = getHeaderFooter();
+                fragments.header().appendTo(sb, templateModel);
+                template.process(templateModel, writer);
+                fragments.footer().appendTo(sb, templateModel);
+            } else {
+                template.process(templateModel, writer);
+            }
+            log.debug("Building template - Ends: {}", templateName);
+            return sb.toString();
+        } finally {
+            if (sb.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the parsed template, loading it on first use.
+     */
+    private Template getTemplate(String templateName) throws Exception {
+        Template template = templates.get(templateName);
+        if (template == null) {
+            template = freemarkerConfig.getTemplate(templateName);
+            if (template != null) {
+                templates.put(templateName, template);
+            }
+        }
+        return template;
+    }
+
+    /**
+     * Returns header and footer rendered for the current bank constants, rendering them again if those changed.
+     */
+    private HeaderFooter getHeaderFooter() {
+        HeaderFooter current = headerFooter;
+        if (current == null || !current.matches(bankWebsiteUrl, supportEmail, bankPhoneNumber)) {
+            Map<String, Object> constants = new HashMap<>();
+            addBankVariables(constants);
+            current = new HeaderFooter(bankWebsiteUrl, supportEmail, bankPhoneNumber,
+                    renderFragment(HEADER_TEMPLATE, constants, HEADER_SLOTS),
+                    renderFragment(FOOTER_TEMPLATE, constants, FOOTER_SLOTS));
+            headerFooter = current;
+        }
+        return current;
+    }
+
+    private Fragment renderFragment(String templateName, Map<String, Object> constants, String[] slots) {
+        try {
+            return Fragment.render(getTemplate(templateName), constants, slots);
+        } catch (Exception e) {
+            log.warn("Template not found or error processing: {}", templateName, e);
+            return Fragment.EMPTY;
         }
-        
-        log.info("Building template - Ends: {}", templateName);
-        return sb.toString();
     }
 
     /**
@@ -215,7 +302,22 @@ public final class EmailUtil {
      * @param templateName the template name
      */
     private void addCommonTemplateVariables(Map<String, Object> templateModel, String templateName) {
-        // Add bank information
+        addBankVariables(templateModel);
+        
+        // Add current timestamp
+        templateModel.put("currentDate", java.time.LocalDate.now().toString());
+        templateModel.put("currentTime", java.time.LocalTime.now().toString());
+        
+        // Template-specific variables
+        checkTemplateSpecificVariables(templateName, templateModel);
+    }
+
+    /**
+     * Adds the bank information shared by all templates.
+     * 
+     * @param templateModel the template variables map
+     */
+    private void addBankVariables(Map<String, Object> templateModel) {
         if (bankWebsiteUrl != null) {
             templateModel.put("bankWebsiteUrl", bankWebsiteUrl);
         }
@@ -225,13 +327,6 @@ public final class EmailUtil {
         if (bankPhoneNumber != null) {
             templateModel.put("bankPhoneNumber", bankPhoneNumber);
         }
-        
-        // Add current timestamp
-        templateModel.put("currentDate", java.time.LocalDate.now().toString());
-        templateModel.put("currentTime", java.time.LocalTime.now().toString());
-        
-        // Template-specific variables
-        checkTemplateSpecificVariables(templateName, templateModel);
     }
 
     /**
@@ -260,4 +355,60 @@ public final class EmailUtil {
     public EmailUtil(Configuration freemarkerConfig) {
         this.freemarkerConfig = freemarkerConfig;
     }
+
+    /**
+     * Header and footer fragments together with the bank constants they were rendered with.
+     */
+    private record HeaderFooter(String bankWebsiteUrl, String supportEmail, String bankPhoneNumber,
+                                Fragment header, Fragment footer) {
+
+        boolean matches(String bankWebsiteUrl, String supportEmail, String bankPhoneNumber) {
+            return Objects.equals(this.bankWebsiteUrl, bankWebsiteUrl)
+                    && Objects.equals(this.supportEmail, supportEmail)
+                    && Objects.equals(this.bankPhoneNumber, bankPhoneNumber);
+        }
+    }
+
+    /**
+     * Pre-rendered template output split around its per-email slots: parts[0] slot[0] parts[1] ...
+     * Rendered with a marker in place of each slot variable, so a slot must only be printed by the
+     * template, never tested or transformed.
+     */
+    private record Fragment(String[] parts, String[] slots) {
+
+        private static final char MARKER = '\u0000';
+        private static final Fragment EMPTY = new Fragment(new String[]{""}, new String[0]);
+
+        static Fragment render(Template template, Map<String, Object> constants, String[] slots) throws Exception {
+            Map<String, Object> model = new HashMap<>(constants);
+            for (String slot : slots) {
+                model.put(slot, MARKER + slot + MARKER);
+            }
+            String rendered = FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
+
+            List<String> parts = new ArrayList<>();
+            List<String> slotOrder = new ArrayList<>();
+            int from = 0;
+            int start;
+            while ((start = rendered.indexOf(MARKER, from)) >= 0) {
+                int end = rendered.indexOf(MARKER, start + 1);
+                parts.add(rendered.substring(from, start));
+                slotOrder.add(rendered.substring(start + 1, end));
+                from = end + 1;
+            }
+            parts.add(rendered.substring(from));
+            return new Fragment(parts.toArray(String[]::new), slotOrder.toArray(String[]::new));
+        }
+
+        void appendTo(StringBuilder sb, Map<String, Object> model) {
+            sb.append(parts[0]);
+            for (int i = 0; i < slots.length; i++) {
+                Object value = model.get(slots[i]);
+                if (value != null) {
+                    sb.append(value);
+                }
+                sb.append(parts[i + 1]);
+            }
+        }
+    }
 }
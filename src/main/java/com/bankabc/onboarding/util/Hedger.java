@@ -0,0 +1,190 @@
+package com.bankabc.onboarding.util;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hedged requests against a dependency with a long latency tail.
+ * <p>
+ * {@link #call} starts the request and, if it has not answered after the hedge delay, starts a
+ * duplicate and completes with whichever answers first; the other is cancelled. The hedge delay is
+ * the {@code percentile} of the latencies of the last {@code windowSize} answered calls, at least
+ * {@code minDelay}; until {@link #MINIMUM_SAMPLES} latencies are known no hedges are sent. A call's
+ * latency runs from the start of its original attempt to the first answer, so a hedge that wins
+ * is counted with the delay before it was sent and the window does not drift towards
+ * {@code minDelay}.
+ * <p>
+ * Hedges are limited to {@code budget} extra requests per call (0.05 = 5% extra load): every call
+ * earns {@code budget} credits, every hedge spends one, and unspent credits are capped so a quiet
+ * period does not build up a burst of hedges. A hedge that is due without a credit is skipped and
+ * counted as throttled.
+ */
+public class Hedger {
+
+    /** Latencies needed before the hedge delay is trusted. */
+    public static final int MINIMUM_SAMPLES = 20;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final double budget;
+    private final double maxCredits;
+    private final ScheduledExecutorService timer;
+
+    private final long[] latencies;
+    private int latencyCount;
+    private int latencyNext;
+    private long hedgeDelayNanos = -1;
+    private double credits;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedgesSent = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    private final LongAdder hedgesThrottled = new LongAdder();
+
+    public Hedger(double percentile, int windowSize, Duration minDelay, double budget, ScheduledExecutorService timer) {
+        this.percentile = Math.min(1.0, Math.max(0.0, percentile));
+        this.latencies = new long[Math.max(MINIMUM_SAMPLES, windowSize)];
+        this.minDelayNanos = minDelay.toNanos();
+        this.budget = Math.max(0.0, budget);
+        this.maxCredits = Math.max(1.0, this.budget * latencies.length);
+        this.timer = timer;
+    }
+
+    /**
+     * Makes a call, hedging it if it is slow and the budget allows.
+     *
+     * @param attempt starts one attempt; called a second time for the hedge
+     * @param <T> the result type
+     * @return the first answer of either attempt; fails only if every attempt that was started
+     *         failed. Completing or cancelling it cancels the attempts still running.
+     */
+    public <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> attempt) {
+        calls.increment();
+        long delay;
+        synchronized (this) {
+            credits = Math.min(maxCredits, credits + budget);
+            delay = hedgeDelayNanos;
+        }
+
+        long callStart = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger(1);
+        CompletableFuture<T> primary = start(attempt, result, running, callStart, false);
+        if (delay < 0 || result.isDone()) {
+            return result;
+        }
+
+        AtomicReference<CompletableFuture<T>> hedge = new AtomicReference<>();
+        ScheduledFuture<?> hedgeTimer = timer.schedule(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            if (!tryAcquireCredit()) {
+                hedgesThrottled.increment();
+                return;
+            }
+            // The primary may fail between the check above and here, which already failed the call
+            if (running.getAndUpdate(count -> count == 0 ? 0 : count + 1) == 0) {
+                return;
+            }
+            hedgesSent.increment();
+            hedge.set(start(attempt, result, running, callStart, true));
+            if (result.isDone()) {
+                hedge.get().cancel(false);
+            }
+        }, delay, TimeUnit.NANOSECONDS);
+
+        result.whenComplete((value, error) -> {
+            hedgeTimer.cancel(false);
+            primary.cancel(false);
+            CompletableFuture<T> started = hedge.get();
+            if (started != null) {
+                started.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Current hedge delay, or -1 while too few latencies are known to hedge.
+     */
+    public synchronized long getHedgeDelayNanos() {
+        return hedgeDelayNanos;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getHedgesSent() {
+        return hedgesSent.sum();
+    }
+
+    /**
+     * Hedges that answered before the original attempt.
+     */
+    public long getHedgesWon() {
+        return hedgesWon.sum();
+    }
+
+    /**
+     * Hedges that were due but skipped because the budget was used up.
+     */
+    public long getHedgesThrottled() {
+        return hedgesThrottled.sum();
+    }
+
+    private <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> attempt, CompletableFuture<T> result,
+                                           AtomicInteger running, long callStart, boolean hedge) {
+        CompletableFuture<T> future;
+        try {
+            future = attempt.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, error) -> {
+            int stillRunning = running.decrementAndGet();
+            if (error == null) {
+                if (result.complete(value)) {
+                    recordLatency(System.nanoTime() - callStart);
+                    if (hedge) {
+                        hedgesWon.increment();
+                    }
+                }
+            } else if (stillRunning == 0) {
+                result.completeExceptionally(error);
+            }
+        });
+        return future;
+    }
+
+    private synchronized boolean tryAcquireCredit() {
+        if (credits < 1.0) {
+            return false;
+        }
+        credits -= 1.0;
+        return true;
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        latencies[latencyNext] = nanos;
+        latencyNext = (latencyNext + 1) % latencies.length;
+        if (latencyCount < latencies.length) {
+            latencyCount++;
+        }
+        if (latencyCount >= MINIMUM_SAMPLES) {
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * latencyCount) - 1;
+            hedgeDelayNanos = Math.max(minDelayNanos, sorted[Math.max(0, index)]);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.bankabc.onboarding.util;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * Latency of a simulated external provider.
+ * <p>
+ * Configured by a median and a 99th percentile:
+ * <ul>
+ *   <li>{@code fixed}: always the median</li>
+ *   <li>{@code exponential}: memoryless latency with the given median, p99 is ignored</li>
+ *   <li>{@code log-normal}: the long-tailed shape of most remote calls, fitted to median and p99</li>
+ * </ul>
+ */
+public final class LatencyDistribution {
+
+    /**
+     * z-score of the 99th percentile of the standard normal distribution
+     */
+    private static final double Z_99 = 2.326;
+
+    private final String type;
+    private final long medianNanos;
+    private final double sigma;
+
+    private LatencyDistribution(String type, Duration median, Duration p99) {
+        this.type = type;
+        this.medianNanos = median.toNanos();
+        this.sigma = p99.compareTo(median) > 0
+                ? Math.log((double) p99.toNanos() / medianNanos) / Z_99
+                : 0;
+    }
+
+    /**
+     * Creates a distribution.
+     *
+     * @param type fixed, exponential or log-normal
+     * @param median the median latency
+     * @param p99 the 99th percentile latency, used by log-normal
+     * @return the distribution
+     * @throws IllegalArgumentException if the type is unknown or the median is negative
+     */
+    public static LatencyDistribution of(String type, Duration median, Duration p99) {
+        String normalized = type.trim().toLowerCase(Locale.ROOT);
+        if (!normalized.equals("fixed") && !normalized.equals("exponential") && !normalized.equals("log-normal")) {
+            throw new IllegalArgumentException("Unknown latency distribution: " + type);
+        }
+        if (median.isNegative()) {
+            throw new IllegalArgumentException("Median latency must not be negative: " + median);
+        }
+        return new LatencyDistribution(normalized, median, p99);
+    }
+
+    public static LatencyDistribution fixed(Duration latency) {
+        return of("fixed", latency, latency);
+    }
+
+    /**
+     * Draws one latency.
+     */
+    public Duration sample(RandomGenerator random) {
+        if (medianNanos == 0) {
+            return Duration.ZERO;
+        }
+        double nanos = switch (type) {
+            case "exponential" -> -Math.log(1 - random.nextDouble()) * medianNanos / Math.log(2);
+            case "log-normal" -> medianNanos * Math.exp(sigma * random.nextGaussian());
+            default -> medianNanos;
+        };
+        return Duration.ofNanos((long) nanos);
+    }
+
+    @Override
+    public String toString() {
+        return type + "(median " + Duration.ofNanos(medianNanos)
+                + (type.equals("log-normal") ? ", sigma " + String.format(Locale.ROOT, "%.2f", sigma) : "") + ")";
+    }
+}
@@ -0,0 +1,136 @@
+package com.bankabc.onboarding.util;
+
+import com.bankabc.onboarding.constants.ApplicationConstants;
+import com.bankabc.onboarding.entity.Onboarding;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.output.StringBuilderWriter;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders customer-facing notification bodies from the Freemarker templates in
+ * templates/email/notification.
+ * <p>
+ * All templates are parsed once at startup; failure emails are looked up by failure type.
+ * Rendering time per template is recorded in the {@code notification.render} timer.
+ */
+@Slf4j
+@Component
+public class NotificationTemplates {
+
+    public static final String ACCOUNT_CREATED_EMAIL = "notification/account-created-email.ftl";
+    public static final String ACCOUNT_CREATED_SMS = "notification/account-created-sms.ftl";
+    public static final String GENERAL_FAILURE_EMAIL = "notification/failure-general.ftl";
+
+    private static final Map<String, String> FAILURE_EMAILS = Map.of(
+        ApplicationConstants.ErrorType.KYC_VERIFICATION_FAILED, "notification/failure-kyc-verification.ftl",
+        ApplicationConstants.ErrorType.ADDRESS_VERIFICATION_FAILED, "notification/failure-address-verification.ftl",
+        ApplicationConstants.ErrorType.ACCOUNT_CREATION_FAILED, "notification/failure-account-creation.ftl",
+        ApplicationConstants.ErrorType.DOCUMENT_UPLOAD_FAILED, "notification/failure-document-upload.ftl",
+        ApplicationConstants.ErrorType.GENERAL_FAILURE, GENERAL_FAILURE_EMAIL
+    );
+
+    private final Configuration freemarkerConfig;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CompiledTemplate> templates = new HashMap<>();
+    private final Map<String, CompiledTemplate> failureEmails = new HashMap<>();
+
+    public NotificationTemplates(Configuration freemarkerConfig, MeterRegistry meterRegistry) {
+        this.freemarkerConfig = freemarkerConfig;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Parses every notification template; a missing or invalid template fails startup.
+     */
+    @PostConstruct
+    public void load() throws Exception {
+        compile(ACCOUNT_CREATED_EMAIL);
+        compile(ACCOUNT_CREATED_SMS);
+        for (Map.Entry<String, String> failureEmail : FAILURE_EMAILS.entrySet()) {
+            if (!templates.containsKey(failureEmail.getValue())) {
+                compile(failureEmail.getValue());
+            }
+            failureEmails.put(failureEmail.getKey(), templates.get(failureEmail.getValue()));
+        }
+        log.info("Notification templates loaded: {}", templates.keySet());
+    }
+
+    /**
+     * Renders the account-created email body.
+     *
+     * @param onboarding the completed onboarding
+     * @return the email body
+     */
+    public String renderAccountCreatedEmail(Onboarding onboarding) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("firstName", onboarding.getFirstName());
+        model.put("lastName", onboarding.getLastName());
+        model.put("accountNumber", onboarding.getAccountNumber());
+        model.put("email", onboarding.getEmail());
+        model.put("phone", onboarding.getPhone());
+        return templates.get(ACCOUNT_CREATED_EMAIL).render(model);
+    }
+
+    /**
+     * Renders the account-created SMS text.
+     *
+     * @param onboarding the completed onboarding
+     * @return the SMS text
+     */
+    public String renderAccountCreatedSms(Onboarding onboarding) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("accountNumber", onboarding.getAccountNumber());
+        return templates.get(ACCOUNT_CREATED_SMS).render(model);
+    }
+
+    /**
+     * Renders the failure email body for a failure type; unknown types get the general failure email.
+     *
+     * @param failureType the type of failure, case-insensitive
+     * @param errorMessage the specific error message
+     * @param customerName the customer's name
+     * @return the email body
+     */
+    public String renderFailureEmail(String failureType, String errorMessage, String customerName) {
+        CompiledTemplate template = failureEmails.getOrDefault(
+            failureType.toUpperCase(Locale.ROOT), templates.get(GENERAL_FAILURE_EMAIL));
+        Map<String, Object> model = new HashMap<>();
+        model.put("customerName", customerName);
+        model.put("errorMessage", errorMessage);
+        return template.render(model);
+    }
+
+    private void compile(String templateName) throws Exception {
+        Template template = freemarkerConfig.getTemplate(templateName);
+        Timer timer = Timer.builder("notification.render")
+            .description("Time to render a notification body")
+            .tag("template", templateName)
+            .register(meterRegistry);
+        templates.put(templateName, new CompiledTemplate(template, timer));
+    }
+
+    private record CompiledTemplate(Template template, Timer timer) {
+
+        String render(Map<String, Object> model) {
+            return timer.record(() -> {
+                StringBuilderWriter writer = new StringBuilderWriter(1024);
+                try {
+                    template.process(model, writer);
+                } catch (Exception e) {
+                    throw new IllegalStateException("Failed to render " + template.getName(), e);
+                }
+                return writer.toString();
+            });
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.bankabc.onboarding.util;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket that spaces calls to a provider's per-second quota.
+ * <p>
+ * The bucket refills at {@code permitsPerSecond} and holds at most {@code burst} permits. A caller
+ * that finds it empty reserves a permit that becomes available later and waits for it; the next
+ * caller queues behind that reservation, so waiting callers are spread evenly over time instead
+ * of retrying together.
+ */
+public class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final double nanosPerPermit;
+    private final long burstNanos;
+    private final LongSupplier nanoTime;
+
+    /**
+     * Time at which the next permit is free. Lies up to one burst in the past while permits are stored.
+     */
+    private long nextFree;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoTime) {
+        this.nanosPerPermit = NANOS_PER_SECOND / permitsPerSecond;
+        this.burstNanos = (long) (nanosPerPermit * Math.max(1, burst));
+        this.nanoTime = nanoTime;
+        this.nextFree = nanoTime.getAsLong() - burstNanos;
+    }
+
+    /**
+     * Reserves a permit if one is free now or within {@code maxWait}.
+     *
+     * @param maxWait longest the caller is prepared to wait
+     * @return nanoseconds the caller must wait before making its call, 0 to call at once, or -1 if
+     *         no permit is free within {@code maxWait}; nothing is reserved then
+     */
+    public synchronized long reserve(Duration maxWait) {
+        long now = nanoTime.getAsLong();
+        long start = Math.max(nextFree, now - burstNanos);
+        long availableAt = start + (long) nanosPerPermit;
+        long wait = Math.max(0, availableAt - now);
+        if (wait > maxWait.toNanos()) {
+            return -1;
+        }
+        nextFree = availableAt;
+        return wait;
+    }
+
+    /**
+     * Permits that can be taken at once without waiting.
+     */
+    public synchronized double getAvailablePermits() {
+        long now = nanoTime.getAsLong();
+        return Math.max(0, (now - Math.max(nextFree, now - burstNanos)) / nanosPerPermit);
+    }
+}
@@ -0,0 +1,13 @@
+Dear ${firstName!} ${lastName!},
+
+🎉 Congratulations! Your Bank ABC account has been successfully created.
+
+Account Details:
+• Account Number: ${accountNumber!}
+• Email: ${email!}
+• Phone: ${phone!}
+
+You can now start using your new account for online banking.
+
+Best regards,
+Bank ABC Team
@@ -0,0 +1 @@
+🎉 Welcome to Bank ABC! Your account ${accountNumber!} has been created successfully. You can now log in to online banking.
\ No newline at end of file
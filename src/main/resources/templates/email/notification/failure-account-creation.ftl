@@ -0,0 +1,16 @@
+Dear ${customerName!},
+
+We encountered a technical issue while creating your bank account.
+
+Issue: ${errorMessage!}
+
+Next Steps:
+- Our technical team has been notified of this issue
+- We will attempt to resolve this within 24 hours
+- You will receive another notification once your account is created
+- Contact our support team if you need immediate assistance
+
+We apologize for any inconvenience caused.
+
+Best regards,
+Bank ABC Team
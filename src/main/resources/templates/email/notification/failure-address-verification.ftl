@@ -0,0 +1,17 @@
+Dear ${customerName!},
+
+We were unable to verify your residential address.
+
+Issue: ${errorMessage!}
+
+Next Steps:
+- Please ensure your address information is complete and accurate
+- Verify that your address is a residential address (not a P.O. Box)
+- Contact our support team if you need assistance updating your address
+
+You can update your address information by logging into your account.
+
+If you have any questions, please contact our support team.
+
+Best regards,
+Bank ABC Team
@@ -0,0 +1,18 @@
+Dear ${customerName!},
+
+We encountered an issue processing your uploaded documents.
+
+Issue: ${errorMessage!}
+
+Next Steps:
+- Please ensure your documents are in the correct format (JPEG, PNG, or PDF)
+- Make sure file sizes are under 10MB
+- Ensure documents are clear and all text is readable
+- Try uploading your documents again
+
+You can upload your documents by logging into your account.
+
+If you have any questions, please contact our support team.
+
+Best regards,
+Bank ABC Team
@@ -0,0 +1,15 @@
+Dear ${customerName!},
+
+We encountered an issue during your onboarding process.
+
+Issue: ${errorMessage!}
+
+Next Steps:
+- Please review your information and try again
+- Contact our support team if you need assistance
+- You can restart the process by logging into your account
+
+If you have any questions, please contact our support team.
+
+Best regards,
+Bank ABC Team
@@ -0,0 +1,17 @@
+Dear ${customerName!},
+
+We encountered an issue during your identity verification process.
+
+Issue: ${errorMessage!}
+
+Next Steps:
+- Please ensure your passport and photo documents are clear and readable
+- Make sure all personal information matches your official documents
+- Contact our support team if you need assistance
+
+You can restart the verification process by logging into your account.
+
+If you have any questions, please contact our support team.
+
+Best regards,
+Bank ABC Team
@@ -0,0 +1,97 @@
+package com.bankabc.onboarding.benchmark;
+
+import com.bankabc.onboarding.config.EmailConfig;
+import com.bankabc.onboarding.model.Email;
+import com.bankabc.onboarding.util.EmailUtil;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-email cost of rendering {@code simple-notification.ftl} with header and footer.
+ * <p>
+ * {@code fullRendering} processes header, body and footer for every email and concatenates the
+ * results, as EmailUtil did before header and footer were pre-rendered. {@code emailUtil} is
+ * EmailUtil.buildEmailBody with cached templates, pre-rendered header and footer and a
+ * per-thread buffer. Both use the Freemarker configuration from EmailConfig.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.includes=EmailRenderingBenchmark -Djmh.args="-prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmailRenderingBenchmark {
+
+    private static final String TEMPLATE = "simple-notification.ftl";
+
+    private Configuration freemarkerConfig;
+    private EmailUtil emailUtil;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        freemarkerConfig = new EmailConfig().freemarkerConfig();
+        emailUtil = new EmailUtil(freemarkerConfig);
+        ReflectionTestUtils.setField(emailUtil, "bankWebsiteUrl", "https://www.bankabc.com");
+        ReflectionTestUtils.setField(emailUtil, "supportEmail", "support@bankabc.com");
+        ReflectionTestUtils.setField(emailUtil, "bankPhoneNumber", "1-800-BANK-ABC");
+        emailUtil.warmUp();
+    }
+
+    @Benchmark
+    public String fullRendering() throws Exception {
+        Map<String, Object> model = variables();
+        model.put("bankWebsiteUrl", "https://www.bankabc.com");
+        model.put("supportEmail", "support@bankabc.com");
+        model.put("bankPhoneNumber", "1-800-BANK-ABC");
+        model.put("currentDate", LocalDate.now().toString());
+        model.put("currentTime", LocalTime.now().toString());
+
+        Template template = freemarkerConfig.getTemplate(TEMPLATE);
+        String mainContent = FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
+        String header = FreeMarkerTemplateUtils.processTemplateIntoString(
+                freemarkerConfig.getTemplate(EmailUtil.HEADER_TEMPLATE), model);
+        String footer = FreeMarkerTemplateUtils.processTemplateIntoString(
+                freemarkerConfig.getTemplate(EmailUtil.FOOTER_TEMPLATE), model);
+        return new StringBuilder().append(header).append(mainContent).append(footer).toString();
+    }
+
+    @Benchmark
+    public String emailUtil() {
+        return emailUtil.buildEmailBody(Email.builder()
+                .to("emma.devries@example.com")
+                .subject("Account Created Successfully")
+                .templateName(TEMPLATE)
+                .templateVariables(variables())
+                .html(true)
+                .build());
+    }
+
+    private static Map<String, Object> variables() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("subject", "Account Created Successfully");
+        variables.put("customerName", "Emma de Vries");
+        variables.put("message", "Your Bank ABC account NL91ABCB0417164300 is ready to use.");
+        return variables;
+    }
+}
@@ -0,0 +1,167 @@
+package com.bankabc.onboarding.benchmark;
+
+import com.bankabc.onboarding.config.VirtualThreadJobExecutorConfig;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.NotifyAcquisitionRejectedJobsHandler;
+import org.camunda.bpm.engine.spring.components.jobexecutor.SpringJobExecutor;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Job throughput of the default {@code camunda.bpm.job-execution} thread pool versus the
+ * virtual-thread executor from {@link VirtualThreadJobExecutorConfig}.
+ * <p>
+ * Before each invocation the job executor is stopped and {@link #JOBS} instances of a one-task
+ * process are started; the service task is {@code asyncBefore} and sleeps for
+ * {@code ioLatencyMillis} to stand in for a provider, SMTP or JDBC round trip. The measured part
+ * restarts the job executor and waits until it has run every job. The engine is an
+ * in-memory H2 standalone engine so the numbers reflect executor behaviour, not Spring startup.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.includes=JobExecutorThroughputBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(JobExecutorThroughputBenchmark.JOBS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class JobExecutorThroughputBenchmark {
+
+    static final int JOBS = 500;
+
+    /** Kept below the engine's connection pool: a job holds its connection until it commits. */
+    private static final int MAX_CONCURRENT_JOBS = 40;
+
+    private static final String PROCESS_KEY = "job-executor-benchmark";
+
+    private static volatile CountDownLatch pendingJobs;
+    private static volatile long ioLatencyMillisForDelegate;
+
+    @Param({"platform-pool", "virtual-threads"})
+    public String executor;
+
+    @Param({"50"})
+    public long ioLatencyMillis;
+
+    private ProcessEngine processEngine;
+    private RuntimeService runtimeService;
+    private JobExecutor jobExecutor;
+    private AutoCloseable taskExecutor;
+
+    @Setup(Level.Trial)
+    public void startEngine() {
+        ioLatencyMillisForDelegate = ioLatencyMillis;
+
+        StandaloneInMemProcessEngineConfiguration configuration = new StandaloneInMemProcessEngineConfiguration();
+        configuration.setJdbcUrl("jdbc:h2:mem:jobexec-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        configuration.setJdbcMaxActiveConnections(50);
+        configuration.setHistory(ProcessEngineConfiguration.HISTORY_FULL);
+        configuration.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP);
+        jobExecutor = createJobExecutor();
+        configuration.setJobExecutor(jobExecutor);
+        configuration.setJobExecutorActivate(false);
+
+        processEngine = configuration.buildProcessEngine();
+        runtimeService = processEngine.getRuntimeService();
+
+        BpmnModelInstance model = Bpmn.createExecutableProcess(PROCESS_KEY)
+            .startEvent()
+            .serviceTask("SimulatedIoTask")
+                .camundaAsyncBefore()
+                .camundaClass(SimulatedIoDelegate.class)
+            .endEvent()
+            .done();
+        processEngine.getRepositoryService().createDeployment()
+            .addModelInstance(PROCESS_KEY + ".bpmn", model)
+            .deploy();
+    }
+
+    @Setup(Level.Invocation)
+    public void createJobs() {
+        jobExecutor.shutdown();
+        pendingJobs = new CountDownLatch(JOBS);
+        for (int i = 0; i < JOBS; i++) {
+            runtimeService.startProcessInstanceByKey(PROCESS_KEY);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopEngine() throws Exception {
+        jobExecutor.shutdown();
+        processEngine.close();
+        taskExecutor.close();
+    }
+
+    @Benchmark
+    public void drainJobs() throws InterruptedException {
+        jobExecutor.start();
+        if (!pendingJobs.await(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException(pendingJobs.getCount() + " jobs still pending");
+        }
+    }
+
+    private JobExecutor createJobExecutor() {
+        if ("virtual-threads".equals(executor)) {
+            VirtualThreadJobExecutorConfig config = new VirtualThreadJobExecutorConfig();
+            var virtualThreads = config.camundaTaskExecutor(MAX_CONCURRENT_JOBS);
+            taskExecutor = virtualThreads;
+            return config.jobExecutor(virtualThreads, 50, 1000, 10000L, 300000, 0, 0L);
+        }
+
+        // Mirrors the starter's defaults for camunda.bpm.job-execution (3/10/3 pool, default acquisition)
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(3);
+        pool.setMaxPoolSize(10);
+        pool.setQueueCapacity(3);
+        pool.setThreadNamePrefix("camunda-job-");
+        pool.initialize();
+        taskExecutor = pool::shutdown;
+        return springJobExecutor(pool);
+    }
+
+    private static JobExecutor springJobExecutor(TaskExecutor taskExecutor) {
+        SpringJobExecutor jobExecutor = new SpringJobExecutor();
+        jobExecutor.setTaskExecutor(taskExecutor);
+        jobExecutor.setRejectedJobsHandler(new NotifyAcquisitionRejectedJobsHandler());
+        return jobExecutor;
+    }
+
+    /**
+     * Blocks for the configured latency, like a delegate waiting on a remote call.
+     */
+    public static class SimulatedIoDelegate implements JavaDelegate {
+
+        @Override
+        public void execute(DelegateExecution execution) throws Exception {
+            Thread.sleep(ioLatencyMillisForDelegate);
+            pendingJobs.countDown();
+        }
+    }
+}
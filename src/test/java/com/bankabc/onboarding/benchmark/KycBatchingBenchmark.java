@@ -0,0 +1,97 @@
+package com.bankabc.onboarding.benchmark;
+
+import com.bankabc.onboarding.model.KycRequest;
+import com.bankabc.onboarding.service.KycBatcher;
+import com.bankabc.onboarding.service.ProviderRateLimiter;
+import com.bankabc.onboarding.service.SimulatedKycBulkProvider;
+import com.bankabc.onboarding.service.VerificationProviderGuard;
+import com.bankabc.onboarding.service.VerificationService;
+import com.bankabc.onboarding.service.WorkflowConfigurationService;
+import com.bankabc.onboarding.util.Bulkhead;
+import com.bankabc.onboarding.util.CircuitBreaker;
+import com.bankabc.onboarding.util.LatencyDistribution;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KYC verifications per second for a burst of {@link #CUSTOMERS} concurrent customers against a
+ * provider that serves {@link #PROVIDER_CONCURRENCY} calls at a time with a {@code roundTripMillis}
+ * round trip. {@code batchSize=1} sends one call per customer, as before KycBatcher; larger sizes
+ * share one bulk call between up to that many customers.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.includes=KycBatchingBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class KycBatchingBenchmark {
+
+    static final int CUSTOMERS = 100;
+
+    /** Calls the simulated provider serves at once. */
+    static final int PROVIDER_CONCURRENCY = 4;
+
+    @Param({"1", "20"})
+    public int batchSize;
+
+    @Param({"20"})
+    public long roundTripMillis;
+
+    private SimulatedKycBulkProvider provider;
+    private ProviderRateLimiter rateLimiter;
+    private KycBatcher batcher;
+
+    @Setup(Level.Trial)
+    public void start() {
+        provider = new SimulatedKycBulkProvider(1.0, LatencyDistribution.fixed(Duration.ofMillis(roundTripMillis)),
+                Duration.ofNanos(200_000), PROVIDER_CONCURRENCY, 100);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // No configuration loaded, so no rate limit: the benchmark measures the provider alone
+        rateLimiter = new ProviderRateLimiter(new WorkflowConfigurationService(new ObjectMapper()), meterRegistry);
+        // Bulkhead and circuit breaker wide enough never to refuse a call
+        VerificationProviderGuard guard = new VerificationProviderGuard(VerificationService.KYC_PROVIDER,
+                new Bulkhead(CUSTOMERS, CUSTOMERS), new CircuitBreaker(1.0, 100, 100, Duration.ofSeconds(1), 1),
+                Duration.ofMinutes(1), meterRegistry);
+        batcher = new KycBatcher(provider, rateLimiter, guard, meterRegistry, Duration.ofMinutes(1), true, batchSize,
+                Duration.ofMillis(10));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        batcher.stop();
+        rateLimiter.shutdown();
+        provider.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CUSTOMERS)
+    public void verify() {
+        CompletableFuture<?>[] results = new CompletableFuture<?>[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            results[i] = batcher.submit(new KycRequest("Emma", "de Vries", LocalDate.of(1990, 1, 1), "123-45-" + i));
+        }
+        CompletableFuture.allOf(results).join();
+    }
+}
@@ -0,0 +1,102 @@
+package com.bankabc.onboarding.benchmark;
+
+import com.bankabc.onboarding.config.FakeSmtpServer;
+import com.bankabc.onboarding.config.PooledJavaMailSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emails per second sent by {@link #THREADS} threads, as the email dispatch executor does, through
+ * a plain JavaMailSenderImpl (one SMTP connection per email) versus {@link PooledJavaMailSender}.
+ * <p>
+ * {@code in-process} sends to {@link FakeSmtpServer}, which delays every new connection by
+ * {@code handshakeDelayMillis} to stand in for the TCP, TLS and AUTH round trips of a remote
+ * server. {@code smtp4dev} sends to the smtp4dev container from docker-compose.yml
+ * ({@code docker compose up -d smtp4dev}) at {@code -Dsmtp.host}/{@code -Dsmtp.port}, default
+ * localhost:2525; its delay parameter is ignored.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.includes=SmtpThroughputBenchmark}
+ * <br>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.includes=SmtpThroughputBenchmark -Djmh.args="-p target=smtp4dev -p handshakeDelayMillis=0"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(SmtpThroughputBenchmark.THREADS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class SmtpThroughputBenchmark {
+
+    /** Matches the default onboarding.email.dispatch.pool-size. */
+    static final int THREADS = 4;
+
+    @Param({"false", "true"})
+    public boolean pooled;
+
+    @Param({"in-process"})
+    public String target;
+
+    @Param({"0", "5"})
+    public long handshakeDelayMillis;
+
+    private FakeSmtpServer smtpServer;
+    private JavaMailSenderImpl mailSender;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        mailSender = pooled
+                ? new PooledJavaMailSender(THREADS, Duration.ofMinutes(1), Duration.ofSeconds(5), Duration.ofSeconds(10), 100)
+                : new JavaMailSenderImpl();
+        if ("smtp4dev".equals(target)) {
+            mailSender.setHost(System.getProperty("smtp.host", "localhost"));
+            mailSender.setPort(Integer.getInteger("smtp.port", 2525));
+        } else {
+            smtpServer = new FakeSmtpServer(handshakeDelayMillis);
+            mailSender.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+            mailSender.setPort(smtpServer.getPort());
+        }
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "5000");
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "3000");
+        mailSender.getJavaMailProperties().put("mail.smtp.writetimeout", "5000");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        if (mailSender instanceof PooledJavaMailSender pooledSender) {
+            pooledSender.destroy();
+        }
+        if (smtpServer != null) {
+            smtpServer.close();
+        }
+    }
+
+    @Benchmark
+    public void send() {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@bankabc.com");
+        message.setTo("emma.devries@example.com");
+        message.setSubject("Account Created Successfully");
+        message.setText("Welcome to Bank ABC. Your account has been created.");
+        mailSender.send(message);
+    }
+}
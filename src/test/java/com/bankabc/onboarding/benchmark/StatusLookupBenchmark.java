@@ -0,0 +1,178 @@
+package com.bankabc.onboarding.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status lookup by {@code process_instance_id} on an {@code onboarding} table seeded with
+ * {@link #ROWS} rows, with and without the indexes declared on the Onboarding entity.
+ * <p>
+ * {@code entity} selects every column, as {@code findByProcessInstanceId} does; {@code projection}
+ * selects only the columns of {@code OnboardingStatusView}. The SQL mirrors what Hibernate issues
+ * for both queries against the H2 schema generated from the entity.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.includes=StatusLookupBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StatusLookupBenchmark {
+
+    static final int ROWS = 1_000_000;
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private static final String[] STATUSES = {
+        "INFO_COLLECTED", "KYC_IN_PROGRESS", "ADDRESS_VERIFICATION_COMPLETED", "COMPLETED", "FAILED"
+    };
+
+    private static final String ENTITY_QUERY = "select id, account_number, address_verification_notes, "
+            + "address_verified, city, completed_at, country, created_at, date_of_birth, "
+            + "document_uploaded_at, email, first_name, gender, kyc_verification_notes, kyc_verified, "
+            + "last_name, nationality, passport_path, phone, photo_path, postal_code, "
+            + "process_definition_key, process_instance_id, ssn, status, street, updated_at "
+            + "from onboarding where process_instance_id = ?";
+
+    private static final String PROJECTION_QUERY = "select status, account_number, kyc_verified, "
+            + "address_verified, created_at, updated_at, completed_at "
+            + "from onboarding where process_instance_id = ?";
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    @Param({"entity", "projection"})
+    public String query;
+
+    private Connection connection;
+    private PreparedStatement lookup;
+    private String[] processInstanceIds;
+
+    @Setup(Level.Trial)
+    public void seed() throws SQLException {
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:status-lookup-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    create table onboarding (
+                        id uuid not null primary key,
+                        account_number varchar(18),
+                        address_verification_notes varchar(500),
+                        address_verified boolean,
+                        city varchar(50) not null,
+                        completed_at timestamp(6) with time zone,
+                        country varchar(50) not null,
+                        created_at timestamp(6) with time zone not null,
+                        date_of_birth date not null,
+                        document_uploaded_at timestamp(6) with time zone,
+                        email varchar(100) not null,
+                        first_name varchar(50) not null,
+                        gender varchar(1) not null,
+                        kyc_verification_notes varchar(500),
+                        kyc_verified boolean,
+                        last_name varchar(50) not null,
+                        nationality varchar(50) not null,
+                        passport_path varchar(500),
+                        phone varchar(20) not null,
+                        photo_path varchar(500),
+                        postal_code varchar(10) not null,
+                        process_definition_key varchar(100),
+                        process_instance_id varchar(100),
+                        ssn varchar(11) not null unique,
+                        status varchar(255) not null,
+                        street varchar(100) not null,
+                        updated_at timestamp(6) with time zone not null
+                    )""");
+        }
+
+        processInstanceIds = new String[ROWS];
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("""
+                insert into onboarding (id, address_verified, city, country, created_at, date_of_birth, email,
+                    first_name, gender, kyc_verified, last_name, nationality, phone, postal_code,
+                    process_definition_key, process_instance_id, ssn, status, street, updated_at,
+                    passport_path, photo_path, kyc_verification_notes)
+                values (?, true, 'Amsterdam', 'Netherlands', ?, date '1990-05-20', ?, 'Emma', 'F', true,
+                    'de Vries', 'Dutch', '+31612345678', '1015CD', 'onboarding-process', ?, ?, ?,
+                    'Keizersgracht 1', ?, '/tmp/onboarding-documents/passport.pdf',
+                    '/tmp/onboarding-documents/photo.jpg', 'KYC verification successful')""")) {
+            Instant start = Instant.parse("2024-01-01T00:00:00Z");
+            for (int i = 0; i < ROWS; i++) {
+                processInstanceIds[i] = UUID.randomUUID().toString();
+                Timestamp createdAt = Timestamp.from(start.plusSeconds(i * 30L));
+                insert.setObject(1, UUID.randomUUID());
+                insert.setTimestamp(2, createdAt);
+                insert.setString(3, "customer" + i + "@example.com");
+                insert.setString(4, processInstanceIds[i]);
+                insert.setString(5, String.format("%03d-%02d-%04d", i / 1_000_000, (i / 10_000) % 100, i % 10_000));
+                insert.setString(6, STATUSES[i % STATUSES.length]);
+                insert.setTimestamp(7, createdAt);
+                insert.addBatch();
+                if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+
+        if (indexed) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create unique index idx_process_instance_id on onboarding (process_instance_id)");
+                statement.execute("create index idx_status_created_at on onboarding (status, created_at)");
+                statement.execute("create index idx_created_at on onboarding (created_at)");
+            }
+        }
+
+        lookup = connection.prepareStatement("projection".equals(query) ? PROJECTION_QUERY : ENTITY_QUERY);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        lookup.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public void findStatusByProcessInstanceId(Blackhole blackhole) throws SQLException {
+        lookup.setString(1, processInstanceIds[ThreadLocalRandom.current().nextInt(ROWS)]);
+        try (ResultSet resultSet = lookup.executeQuery()) {
+            if (!resultSet.next()) {
+                throw new IllegalStateException("Seeded row not found");
+            }
+            int columns = resultSet.getMetaData().getColumnCount();
+            for (int column = 1; column <= columns; column++) {
+                blackhole.consume(resultSet.getObject(column));
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.bankabc.onboarding.config;
+
+import com.bankabc.onboarding.util.EmailUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the email dispatch executor built by EmailDispatchConfig.
+ */
+class EmailDispatchConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void emailDispatchExecutor_QueueFullWithAbortPolicy_RejectsAndCounts() throws Exception {
+        executor = initialize("abort");
+        AtomicReference<String> threadName = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            threadName.set(Thread.currentThread().getName());
+            started.countDown();
+            awaitRelease();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(this::awaitRelease);
+
+        assertThrows(TaskRejectedException.class, () -> executor.execute(this::awaitRelease));
+        assertTrue(threadName.get().startsWith(EmailUtil.THREAD_NAME_PREFIX));
+        assertEquals(1.0, meterRegistry.get("email.dispatch.queue.size").gauge().value());
+        assertEquals(1.0, meterRegistry.get("email.dispatch.rejected").counter().count());
+    }
+
+    @Test
+    void emailDispatchExecutor_QueueFullWithCallerRunsPolicy_RunsOnCaller() throws Exception {
+        executor = initialize("caller-runs");
+        CountDownLatch started = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(this::awaitRelease);
+
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        executor.execute(() -> runner.set(Thread.currentThread()));
+
+        assertSame(Thread.currentThread(), runner.get());
+        assertEquals(1.0, meterRegistry.get("email.dispatch.rejected").counter().count());
+        assertEquals(1, meterRegistry.get("email.send").timer().count());
+    }
+
+    private ThreadPoolTaskExecutor initialize(String rejectionPolicy) {
+        ThreadPoolTaskExecutor taskExecutor = new EmailDispatchConfig()
+                .emailDispatchExecutor(meterRegistry, 1, 1, rejectionPolicy);
+        taskExecutor.initialize();
+        return taskExecutor;
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
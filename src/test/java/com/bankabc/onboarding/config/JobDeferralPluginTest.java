@@ -0,0 +1,49 @@
+package com.bankabc.onboarding.config;
+
+import com.bankabc.onboarding.config.JobDeferralPlugin.DeferJobCmd;
+import com.bankabc.onboarding.config.JobDeferralPlugin.DeferringFailedJobCommandFactory;
+import com.bankabc.onboarding.exception.ProviderRateLimitedException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.jobexecutor.FailedJobCommandFactory;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the failed job handling installed by JobDeferralPlugin.
+ */
+class JobDeferralPluginTest {
+
+    private final FailedJobCommandFactory defaultFactory = mock(FailedJobCommandFactory.class);
+    private final DeferringFailedJobCommandFactory factory = new DeferringFailedJobCommandFactory(defaultFactory);
+
+    @Test
+    void getCommand_RateLimitedJob_IsDeferredWithoutUsingRetries() {
+        // Given: the engine may wrap the delegate's exception
+        Exception failure = new ProcessEngineException("Job failed",
+                new ProviderRateLimitedException("kyc", Duration.ofSeconds(30)));
+
+        // When
+        Command<Object> command = factory.getCommand("job-1", failure);
+
+        // Then
+        DeferJobCmd defer = assertInstanceOf(DeferJobCmd.class, command);
+        assertEquals(Duration.ofSeconds(30), defer.getDeferBy());
+        verifyNoInteractions(defaultFactory);
+    }
+
+    @Test
+    void getCommand_OtherFailure_UsesDefaultRetries() {
+        // Given
+        IllegalStateException failure = new IllegalStateException("Database unavailable");
+        Command<Object> retry = commandContext -> null;
+        when(defaultFactory.getCommand("job-1", failure)).thenReturn(retry);
+
+        // When & Then
+        assertSame(retry, factory.getCommand("job-1", failure));
+    }
+}
@@ -0,0 +1,100 @@
+package com.bankabc.onboarding.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.net.InetAddress;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PooledJavaMailSender against an in-process SMTP server.
+ */
+class PooledJavaMailSenderTest {
+
+    private FakeSmtpServer smtpServer;
+    private PooledJavaMailSender mailSender;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtpServer = new FakeSmtpServer(0);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (mailSender != null) {
+            mailSender.destroy();
+        }
+        smtpServer.close();
+    }
+
+    @Test
+    void send_ConsecutiveMessages_ReuseOneConnection() {
+        mailSender = sender(Duration.ofSeconds(5), 100);
+
+        for (int i = 0; i < 5; i++) {
+            mailSender.send(message(i));
+        }
+
+        assertEquals(5, smtpServer.getMessages());
+        assertEquals(1, smtpServer.getConnections());
+        assertEquals(1, mailSender.getIdleConnections());
+    }
+
+    @Test
+    void send_MaxMessagesPerConnectionReached_OpensNewConnection() {
+        mailSender = sender(Duration.ofSeconds(5), 2);
+
+        for (int i = 0; i < 5; i++) {
+            mailSender.send(message(i));
+        }
+
+        assertEquals(5, smtpServer.getMessages());
+        assertEquals(3, smtpServer.getConnections());
+    }
+
+    @Test
+    void send_ConnectionDroppedByServer_ValidatesAndReconnects() throws Exception {
+        // Zero validation interval checks every idle connection with NOOP before reuse
+        mailSender = sender(Duration.ZERO, 100);
+        mailSender.send(message(1));
+
+        smtpServer.dropConnections();
+        mailSender.send(message(2));
+
+        assertEquals(2, smtpServer.getMessages());
+        assertEquals(2, smtpServer.getConnections());
+        assertEquals(1, mailSender.getOpenConnections());
+    }
+
+    @Test
+    void destroy_ClosesIdleConnections() {
+        mailSender = sender(Duration.ofSeconds(5), 100);
+        mailSender.send(message(1));
+
+        mailSender.destroy();
+
+        assertEquals(0, mailSender.getOpenConnections());
+        assertEquals(0, mailSender.getIdleConnections());
+    }
+
+    private PooledJavaMailSender sender(Duration validationInterval, int maxMessagesPerConnection) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(
+                2, Duration.ofMinutes(1), validationInterval, Duration.ofSeconds(5), maxMessagesPerConnection);
+        sender.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+        sender.setPort(smtpServer.getPort());
+        return sender;
+    }
+
+    private SimpleMailMessage message(int i) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@bankabc.com");
+        message.setTo("customer" + i + "@example.com");
+        message.setSubject("Test " + i);
+        message.setText("Body " + i);
+        return message;
+    }
+}
@@ -7,21 +7,27 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Map;
 
 import com.bankabc.onboarding.exception.DefaultApiError;
 import com.bankabc.onboarding.exception.ErrorTypes;
 import com.bankabc.onboarding.exception.GlobalExceptionHandler;
+import com.bankabc.onboarding.openapi.model.OnboardingBatchItemResult;
+import com.bankabc.onboarding.openapi.model.OnboardingBatchStartRequest;
+import com.bankabc.onboarding.openapi.model.OnboardingBatchStartResponse;
 import com.bankabc.onboarding.openapi.model.OnboardingStartRequest;
 import com.bankabc.onboarding.openapi.model.OnboardingStartResponse;
 import com.bankabc.onboarding.openapi.model.OnboardingStatusResponse;
 import com.bankabc.onboarding.service.BpmnProcessService;
 import com.bankabc.onboarding.service.FileStorageService;
+import com.bankabc.onboarding.service.OnboardingBatchService;
 import com.bankabc.onboarding.service.FileValidationService;
 import com.bankabc.onboarding.service.OnboardingService;
 import com.bankabc.onboarding.service.WorkflowConfigurationService;
@@ -46,6 +52,9 @@ class OnboardingWorkflowControllerTest {
     @Mock
     private BpmnProcessService bpmnProcessService;
 
+    @Mock
+    private OnboardingBatchService onboardingBatchService;
+
     @Mock
     private OnboardingService onboardingService;
 
@@ -137,6 +146,39 @@ class OnboardingWorkflowControllerTest {
                 .andExpect(jsonPath("$.message").value("Customer with SSN already exists"));
     }
 
+    @Test
+    void startOnboardingBatch_MixedResults_ReturnsOkWithPerItemResults() throws Exception {
+        OnboardingBatchStartResponse batchResponse = new OnboardingBatchStartResponse()
+                .total(2)
+                .started(1)
+                .failed(1)
+                .results(List.of(
+                        new OnboardingBatchItemResult()
+                                .index(0)
+                                .status(OnboardingBatchItemResult.StatusEnum.STARTED)
+                                .processInstanceId("12345")
+                                .onboardingStatus("INFO_COLLECTED"),
+                        new OnboardingBatchItemResult()
+                                .index(1)
+                                .status(OnboardingBatchItemResult.StatusEnum.DUPLICATE)
+                                .errorName("CUSTOMER_ALREADY_EXISTS")));
+        when(onboardingBatchService.startOnboardingProcesses(any())).thenReturn(batchResponse);
+
+        OnboardingBatchStartRequest batchRequest = new OnboardingBatchStartRequest()
+                .items(List.of(validRequest, validRequest));
+
+        mockMvc.perform(post("/api/v1/onboarding/start:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.started").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("STARTED"))
+                .andExpect(jsonPath("$.results[0].processInstanceId").value("12345"))
+                .andExpect(jsonPath("$.results[1].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$.results[1].errorName").value("CUSTOMER_ALREADY_EXISTS"));
+    }
+
     @Test
     void uploadDocuments_ValidFiles_ReturnsOk() throws Exception {
         MockMultipartFile passport = new MockMultipartFile(
@@ -162,6 +204,32 @@ class OnboardingWorkflowControllerTest {
                 .andExpect(jsonPath("$.photoUploaded").value(true));
     }
 
+    @Test
+    void uploadDocuments_AsyncContinuation_ReturnsAcceptedWithStatusLocation() throws Exception {
+        MockMultipartFile passport = new MockMultipartFile(
+                "passport", "passport.pdf", "application/pdf", "passport content".getBytes());
+        MockMultipartFile photo = new MockMultipartFile(
+                "photo", "photo.jpg", "image/jpeg", "photo content".getBytes());
+        OnboardingStatusResponse uploadedStatus = new OnboardingStatusResponse()
+                .processInstanceId("12345")
+                .status(OnboardingStatusResponse.StatusEnum.DOCUMENTS_UPLOADED)
+                .nextStep("kyc-verification");
+
+        when(bpmnProcessService.isProcessActive(anyString())).thenReturn(true);
+        when(bpmnProcessService.isAsyncContinuationEnabled()).thenReturn(true);
+        when(fileStorageService.storeFile(any(), anyString())).thenReturn("/path/to/file");
+        when(bpmnProcessService.correlateDocumentUpload(anyString(), any()))
+                .thenReturn(uploadedStatus);
+
+        mockMvc.perform(multipart("/api/v1/onboarding/12345/documents")
+                        .file(passport)
+                        .file(photo))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/onboarding/12345/status"))
+                .andExpect(jsonPath("$.status").value("DOCUMENTS_UPLOADED"))
+                .andExpect(jsonPath("$.nextStep").value("kyc-verification"));
+    }
+
     @Test
     void uploadDocuments_ProcessNotActive_ReturnsNotFound() throws Exception {
         MockMultipartFile passport = new MockMultipartFile(
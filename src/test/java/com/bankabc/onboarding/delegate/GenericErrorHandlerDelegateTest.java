@@ -6,7 +6,8 @@ import com.bankabc.onboarding.service.OnboardingService;
 import com.bankabc.onboarding.service.NotificationService;
 import com.bankabc.onboarding.service.WorkflowConfigurationService;
 import com.bankabc.onboarding.util.DelegateUtils;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.bankabc.onboarding.model.NotificationResult;
+import com.bankabc.onboarding.model.WorkflowDefinition.ErrorHandling;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,7 +48,6 @@ class GenericErrorHandlerDelegateTest {
     private GenericErrorHandlerDelegate genericErrorHandlerDelegate;
 
     private Onboarding testOnboarding;
-    private JsonNode mockStepConfig;
 
     @BeforeEach
     void setUp() {
@@ -63,29 +63,24 @@ class GenericErrorHandlerDelegateTest {
     @Test
     void testExecute_WithStepConfiguration() throws Exception {
         // Given
-        JsonNode mockStepConfig = mock(JsonNode.class);
-        JsonNode errorHandling = mock(JsonNode.class);
-        JsonNode errorTypeNode = mock(JsonNode.class);
-        JsonNode defaultMessageNode = mock(JsonNode.class);
-        
-        when(mockStepConfig.path("errorHandling")).thenReturn(errorHandling);
-        when(errorHandling.path("errorType")).thenReturn(errorTypeNode);
-        when(errorTypeNode.asText(null)).thenReturn("KYC_VERIFICATION_FAILED");
-        when(errorHandling.path("defaultMessage")).thenReturn(defaultMessageNode);
-        when(defaultMessageNode.asText(null)).thenReturn("Identity verification failed");
+        ErrorHandling errorHandling = ErrorHandling.builder()
+                .errorType("KYC_VERIFICATION_FAILED")
+                .defaultMessage("Identity verification failed")
+                .build();
         
         when(execution.getVariable("failedStepId")).thenReturn("kyc-verification");
         when(execution.getVariable("errorMessage")).thenReturn(null);
         when(delegateUtils.getOnboarding(execution)).thenReturn(testOnboarding);
-        when(workflowConfigurationService.getStepConfiguration("kyc-verification")).thenReturn(mockStepConfig);
-        when(notificationService.sendFailureNotifications(anyString(), anyString(), anyString(), anyString(), anyString()))
-                .thenReturn(true);
+        when(workflowConfigurationService.getErrorHandling("kyc-verification")).thenReturn(errorHandling);
+        when(notificationService.notifyFailure(any(), anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(new NotificationResult(true, true));
 
         // When
         genericErrorHandlerDelegate.execute(execution);
 
         // Then
-        verify(notificationService).sendFailureNotifications(
+        verify(notificationService).notifyFailure(
+                testOnboarding.getId(),
                 "john.doe@example.com",
                 "+1234567890",
                 "KYC_VERIFICATION_FAILED",
@@ -101,26 +96,23 @@ class GenericErrorHandlerDelegateTest {
     void testExecute_WithCustomErrorMessage() throws Exception {
         // Given
         String customErrorMessage = "Custom KYC error message";
-        JsonNode mockStepConfig = mock(JsonNode.class);
-        JsonNode errorHandling = mock(JsonNode.class);
-        JsonNode errorTypeNode = mock(JsonNode.class);
-        
-        when(mockStepConfig.path("errorHandling")).thenReturn(errorHandling);
-        when(errorHandling.path("errorType")).thenReturn(errorTypeNode);
-        when(errorTypeNode.asText(null)).thenReturn("KYC_VERIFICATION_FAILED");
+        ErrorHandling errorHandling = ErrorHandling.builder()
+                .errorType("KYC_VERIFICATION_FAILED")
+                .build();
         
         when(execution.getVariable("failedStepId")).thenReturn("kyc-verification");
         when(execution.getVariable("errorMessage")).thenReturn(customErrorMessage);
         when(delegateUtils.getOnboarding(execution)).thenReturn(testOnboarding);
-        when(workflowConfigurationService.getStepConfiguration("kyc-verification")).thenReturn(mockStepConfig);
-        when(notificationService.sendFailureNotifications(anyString(), anyString(), anyString(), anyString(), anyString()))
-                .thenReturn(true);
+        when(workflowConfigurationService.getErrorHandling("kyc-verification")).thenReturn(errorHandling);
+        when(notificationService.notifyFailure(any(), anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(new NotificationResult(true, true));
 
         // When
         genericErrorHandlerDelegate.execute(execution);
 
         // Then
-        verify(notificationService).sendFailureNotifications(
+        verify(notificationService).notifyFailure(
+                testOnboarding.getId(),
                 "john.doe@example.com",
                 "+1234567890",
                 "KYC_VERIFICATION_FAILED",
@@ -136,14 +128,15 @@ class GenericErrorHandlerDelegateTest {
         when(execution.getVariable("kycResult")).thenReturn("FAILED");
         when(execution.getVariable("errorMessage")).thenReturn(null); // Add this line
         when(delegateUtils.getOnboarding(execution)).thenReturn(testOnboarding);
-        when(notificationService.sendFailureNotifications(anyString(), anyString(), anyString(), anyString(), anyString()))
-                .thenReturn(true);
+        when(notificationService.notifyFailure(any(), anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(new NotificationResult(true, true));
 
         // When
         genericErrorHandlerDelegate.execute(execution);
 
         // Then
-        verify(notificationService).sendFailureNotifications(
+        verify(notificationService).notifyFailure(
+                testOnboarding.getId(),
                 "john.doe@example.com",
                 "+1234567890",
                 "KYC_VERIFICATION_FAILED",
@@ -162,7 +155,7 @@ class GenericErrorHandlerDelegateTest {
             genericErrorHandlerDelegate.execute(execution);
         });
         
-        verify(notificationService, never()).sendFailureNotifications(anyString(), anyString(), anyString(), anyString(), anyString());
+        verify(notificationService, never()).notifyFailure(any(), anyString(), anyString(), anyString(), anyString(), anyString());
     }
 
     @Test
@@ -175,34 +168,29 @@ class GenericErrorHandlerDelegateTest {
             genericErrorHandlerDelegate.execute(execution);
         });
         
-        verify(notificationService, never()).sendFailureNotifications(anyString(), anyString(), anyString(), anyString(), anyString());
+        verify(notificationService, never()).notifyFailure(any(), anyString(), anyString(), anyString(), anyString(), anyString());
     }
 
     @Test
     void testExecute_NotificationFailure() throws Exception {
         // Given
-        JsonNode mockStepConfig = mock(JsonNode.class);
-        JsonNode errorHandling = mock(JsonNode.class);
-        JsonNode errorTypeNode = mock(JsonNode.class);
-        JsonNode defaultMessageNode = mock(JsonNode.class);
-        
-        when(mockStepConfig.path("errorHandling")).thenReturn(errorHandling);
-        when(errorHandling.path("errorType")).thenReturn(errorTypeNode);
-        when(errorTypeNode.asText(null)).thenReturn("KYC_VERIFICATION_FAILED");
-        when(errorHandling.path("defaultMessage")).thenReturn(defaultMessageNode);
-        when(defaultMessageNode.asText(null)).thenReturn("Identity verification failed");
+        ErrorHandling errorHandling = ErrorHandling.builder()
+                .errorType("KYC_VERIFICATION_FAILED")
+                .defaultMessage("Identity verification failed")
+                .build();
         
         when(execution.getVariable("failedStepId")).thenReturn("kyc-verification");
         when(execution.getVariable("errorMessage")).thenReturn(null);
         when(delegateUtils.getOnboarding(execution)).thenReturn(testOnboarding);
-        when(workflowConfigurationService.getStepConfiguration("kyc-verification")).thenReturn(mockStepConfig);
-        when(notificationService.sendFailureNotifications(anyString(), anyString(), anyString(), anyString(), anyString()))
-                .thenReturn(false);
+        when(workflowConfigurationService.getErrorHandling("kyc-verification")).thenReturn(errorHandling);
+        when(notificationService.notifyFailure(any(), anyString(), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(new NotificationResult(true, false));
 
         // When
         genericErrorHandlerDelegate.execute(execution);
 
         // Then
         verify(execution).setVariable("notificationSent", false);
+        verify(execution).setVariable("notificationResult", "PARTIAL");
     }
 }
@@ -4,8 +4,9 @@ import com.bankabc.onboarding.entity.Onboarding;
 import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
 import com.bankabc.onboarding.exception.DefaultApiError;
 import com.bankabc.onboarding.exception.ErrorTypes;
+import com.bankabc.onboarding.exception.ProviderRateLimitedException;
 import com.bankabc.onboarding.service.NotificationService;
-import com.bankabc.onboarding.service.OnboardingService;
+import com.bankabc.onboarding.service.OnboardingUnitOfWork;
 import com.bankabc.onboarding.service.VerificationService;
 import com.bankabc.onboarding.util.DelegateUtils;
 import org.camunda.bpm.engine.delegate.BpmnError;
@@ -17,9 +18,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -32,7 +36,7 @@ class KycDelegateTest {
     private VerificationService verificationService;
 
     @Mock
-    private OnboardingService onboardingService;
+    private OnboardingUnitOfWork onboardingUnitOfWork;
 
     @Mock
     private NotificationService notificationService;
@@ -71,16 +75,16 @@ class KycDelegateTest {
         // Given
         when(execution.getProcessInstanceId()).thenReturn(processInstanceId);
         when(delegateUtils.getOnboarding(execution)).thenReturn(testOnboarding);
-        when(verificationService.performKycVerification(
+        when(verificationService.performKycVerificationAsync(
                 "John", "Doe", LocalDate.of(1990, 1, 1), 
                 "123-45-6789"))
-                .thenReturn(true);
+                .thenReturn(CompletableFuture.completedFuture(true));
 
         // When
         kycDelegate.execute(execution);
 
         // Then
-        verify(onboardingService, times(2)).saveOnboarding(testOnboarding);
+        verify(onboardingUnitOfWork).update(testOnboarding);
         assertEquals(OnboardingStatus.KYC_COMPLETED, testOnboarding.getStatus());
         assertTrue(testOnboarding.getKycVerified());
         
@@ -94,10 +98,10 @@ class KycDelegateTest {
         // Given
         when(execution.getProcessInstanceId()).thenReturn(processInstanceId);
         when(delegateUtils.getOnboarding(execution)).thenReturn(testOnboarding);
-        when(verificationService.performKycVerification(
+        when(verificationService.performKycVerificationAsync(
                 "John", "Doe", LocalDate.of(1990, 1, 1), 
                 "123-45-6789"))
-                .thenReturn(false);
+                .thenReturn(CompletableFuture.completedFuture(false));
 
         // When & Then
         BpmnError exception = assertThrows(BpmnError.class, () -> {
@@ -109,7 +113,7 @@ class KycDelegateTest {
         assertTrue(exception.getMessage().contains("KYC verification failed"));
         
         // Verify onboarding was updated
-        verify(onboardingService, times(2)).saveOnboarding(testOnboarding);
+        verify(onboardingUnitOfWork).update(testOnboarding);
         assertEquals(OnboardingStatus.KYC_IN_PROGRESS, testOnboarding.getStatus());
         assertFalse(testOnboarding.getKycVerified());
         
@@ -166,8 +170,8 @@ class KycDelegateTest {
         // Given
         when(execution.getProcessInstanceId()).thenReturn(processInstanceId);
         when(delegateUtils.getOnboarding(execution)).thenReturn(testOnboarding);
-        when(verificationService.performKycVerification(any(), any(), any(), any()))
-                .thenThrow(new RuntimeException("Verification service error"));
+        when(verificationService.performKycVerificationAsync(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Verification service error")));
 
         // When & Then
         BpmnError exception = assertThrows(BpmnError.class, () -> {
@@ -180,10 +184,42 @@ class KycDelegateTest {
         verify(execution).setVariable("failedStepId", "kyc-verification");
         
         // Verify onboarding status was updated to KYC_IN_PROGRESS before the error
-        verify(onboardingService).saveOnboarding(argThat(onboarding -> 
+        verify(onboardingUnitOfWork).update(argThat(onboarding -> 
                 onboarding.getStatus() == OnboardingStatus.KYC_IN_PROGRESS));
     }
 
+    @Test
+    void execute_KycProviderTimesOut_RaisesBpmnError() throws Exception {
+        // Given
+        when(execution.getProcessInstanceId()).thenReturn(processInstanceId);
+        when(delegateUtils.getOnboarding(execution)).thenReturn(testOnboarding);
+        when(verificationService.performKycVerificationAsync(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("kyc provider did not answer within PT5S")));
+
+        // When & Then
+        BpmnError exception = assertThrows(BpmnError.class, () -> kycDelegate.execute(execution));
+
+        assertEquals("KYC_VERIFICATION_FAILED", exception.getErrorCode());
+        verify(execution).setVariable("kycResult", "ERROR");
+        verify(execution).setVariable("errorMessage", "KYC verification error: kyc provider did not answer within PT5S");
+    }
+
+    @Test
+    void execute_KycQuotaUsedUp_LetsJobBeDeferred() throws Exception {
+        // Given
+        when(execution.getProcessInstanceId()).thenReturn(processInstanceId);
+        when(delegateUtils.getOnboarding(execution)).thenReturn(testOnboarding);
+        when(verificationService.performKycVerificationAsync(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new ProviderRateLimitedException("kyc", Duration.ofSeconds(30))));
+
+        // When & Then: not a BpmnError, so the job fails and JobDeferralPlugin reschedules it
+        ProviderRateLimitedException exception = assertThrows(ProviderRateLimitedException.class,
+                () -> kycDelegate.execute(execution));
+
+        assertEquals(Duration.ofSeconds(30), exception.getDeferBy());
+        verify(execution, never()).setVariable(eq("kycResult"), any());
+    }
+
     @Test
     void execute_OnboardingServiceThrowsException_HandlesGracefully() throws Exception {
         // Given
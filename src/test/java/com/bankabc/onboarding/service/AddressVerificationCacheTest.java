@@ -0,0 +1,98 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.service.AddressVerificationCache.AddressKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AddressVerificationCache.
+ */
+class AddressVerificationCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger providerCalls = new AtomicInteger();
+
+    @Test
+    void addressKey_NormalizesCaseAccentsPunctuationAndSpacing() {
+        assertEquals(AddressKey.of("Rue de l'Église 12", "Zürich", "8001", "ch"),
+                AddressKey.of("  rue de l eglise, 12 ", "ZURICH", " 80 01", "CH"));
+        assertNotEquals(AddressKey.of("Damrak 1", "Amsterdam", "1012LG", "NL"),
+                AddressKey.of("Damrak 11", "Amsterdam", "1012LG", "NL"));
+    }
+
+    @Test
+    void get_CachedAddress_SkipsProvider() {
+        AddressVerificationCache cache = cache(true, Duration.ofHours(1), Duration.ofHours(1));
+
+        assertTrue(cache.get("Damrak 1", "Amsterdam", "1012 LG", "NL", () -> answer(true)).join());
+        assertTrue(cache.get("damrak 1", "amsterdam", "1012lg", "nl", () -> answer(true)).join());
+
+        assertEquals(1, providerCalls.get());
+        assertEquals(0.5, meterRegistry.get("verification.address.cache.hit-ratio").gauge().value());
+    }
+
+    @Test
+    void get_RejectedAddress_ExpiresAfterRejectedTtl() throws Exception {
+        AddressVerificationCache cache = cache(true, Duration.ofHours(1), Duration.ofMillis(50));
+
+        assertFalse(cache.get("Damrak 1", "Amsterdam", "1012 LG", "NL", () -> answer(false)).join());
+        Thread.sleep(100);
+        assertTrue(cache.get("Damrak 1", "Amsterdam", "1012 LG", "NL", () -> answer(true)).join());
+
+        assertEquals(2, providerCalls.get());
+    }
+
+    @Test
+    void get_FailedVerification_IsNotCached() {
+        AddressVerificationCache cache = cache(true, Duration.ofHours(1), Duration.ofHours(1));
+
+        CompletableFuture<Boolean> failed = cache.get("Damrak 1", "Amsterdam", "1012 LG", "NL",
+                () -> CompletableFuture.failedFuture(new IllegalStateException("Provider unavailable")));
+        assertTrue(failed.isCompletedExceptionally());
+        assertTrue(cache.get("Damrak 1", "Amsterdam", "1012 LG", "NL", () -> answer(true)).join());
+
+        assertEquals(1, providerCalls.get());
+    }
+
+    @Test
+    void get_ConcurrentLookups_ShareOneProviderCall() {
+        AddressVerificationCache cache = cache(true, Duration.ofHours(1), Duration.ofHours(1));
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+
+        CompletableFuture<Boolean> first = cache.get("Damrak 1", "Amsterdam", "1012 LG", "NL", () -> {
+            providerCalls.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<Boolean> second = cache.get("Damrak 1", "Amsterdam", "1012 LG", "NL", () -> answer(false));
+        pending.complete(true);
+
+        assertTrue(first.join());
+        assertTrue(second.join());
+        assertEquals(1, providerCalls.get());
+    }
+
+    @Test
+    void get_Disabled_AlwaysCallsProvider() {
+        AddressVerificationCache cache = cache(false, Duration.ofHours(1), Duration.ofHours(1));
+
+        cache.get("Damrak 1", "Amsterdam", "1012 LG", "NL", () -> answer(true)).join();
+        cache.get("Damrak 1", "Amsterdam", "1012 LG", "NL", () -> answer(true)).join();
+
+        assertEquals(2, providerCalls.get());
+    }
+
+    private AddressVerificationCache cache(boolean enabled, Duration verifiedTtl, Duration rejectedTtl) {
+        return new AddressVerificationCache(meterRegistry, enabled, 100, verifiedTtl, rejectedTtl);
+    }
+
+    private CompletableFuture<Boolean> answer(boolean verified) {
+        providerCalls.incrementAndGet();
+        return CompletableFuture.completedFuture(verified);
+    }
+}
@@ -0,0 +1,178 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.model.SmsMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BatchingSmsSender against the in-process StubSmsGateway.
+ */
+class BatchingSmsSenderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BatchingSmsSender batchingSmsSender;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (batchingSmsSender != null) {
+            batchingSmsSender.stop();
+        }
+    }
+
+    @Test
+    void submit_FullBatch_SentWithoutWaitingForFlushInterval() throws Exception {
+        // Given
+        StubSmsGateway gateway = new StubSmsGateway(Duration.ZERO, 100, 0);
+        batchingSmsSender = start(gateway, 5, Duration.ofSeconds(30), 100, 0);
+
+        // When
+        List<CompletableFuture<Boolean>> results = submit(5);
+
+        // Then
+        for (CompletableFuture<Boolean> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(List.of(5), gateway.getBatchSizes());
+        assertEquals(5, gateway.getSentMessages().size());
+    }
+
+    @Test
+    void submit_PartialBatch_SentAfterFlushInterval() throws Exception {
+        // Given
+        StubSmsGateway gateway = new StubSmsGateway(Duration.ZERO, 100, 0);
+        batchingSmsSender = start(gateway, 50, Duration.ofMillis(100), 100, 0);
+
+        // When
+        List<CompletableFuture<Boolean>> results = submit(3);
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(List.of(3), gateway.getBatchSizes());
+        assertEquals(new SmsMessage("+3161234560", "Message 0"), gateway.getSentMessages().get(0));
+    }
+
+    @Test
+    void submit_GatewayBatchLimit_SplitsIntoSmallerBatches() throws Exception {
+        // Given
+        StubSmsGateway gateway = new StubSmsGateway(Duration.ZERO, 2, 0);
+        batchingSmsSender = start(gateway, 50, Duration.ofMillis(50), 100, 0);
+
+        // When
+        List<CompletableFuture<Boolean>> results = submit(5);
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(gateway.getBatchSizes().stream().allMatch(size -> size <= 2));
+        assertEquals(5, gateway.getSentMessages().size());
+    }
+
+    @Test
+    void submit_RateLimit_PacesBatches() throws Exception {
+        // Given: 20 messages per second, batches of 5 take 250ms each
+        StubSmsGateway gateway = new StubSmsGateway(Duration.ZERO, 100, 20);
+        batchingSmsSender = start(gateway, 5, Duration.ofMillis(10), 100, 0);
+        long start = System.nanoTime();
+
+        // When
+        List<CompletableFuture<Boolean>> results = submit(15);
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Then: the first batch goes out at once, the next two wait 250ms each
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 450);
+        assertEquals(15, gateway.getSentMessages().size());
+    }
+
+    @Test
+    void submit_RecordsBatchMeters() throws Exception {
+        // Given
+        StubSmsGateway gateway = new StubSmsGateway(Duration.ofMillis(20), 100, 0);
+        batchingSmsSender = start(gateway, 4, Duration.ofSeconds(30), 100, 0);
+
+        // When
+        List<CompletableFuture<Boolean>> results = submit(8);
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(2, meterRegistry.get("sms.batch.size").summary().count());
+        assertEquals(8, meterRegistry.get("sms.batch.size").summary().totalAmount());
+        assertEquals(2, meterRegistry.get("sms.batch.latency").timer().count());
+        assertTrue(meterRegistry.get("sms.batch.latency").timer().max(TimeUnit.MILLISECONDS) >= 20);
+        assertEquals(8, meterRegistry.get("sms.sent").tag("result", "sent").counter().count());
+    }
+
+    @Test
+    void submit_GatewayFails_CompletesBatchExceptionally() throws Exception {
+        // Given
+        SmsGateway gateway = messages -> {
+            throw new IllegalStateException("Provider unavailable");
+        };
+        batchingSmsSender = start(gateway, 2, Duration.ofSeconds(30), 100, 0);
+
+        // When
+        List<CompletableFuture<Boolean>> results = submit(2);
+
+        // Then
+        for (CompletableFuture<Boolean> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertEquals("Provider unavailable", e.getCause().getMessage());
+        }
+        assertEquals(2, meterRegistry.get("sms.sent").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void submit_QueueFull_Rejects() {
+        // Given: the flush thread is not started, so nothing leaves the queue
+        batchingSmsSender = new BatchingSmsSender(new StubSmsGateway(Duration.ZERO, 100, 0),
+                meterRegistry, 10, Duration.ofMillis(10), 2, 0);
+        submit(2);
+
+        // When / Then
+        assertThrows(TaskRejectedException.class, () -> batchingSmsSender.submit("+31612345678", "Overflow"));
+        assertEquals(2, meterRegistry.get("sms.queue.size").gauge().value());
+        batchingSmsSender = null;
+    }
+
+    @Test
+    void stop_SendsQueuedMessages() throws Exception {
+        // Given
+        StubSmsGateway gateway = new StubSmsGateway(Duration.ZERO, 100, 0);
+        batchingSmsSender = start(gateway, 50, Duration.ofSeconds(30), 100, 0);
+        List<CompletableFuture<Boolean>> results = submit(3);
+
+        // When
+        batchingSmsSender.stop();
+
+        // Then
+        for (CompletableFuture<Boolean> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(3, gateway.getSentMessages().size());
+        batchingSmsSender = null;
+    }
+
+    private BatchingSmsSender start(SmsGateway gateway, int maxBatchSize, Duration flushInterval,
+                                    int queueCapacity, double rateLimit) {
+        BatchingSmsSender sender = new BatchingSmsSender(
+                gateway, meterRegistry, maxBatchSize, flushInterval, queueCapacity, rateLimit);
+        sender.start();
+        return sender;
+    }
+
+    private List<CompletableFuture<Boolean>> submit(int count) {
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(batchingSmsSender.submit("+316123456" + i, "Message " + i));
+        }
+        return results;
+    }
+}
@@ -2,6 +2,7 @@ package com.bankabc.onboarding.service;
 
 import com.bankabc.onboarding.exception.DefaultApiError;
 import com.bankabc.onboarding.model.Email;
+import com.bankabc.onboarding.model.EmailSendResult;
 import com.bankabc.onboarding.util.EmailUtil;
 import freemarker.template.Configuration;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,10 +11,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
 import jakarta.mail.internet.MimeMessage;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -76,6 +83,7 @@ class EmailServiceTest {
 
         // Then
         verify(mailSender).send(any(MimeMessage.class));
+        verify(emailUtil, times(1)).buildEmailBody(testEmail);
     }
 
     @Test
@@ -218,4 +226,60 @@ class EmailServiceTest {
         // Then
         assertFalse(result);
     }
+
+    @Test
+    void testSendBatch_RejectedRecipient_FailsOnlyThatEmail() throws Exception {
+        // Given
+        MimeMessage first = new MimeMessage((Session) null);
+        MimeMessage second = new MimeMessage((Session) null);
+        MimeMessage third = new MimeMessage((Session) null);
+        when(mailSender.createMimeMessage()).thenReturn(first, second, third);
+        when(emailUtil.buildEmailBody(any(Email.class))).thenReturn("Test Content");
+        MessagingException rejected = new MessagingException("550 Mailbox unavailable");
+        doThrow(new MailSendException(Map.of(second, rejected)))
+            .when(mailSender).send(any(MimeMessage[].class));
+        List<Email> emails = List.of(email("a@example.com", null), email("b@example.com", null), email("c@example.com", null));
+
+        // When
+        List<EmailSendResult> results = emailService.sendBatch(emails).get();
+
+        // Then
+        verify(mailSender, times(1)).send(any(MimeMessage[].class));
+        verify(emailUtil, times(3)).buildEmailBody(any(Email.class));
+        assertTrue(results.get(0).isSuccess());
+        assertSame(rejected, results.get(1).getError());
+        assertTrue(results.get(2).isSuccess());
+    }
+
+    @Test
+    void testSendBatch_InvalidEmailAndTwoSenders_OneSessionPerSender() throws Exception {
+        // Given
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        when(emailUtil.buildEmailBody(any(Email.class))).thenReturn("Test Content");
+        Email missingSubject = email("b@example.com", null);
+        missingSubject.setSubject(null);
+        List<Email> emails = List.of(
+            email("a@example.com", "noreply@bankabc.com"),
+            missingSubject,
+            email("c@example.com", "support@bankabc.com"),
+            email("d@example.com", "noreply@bankabc.com"));
+
+        // When
+        List<EmailSendResult> results = emailService.sendBatch(emails).get();
+
+        // Then
+        verify(mailSender, times(2)).send(any(MimeMessage[].class));
+        assertEquals(List.of(true, false, true, true), results.stream().map(EmailSendResult::isSuccess).toList());
+        assertInstanceOf(DefaultApiError.class, results.get(1).getError());
+    }
+
+    private Email email(String to, String from) {
+        return Email.builder()
+            .to(to)
+            .from(from)
+            .subject("Test Subject")
+            .body("Test Content")
+            .html(true)
+            .build();
+    }
 }
@@ -0,0 +1,206 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.exception.ProviderRateLimitedException;
+import com.bankabc.onboarding.model.KycRequest;
+import com.bankabc.onboarding.model.WorkflowDefinition.RateLimit;
+import com.bankabc.onboarding.util.Bulkhead;
+import com.bankabc.onboarding.util.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for KycBatcher against a recording bulk provider.
+ */
+class KycBatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingProvider provider = new RecordingProvider();
+    private final WorkflowConfigurationService workflowConfigurationService = mock(WorkflowConfigurationService.class);
+    private final ProviderRateLimiter rateLimiter = new ProviderRateLimiter(workflowConfigurationService, meterRegistry);
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(0.5, 10, 1, Duration.ofSeconds(30), 1);
+    private final VerificationProviderGuard guard = new VerificationProviderGuard(VerificationService.KYC_PROVIDER,
+            new Bulkhead(10, 10), circuitBreaker, Duration.ofMillis(50), meterRegistry);
+    private KycBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.stop();
+        rateLimiter.shutdown();
+    }
+
+    @Test
+    void submit_BatchFills_SendsOneCallWithoutWaiting() throws Exception {
+        // Given
+        batcher = new KycBatcher(provider, rateLimiter, guard, meterRegistry, Duration.ofSeconds(5), true, 3, Duration.ofHours(1));
+
+        // When
+        List<CompletableFuture<Boolean>> results = List.of(
+                batcher.submit(request("Anna")), batcher.submit(request("Bob")), batcher.submit(request("Carl")));
+
+        // Then
+        for (CompletableFuture<Boolean> result : results) {
+            assertTrue(result.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, provider.batches.size());
+        assertEquals(3, provider.batches.get(0).size());
+        assertEquals(3, meterRegistry.get("kyc.batch.size").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("kyc.batch.latency").timer().count());
+    }
+
+    @Test
+    void submit_BatchNotFull_SendsAfterMaxWait() throws Exception {
+        // Given
+        batcher = new KycBatcher(provider, rateLimiter, guard, meterRegistry, Duration.ofSeconds(5), true, 20, Duration.ofMillis(50));
+
+        // When
+        CompletableFuture<Boolean> first = batcher.submit(request("Anna"));
+        CompletableFuture<Boolean> second = batcher.submit(request("Bob"));
+
+        // Then
+        assertFalse(first.isDone(), "The batch should wait for more requests");
+        assertTrue(first.get(1, TimeUnit.SECONDS));
+        assertTrue(second.get(1, TimeUnit.SECONDS));
+        assertEquals(1, provider.batches.size());
+        assertEquals(2, provider.batches.get(0).size());
+    }
+
+    @Test
+    void submit_MixedResults_EachCallerGetsOwnResult() throws Exception {
+        // Given: the provider rejects customers named Mallory
+        batcher = new KycBatcher(provider, rateLimiter, guard, meterRegistry, Duration.ofSeconds(5), true, 3, Duration.ofHours(1));
+
+        // When
+        CompletableFuture<Boolean> anna = batcher.submit(request("Anna"));
+        CompletableFuture<Boolean> mallory = batcher.submit(request("Mallory"));
+        CompletableFuture<Boolean> bob = batcher.submit(request("Bob"));
+
+        // Then
+        assertTrue(anna.get(1, TimeUnit.SECONDS));
+        assertFalse(mallory.get(1, TimeUnit.SECONDS));
+        assertTrue(bob.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_ProviderCallFails_FailsEveryCallerInBatch() {
+        // Given
+        provider.failure = new IllegalStateException("Provider unavailable");
+        batcher = new KycBatcher(provider, rateLimiter, guard, meterRegistry, Duration.ofSeconds(5), true, 2, Duration.ofHours(1));
+
+        // When
+        CompletableFuture<Boolean> first = batcher.submit(request("Anna"));
+        CompletableFuture<Boolean> second = batcher.submit(request("Bob"));
+
+        // Then
+        for (CompletableFuture<Boolean> result : List.of(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+            assertEquals("Provider unavailable", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void submit_CallerGaveUp_LeftOutOfBatch() throws Exception {
+        // Given
+        batcher = new KycBatcher(provider, rateLimiter, guard, meterRegistry, Duration.ofSeconds(5), true, 3, Duration.ofHours(1));
+        CompletableFuture<Boolean> abandoned = batcher.submit(request("Anna"));
+        abandoned.cancel(false);
+
+        // When
+        batcher.submit(request("Bob"));
+        CompletableFuture<Boolean> last = batcher.submit(request("Carl"));
+
+        // Then
+        assertTrue(last.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of("Bob", "Carl"),
+                provider.batches.get(0).stream().map(KycRequest::getFirstName).toList());
+    }
+
+    @Test
+    void submit_RateLimited_TakesOnePermitPerBulkCall() {
+        // Given: one permit and no waiting
+        when(workflowConfigurationService.getRateLimit("kyc-verification")).thenReturn(RateLimit.builder()
+                .permitsPerSecond(0.1).burst(1).maxWait(Duration.ZERO).deferBy(Duration.ofSeconds(30)).build());
+        batcher = new KycBatcher(provider, rateLimiter, guard, meterRegistry, Duration.ofSeconds(5), true, 3, Duration.ofHours(1));
+
+        // When
+        List<CompletableFuture<Boolean>> first = List.of(
+                batcher.submit(request("Anna")), batcher.submit(request("Bob")), batcher.submit(request("Carl")));
+        List<CompletableFuture<Boolean>> second = List.of(
+                batcher.submit(request("Dora")), batcher.submit(request("Emil")), batcher.submit(request("Fay")));
+
+        // Then: the whole first batch shares the permit, the second batch is deferred
+        first.forEach(result -> assertTrue(result.join()));
+        for (CompletableFuture<Boolean> result : second) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(ProviderRateLimitedException.class, e.getCause());
+        }
+        assertEquals(1, provider.batches.size());
+    }
+
+    @Test
+    void submit_WaitsForPermit_WaitNotCountedAsSlowCall() throws Exception {
+        // Given: 10 calls per second, one stored; the guard counts calls over 50ms as slow
+        when(workflowConfigurationService.getRateLimit("kyc-verification")).thenReturn(RateLimit.builder()
+                .permitsPerSecond(10).burst(1).maxWait(Duration.ofSeconds(1)).deferBy(Duration.ofSeconds(30)).build());
+        batcher = new KycBatcher(provider, rateLimiter, guard, meterRegistry, Duration.ofSeconds(5), true, 1, Duration.ofHours(1));
+
+        // When: the second bulk call waits ~100ms for its permit
+        CompletableFuture<Boolean> first = batcher.submit(request("Anna"));
+        CompletableFuture<Boolean> second = batcher.submit(request("Bob"));
+
+        // Then
+        assertTrue(first.get(1, TimeUnit.SECONDS));
+        assertTrue(second.get(1, TimeUnit.SECONDS));
+        assertEquals(0, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    void constructor_LimitsBatchSizeToProviderMaximum() {
+        // Given: the provider accepts at most 100 customers per call
+        batcher = new KycBatcher(provider, rateLimiter, guard, meterRegistry, Duration.ofSeconds(5), true, 500, Duration.ofHours(1));
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            batcher.submit(request("Customer" + i));
+        }
+
+        // Then
+        assertEquals(1, provider.batches.size());
+    }
+
+    private static KycRequest request(String firstName) {
+        return new KycRequest(firstName, "Doe", LocalDate.of(1990, 1, 1), "123-45-6789");
+    }
+
+    private static class RecordingProvider implements KycBulkProvider {
+
+        private final List<List<KycRequest>> batches = new CopyOnWriteArrayList<>();
+        private RuntimeException failure;
+
+        @Override
+        public CompletableFuture<List<Boolean>> verifyBatch(List<KycRequest> requests) {
+            batches.add(requests);
+            if (failure != null) {
+                return CompletableFuture.failedFuture(failure);
+            }
+            List<Boolean> verified = new ArrayList<>();
+            for (KycRequest request : requests) {
+                verified.add(!"Mallory".equals(request.getFirstName()));
+            }
+            return CompletableFuture.completedFuture(verified);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.entity.NotificationOutbox;
+import com.bankabc.onboarding.entity.NotificationOutbox.Channel;
+import com.bankabc.onboarding.model.Email;
+import com.bankabc.onboarding.model.EmailSendResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationOutboxPoller.
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxPollerTest {
+
+    @Mock
+    private NotificationOutboxService notificationOutboxService;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private NotificationService notificationService;
+
+    private NotificationOutboxPoller notificationOutboxPoller;
+
+    @BeforeEach
+    void setUp() {
+        notificationOutboxPoller = new NotificationOutboxPoller(
+                notificationOutboxService, emailService, notificationService, 2, 10, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void drainBatch_MarksEachNotificationIndividually() throws Exception {
+        NotificationOutbox email = notification(Channel.EMAIL, "ok@example.com");
+        NotificationOutbox failingEmail = notification(Channel.EMAIL, "bounce@example.com");
+        NotificationOutbox sms = notification(Channel.SMS, "+31612345678");
+        when(notificationOutboxService.claimDue()).thenReturn(List.of(email, failingEmail, sms));
+        when(emailService.sendBatch(argThat(emails -> emails != null && emails.size() == 2)))
+                .thenAnswer(invocation -> {
+                    List<Email> emails = invocation.getArgument(0);
+                    return CompletableFuture.completedFuture(List.of(
+                            EmailSendResult.sent(emails.get(0)),
+                            EmailSendResult.failed(emails.get(1), new IllegalStateException("Mailbox unavailable"))));
+                });
+        when(notificationService.sendSmsNotificationAsync(eq("+31612345678"), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        assertEquals(3, notificationOutboxPoller.drainBatch());
+
+        verify(notificationOutboxService).markSent(email.getId());
+        verify(notificationOutboxService).markFailed(failingEmail.getId(), "Mailbox unavailable");
+        verify(notificationOutboxService).markSent(sms.getId());
+    }
+
+    @Test
+    void drainBatch_DispatchQueueFull_ReleasesWithoutCountingAttempt() {
+        notificationOutboxPoller = new NotificationOutboxPoller(
+                notificationOutboxService, emailService, notificationService, 50, 1, Duration.ofSeconds(5));
+        List<NotificationOutbox> emails = List.of(
+                notification(Channel.EMAIL, "a@example.com"),
+                notification(Channel.EMAIL, "b@example.com"));
+        when(notificationOutboxService.claimDue()).thenReturn(emails);
+        when(emailService.sendBatch(anyList())).thenThrow(new TaskRejectedException("Email dispatch queue is full"));
+
+        int handled = notificationOutboxPoller.drainBatch();
+
+        // The second chunk is not offered to a queue that just refused the first
+        verify(emailService, times(1)).sendBatch(anyList());
+        emails.forEach(email -> verify(notificationOutboxService).release(email.getId()));
+        verify(notificationOutboxService, never()).markFailed(any(), anyString());
+        verify(notificationOutboxService, never()).markSent(any());
+        assertEquals(0, handled);
+    }
+
+    @Test
+    void drainBatch_MoreEmailsThanEmailBatchSize_SendsOneBatchPerChunk() {
+        notificationOutboxPoller = new NotificationOutboxPoller(
+                notificationOutboxService, emailService, notificationService, 50, 2, Duration.ofSeconds(5));
+        List<NotificationOutbox> emails = List.of(
+                notification(Channel.EMAIL, "a@example.com"),
+                notification(Channel.EMAIL, "b@example.com"),
+                notification(Channel.EMAIL, "c@example.com"));
+        when(notificationOutboxService.claimDue()).thenReturn(emails);
+        when(emailService.sendBatch(anyList())).thenAnswer(invocation -> {
+            List<Email> batch = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(batch.stream().map(EmailSendResult::sent).toList());
+        });
+
+        notificationOutboxPoller.drainBatch();
+
+        verify(emailService).sendBatch(argThat(batch -> batch.size() == 2));
+        verify(emailService).sendBatch(argThat(batch -> batch.size() == 1));
+        emails.forEach(email -> verify(notificationOutboxService).markSent(email.getId()));
+    }
+
+    @Test
+    void poll_FullBatch_DrainsAgainUntilEmpty() {
+        when(notificationOutboxService.claimDue())
+                .thenReturn(List.of(notification(Channel.SMS, "+31600000001"), notification(Channel.SMS, "+31600000002")))
+                .thenReturn(List.of());
+        when(notificationService.sendSmsNotificationAsync(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        notificationOutboxPoller.poll();
+
+        verify(notificationOutboxService, times(2)).claimDue();
+        verify(notificationOutboxService, times(2)).markSent(any());
+    }
+
+    private NotificationOutbox notification(Channel channel, String recipient) {
+        return NotificationOutbox.builder()
+                .id(UUID.randomUUID())
+                .dedupeKey(UUID.randomUUID() + ":account-created:" + channel)
+                .channel(channel)
+                .recipient(recipient)
+                .subject("Account Created Successfully")
+                .body("Welcome to Bank ABC")
+                .attempts(1)
+                .build();
+    }
+}
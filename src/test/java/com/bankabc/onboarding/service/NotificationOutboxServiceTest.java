@@ -0,0 +1,187 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.entity.NotificationOutbox;
+import com.bankabc.onboarding.entity.NotificationOutbox.Channel;
+import com.bankabc.onboarding.entity.NotificationOutbox.Status;
+import com.bankabc.onboarding.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationOutboxService.
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxServiceTest {
+
+    @Mock
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NotificationOutboxService notificationOutboxService;
+
+    private final UUID onboardingId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        notificationOutboxService = new NotificationOutboxService(
+                notificationOutboxRepository, meterRegistry, 50, Duration.ofSeconds(60), 3,
+                Duration.ofSeconds(30), Duration.ofMinutes(1), 0);
+    }
+
+    @Test
+    void enqueueEmail_NewNotification_SavesPendingRowWithDedupeKey() {
+        when(notificationOutboxRepository.existsByDedupeKey(onboardingId + ":account-created:EMAIL")).thenReturn(false);
+
+        assertTrue(notificationOutboxService.enqueueEmail(
+                onboardingId, "account-created", "emma@example.com", "Subject", "Body"));
+
+        ArgumentCaptor<NotificationOutbox> captor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(notificationOutboxRepository).save(captor.capture());
+        assertEquals(onboardingId + ":account-created:EMAIL", captor.getValue().getDedupeKey());
+        assertEquals(Channel.EMAIL, captor.getValue().getChannel());
+        assertEquals(Status.PENDING, captor.getValue().getStatus());
+        assertEquals(0, captor.getValue().getAttempts());
+    }
+
+    @Test
+    void enqueueSms_AlreadyEnqueued_SkipsDuplicate() {
+        when(notificationOutboxRepository.existsByDedupeKey(onboardingId + ":account-created:SMS")).thenReturn(true);
+
+        assertFalse(notificationOutboxService.enqueueSms(onboardingId, "account-created", "+31612345678", "Hi"));
+
+        verify(notificationOutboxRepository, never()).save(any());
+    }
+
+    @Test
+    void claimDue_IncrementsAttemptsAndLeasesRows() {
+        NotificationOutbox due = pending(0);
+        when(notificationOutboxRepository.findDueForUpdate(any(), any())).thenReturn(List.of(due));
+        OffsetDateTime before = OffsetDateTime.now(ZoneOffset.UTC);
+
+        List<NotificationOutbox> claimed = notificationOutboxService.claimDue();
+
+        assertEquals(1, claimed.size());
+        assertEquals(1, due.getAttempts());
+        assertFalse(due.getNextAttemptAt().isBefore(before.plusSeconds(59)));
+    }
+
+    @Test
+    void release_UndoesClaimAttemptAndMakesRowDue() {
+        NotificationOutbox notification = pending(2);
+        notification.setNextAttemptAt(OffsetDateTime.now(ZoneOffset.UTC).plusMinutes(5));
+        when(notificationOutboxRepository.findById(notification.getId())).thenReturn(Optional.of(notification));
+
+        notificationOutboxService.release(notification.getId());
+
+        assertEquals(1, notification.getAttempts());
+        assertEquals(Status.PENDING, notification.getStatus());
+        assertFalse(notification.getNextAttemptAt().isAfter(OffsetDateTime.now(ZoneOffset.UTC)));
+    }
+
+    @Test
+    void markFailed_BelowMaxAttempts_SchedulesRetryWithBackoff() {
+        NotificationOutbox notification = pending(2);
+        when(notificationOutboxRepository.findById(notification.getId())).thenReturn(Optional.of(notification));
+        OffsetDateTime before = OffsetDateTime.now(ZoneOffset.UTC);
+
+        notificationOutboxService.markFailed(notification.getId(), "SMTP unavailable");
+
+        assertEquals(Status.PENDING, notification.getStatus());
+        assertEquals("SMTP unavailable", notification.getLastError());
+        // Second failure waits 2 x 30s
+        assertFalse(notification.getNextAttemptAt().isBefore(before.plusSeconds(60)));
+    }
+
+    @Test
+    void markFailed_MaxAttemptsReached_GivesUp() {
+        NotificationOutbox notification = pending(3);
+        when(notificationOutboxRepository.findById(notification.getId())).thenReturn(Optional.of(notification));
+
+        notificationOutboxService.markFailed(notification.getId(), "Mailbox unavailable");
+
+        assertEquals(Status.FAILED, notification.getStatus());
+        assertEquals(1, meterRegistry.get("notification.outbox.failed").tag("channel", "email").counter().count());
+    }
+
+    @Test
+    void markSent_SetsStatusAndClearsError() {
+        NotificationOutbox notification = pending(1);
+        notification.setLastError("previous failure");
+        when(notificationOutboxRepository.findById(notification.getId())).thenReturn(Optional.of(notification));
+
+        notificationOutboxService.markSent(notification.getId());
+
+        assertEquals(Status.SENT, notification.getStatus());
+        assertNotNull(notification.getSentAt());
+        assertNull(notification.getLastError());
+    }
+
+    @Test
+    void backoff_DoublesPerAttemptUpToMaximum() {
+        assertEquals(Duration.ofSeconds(30), notificationOutboxService.backoff(1));
+        assertEquals(Duration.ofSeconds(60), notificationOutboxService.backoff(2));
+        assertEquals(Duration.ofMinutes(1), notificationOutboxService.backoff(10));
+    }
+
+    @Test
+    void retryDelay_WithJitter_StaysWithinJitterOfBackoff() {
+        NotificationOutboxService jittered = new NotificationOutboxService(
+                notificationOutboxRepository, meterRegistry, 50, Duration.ofSeconds(60), 3,
+                Duration.ofSeconds(30), Duration.ofMinutes(1), 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            Duration delay = jittered.retryDelay(2);
+            assertTrue(delay.compareTo(Duration.ofSeconds(30)) >= 0, "delay " + delay);
+            assertTrue(delay.compareTo(Duration.ofSeconds(60)) <= 0, "delay " + delay);
+        }
+    }
+
+    @Test
+    void enqueueRetry_SavesRowScheduledAfterFirstBackoff() {
+        when(notificationOutboxRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        OffsetDateTime before = OffsetDateTime.now(ZoneOffset.UTC);
+
+        notificationOutboxService.enqueueRetry(onboardingId, Channel.SMS, "+31612345678", null, "Hi", "SMS was not sent");
+
+        ArgumentCaptor<NotificationOutbox> captor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(notificationOutboxRepository).save(captor.capture());
+        NotificationOutbox retry = captor.getValue();
+        assertTrue(retry.getDedupeKey().startsWith("retry:SMS:"));
+        assertEquals(onboardingId, retry.getOnboardingId());
+        assertEquals(Status.PENDING, retry.getStatus());
+        assertEquals(1, retry.getAttempts());
+        assertEquals("SMS was not sent", retry.getLastError());
+        assertFalse(retry.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+    }
+
+    private NotificationOutbox pending(int attempts) {
+        return NotificationOutbox.builder()
+                .id(UUID.randomUUID())
+                .dedupeKey(onboardingId + ":account-created:EMAIL")
+                .onboardingId(onboardingId)
+                .channel(Channel.EMAIL)
+                .recipient("emma@example.com")
+                .subject("Subject")
+                .body("Body")
+                .attempts(attempts)
+                .nextAttemptAt(OffsetDateTime.now(ZoneOffset.UTC))
+                .build();
+    }
+}
@@ -1,15 +1,28 @@
 package com.bankabc.onboarding.service;
 
+import com.bankabc.onboarding.constants.ApplicationConstants;
+import com.bankabc.onboarding.entity.NotificationOutbox.Channel;
+import com.bankabc.onboarding.model.NotificationResult;
+import com.bankabc.onboarding.util.NotificationTemplates;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -21,12 +34,25 @@ class NotificationServiceFailureTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private NotificationTemplates notificationTemplates;
+
+    @Mock
+    private BatchingSmsSender batchingSmsSender;
+
+    @Mock
+    private NotificationOutboxService notificationOutboxService;
+
     @InjectMocks
     private NotificationService notificationService;
 
+    private final UUID onboardingId = UUID.randomUUID();
+
     @BeforeEach
     void setUp() throws Exception {
-        // No setup needed - the service will handle email sending internally
+        // Emails are delivered immediately unless a test says otherwise
+        lenient().when(emailService.sendMail(any())).thenReturn(CompletableFuture.completedFuture(null));
+        lenient().when(batchingSmsSender.submit(any(), any())).thenReturn(CompletableFuture.completedFuture(true));
     }
 
     @Test
@@ -38,7 +64,7 @@ class NotificationServiceFailureTest {
         String customerName = "John Doe";
 
         // When
-        boolean result = notificationService.sendFailureEmailNotification(email, failureType, errorMessage, customerName);
+        boolean result = notificationService.sendFailureEmailNotification(onboardingId, email, failureType, errorMessage, customerName);
 
         // Then
         assertTrue(result, "Failure email notification should be sent successfully");
@@ -52,7 +78,7 @@ class NotificationServiceFailureTest {
         String errorMessage = "Address verification failed";
 
         // When
-        boolean result = notificationService.sendFailureSmsNotification(phone, failureType, errorMessage);
+        boolean result = notificationService.sendFailureSmsNotification(onboardingId, phone, failureType, errorMessage);
 
         // Then
         assertTrue(result, "Failure SMS notification should be sent successfully");
@@ -68,7 +94,7 @@ class NotificationServiceFailureTest {
         String customerName = "Jane Smith";
 
         // When
-        boolean result = notificationService.sendFailureNotifications(email, phone, failureType, errorMessage, customerName);
+        boolean result = notificationService.sendFailureNotifications(onboardingId, email, phone, failureType, errorMessage, customerName);
 
         // Then
         assertTrue(result, "Both failure notifications should be sent successfully");
@@ -84,7 +110,7 @@ class NotificationServiceFailureTest {
         String customerName = "Test User";
 
         // When
-        boolean result = notificationService.sendFailureNotifications(email, phone, failureType, errorMessage, customerName);
+        boolean result = notificationService.sendFailureNotifications(onboardingId, email, phone, failureType, errorMessage, customerName);
 
         // Then
         assertTrue(result, "Notifications should still be sent even with invalid email format");
@@ -100,9 +126,106 @@ class NotificationServiceFailureTest {
         String customerName = null;
 
         // When
-        boolean result = notificationService.sendFailureNotifications(email, phone, failureType, errorMessage, customerName);
+        boolean result = notificationService.sendFailureNotifications(onboardingId, email, phone, failureType, errorMessage, customerName);
 
         // Then
         assertTrue(result, "Notifications should handle null parameters gracefully");
     }
+
+    @Test
+    void testSendFailureEmailNotificationWhenDispatchQueueFull() throws Exception {
+        // Given
+        when(emailService.sendMail(any())).thenThrow(new TaskRejectedException("Email dispatch queue is full"));
+
+        // When
+        boolean result = notificationService.sendFailureEmailNotification(
+                onboardingId, "test@example.com", "KYC_VERIFICATION_FAILED", "Identity verification failed", "John Doe");
+
+        // Then
+        assertFalse(result, "A rejected email should be reported as not accepted");
+        verify(notificationOutboxService, timeout(1000)).enqueueRetry(eq(onboardingId), eq(Channel.EMAIL),
+                eq("test@example.com"), eq("Onboarding Process Update - Identity Verification Required"), any(),
+                eq("Email dispatch queue is full"));
+    }
+
+    @Test
+    void testNotifyFailure_EmailDeliveryFails_ReportsPartialResult() throws Exception {
+        // Given
+        when(emailService.sendMail(any())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("550 Mailbox unavailable")));
+
+        // When
+        NotificationResult result = notificationService.notifyFailure(
+                onboardingId, "test@example.com", "+1234567890", "KYC_VERIFICATION_FAILED", "Identity verification failed", "John Doe");
+
+        // Then
+        assertFalse(result.isEmailSent());
+        assertTrue(result.isSmsSent());
+        assertEquals("PARTIAL", result.getStatus());
+        verify(notificationOutboxService, timeout(1000)).enqueueRetry(
+                eq(onboardingId), eq(Channel.EMAIL), eq("test@example.com"), anyString(), any(), eq("550 Mailbox unavailable"));
+    }
+
+    @Test
+    void testNotifyFailure_EmailMissesDeadline_ReturnsWithoutWaitingForIt() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(notificationService, "sendTimeout", Duration.ofMillis(200));
+        when(emailService.sendMail(any())).thenReturn(new CompletableFuture<>());
+        long start = System.nanoTime();
+
+        // When
+        NotificationResult result = notificationService.notifyFailure(
+                onboardingId, "test@example.com", "+1234567890", "GENERAL_FAILURE", "General failure", "John Doe");
+
+        // Then
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+        assertFalse(result.isEmailSent());
+        assertTrue(result.isSmsSent());
+        // Still in flight, so not queued for retry
+        verifyNoInteractions(notificationOutboxService);
+    }
+
+    @Test
+    void testNotifyFailure_SmsQueueFull_ReportsPartialResult() throws Exception {
+        // Given
+        when(batchingSmsSender.submit(any(), any())).thenThrow(new TaskRejectedException("SMS queue is full or shutting down"));
+
+        // When
+        NotificationResult result = notificationService.notifyFailure(
+                onboardingId, "test@example.com", "+1234567890", "DOCUMENT_UPLOAD_FAILED", "Document upload failed", "John Doe");
+
+        // Then
+        assertTrue(result.isEmailSent());
+        assertFalse(result.isSmsSent());
+        assertEquals("PARTIAL", result.getStatus());
+        verify(notificationOutboxService, timeout(1000)).enqueueRetry(eq(onboardingId), eq(Channel.SMS),
+                eq("+1234567890"), isNull(), eq(ApplicationConstants.Messages.DOCUMENT_FAILED_SMS), eq("SMS was not sent"));
+    }
+
+    @Test
+    void testSendFailureSmsNotification_WithoutPhone_IsNotRetried() throws Exception {
+        // Given
+        when(batchingSmsSender.submit(any(), any())).thenReturn(CompletableFuture.completedFuture(false));
+
+        // When
+        boolean result = notificationService.sendFailureSmsNotification(onboardingId, null, "GENERAL_FAILURE", "General failure");
+
+        // Then
+        assertFalse(result);
+        verifyNoInteractions(notificationOutboxService);
+    }
+
+    @Test
+    void testSendFailureSmsNotification_RetryWrittenOffSenderThread() throws Exception {
+        // Given
+        when(batchingSmsSender.submit(any(), any())).thenReturn(CompletableFuture.completedFuture(false));
+        CompletableFuture<String> writerThread = new CompletableFuture<>();
+        doAnswer(invocation -> writerThread.complete(Thread.currentThread().getName()))
+                .when(notificationOutboxService).enqueueRetry(any(), any(), any(), any(), any(), any());
+
+        // When
+        notificationService.sendFailureSmsNotification(onboardingId, "+1234567890", "GENERAL_FAILURE", "General failure");
+
+        // Then
+        assertEquals("notification-retry-writer", writerThread.get(1, TimeUnit.SECONDS));
+    }
 }
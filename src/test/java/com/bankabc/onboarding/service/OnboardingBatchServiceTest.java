@@ -0,0 +1,186 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.entity.Onboarding;
+import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
+import com.bankabc.onboarding.mapper.OnboardingMapper;
+import com.bankabc.onboarding.openapi.model.OnboardingBatchItemResult;
+import com.bankabc.onboarding.openapi.model.OnboardingBatchStartResponse;
+import com.bankabc.onboarding.openapi.model.OnboardingStartRequest;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@SuppressWarnings("unchecked")
+class OnboardingBatchServiceTest {
+
+    @Mock
+    private RuntimeService runtimeService;
+    @Mock
+    private OnboardingService onboardingService;
+    @Mock
+    private OnboardingMapper onboardingMapper;
+    @Mock
+    private WorkflowConfigurationService workflowConfigurationService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OnboardingBatchService onboardingBatchService;
+
+    private final AtomicInteger processInstanceCounter = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        onboardingBatchService = new OnboardingBatchService(
+                runtimeService,
+                onboardingService,
+                onboardingMapper,
+                workflowConfigurationService,
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(onboardingBatchService, "chunkSize", 2);
+
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(workflowConfigurationService.getProcessDefinitionKey()).thenReturn("onboarding-process");
+        when(workflowConfigurationService.getProcessStartSuccessMessage()).thenReturn("Process started successfully");
+        when(onboardingMapper.toEntity(any(OnboardingStartRequest.class))).thenAnswer(invocation -> Onboarding.builder()
+                .id(UUID.randomUUID())
+                .ssn(invocation.getArgument(0, OnboardingStartRequest.class).getSsn())
+                .build());
+        when(onboardingService.saveAllOnboardings(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(runtimeService.startProcessInstanceByKey(anyString(), anyString(), any(Map.class))).thenAnswer(invocation -> {
+            ProcessInstance processInstance = mock(ProcessInstance.class);
+            when(processInstance.getId()).thenReturn("pi-" + processInstanceCounter.incrementAndGet());
+            return processInstance;
+        });
+    }
+
+    @Test
+    void startOnboardingProcesses_AllNew_StartsEveryItemInChunks() {
+        when(onboardingService.findExistingSsns(anyList())).thenReturn(Set.of());
+
+        OnboardingBatchStartResponse response = onboardingBatchService.startOnboardingProcesses(List.of(
+                request("111-11-1111"), request("222-22-2222"), request("333-33-3333")));
+
+        assertEquals(3, response.getTotal());
+        assertEquals(3, response.getStarted());
+        assertEquals(0, response.getFailed());
+        assertTrue(response.getResults().stream()
+                .allMatch(result -> result.getStatus() == OnboardingBatchItemResult.StatusEnum.STARTED));
+        assertEquals("INFO_COLLECTED", response.getResults().get(0).getOnboardingStatus());
+
+        // One SSN lookup for the whole batch, one insert batch and transaction per chunk
+        verify(onboardingService, times(1)).findExistingSsns(anyList());
+        verify(onboardingService, times(2)).saveAllOnboardings(anyList());
+        verify(transactionManager, times(2)).commit(any());
+        verify(runtimeService, times(3)).startProcessInstanceByKey(eq("onboarding-process"), anyString(), any(Map.class));
+    }
+
+    @Test
+    void startOnboardingProcesses_ExistingAndRepeatedSsn_ReportsDuplicates() {
+        when(onboardingService.findExistingSsns(anyList())).thenReturn(Set.of("111-11-1111"));
+
+        OnboardingBatchStartResponse response = onboardingBatchService.startOnboardingProcesses(List.of(
+                request("111-11-1111"), request("222-22-2222"), request("222-22-2222")));
+
+        assertEquals(1, response.getStarted());
+        assertEquals(2, response.getFailed());
+        assertEquals(OnboardingBatchItemResult.StatusEnum.DUPLICATE, response.getResults().get(0).getStatus());
+        assertEquals(OnboardingBatchItemResult.StatusEnum.STARTED, response.getResults().get(1).getStatus());
+        assertEquals(OnboardingBatchItemResult.StatusEnum.DUPLICATE, response.getResults().get(2).getStatus());
+        assertEquals("CUSTOMER_ALREADY_EXISTS", response.getResults().get(2).getErrorName());
+    }
+
+    @Test
+    void startOnboardingProcesses_OneItemFails_OnlyThatItemFails() {
+        when(onboardingService.findExistingSsns(anyList())).thenReturn(Set.of());
+        when(runtimeService.startProcessInstanceByKey(anyString(), anyString(), any(Map.class))).thenAnswer(invocation -> {
+            Map<String, Object> variables = invocation.getArgument(2);
+            if (processInstanceCounter.incrementAndGet() == 2) {
+                throw new ProcessEngineException("Engine failure for " + variables.get("onboardingId"));
+            }
+            ProcessInstance processInstance = mock(ProcessInstance.class);
+            when(processInstance.getId()).thenReturn("pi-" + processInstanceCounter.get());
+            return processInstance;
+        });
+
+        OnboardingBatchStartResponse response = onboardingBatchService.startOnboardingProcesses(List.of(
+                request("111-11-1111"), request("222-22-2222")));
+
+        // The failing chunk is rolled back and retried item by item
+        verify(transactionManager, atLeastOnce()).rollback(any());
+        assertEquals(2, response.getTotal());
+        assertEquals(2, response.getStarted());
+        assertEquals(0, response.getFailed());
+        assertNotNull(response.getResults().get(0).getProcessInstanceId());
+        assertNotNull(response.getResults().get(1).getProcessInstanceId());
+    }
+
+    @Test
+    void startOnboardingProcesses_ItemKeepsFailing_ReportsFailedItem() {
+        when(onboardingService.findExistingSsns(anyList())).thenReturn(Set.of());
+        when(onboardingMapper.toEntity(any(OnboardingStartRequest.class))).thenAnswer(invocation -> Onboarding.builder()
+                .id(UUID.randomUUID())
+                .ssn(invocation.getArgument(0, OnboardingStartRequest.class).getSsn())
+                .status(OnboardingStatus.INITIATED)
+                .build());
+        when(runtimeService.startProcessInstanceByKey(anyString(), anyString(), any(Map.class))).thenAnswer(invocation -> {
+            if (processInstanceCounter.incrementAndGet() != 3) {
+                throw new ProcessEngineException("Engine failure");
+            }
+            ProcessInstance processInstance = mock(ProcessInstance.class);
+            when(processInstance.getId()).thenReturn("pi-3");
+            return processInstance;
+        });
+
+        OnboardingBatchStartResponse response = onboardingBatchService.startOnboardingProcesses(List.of(
+                request("111-11-1111"), request("222-22-2222")));
+
+        // Chunk attempt fails, item 0 alone fails again, item 1 alone succeeds
+        assertEquals(1, response.getStarted());
+        assertEquals(1, response.getFailed());
+        assertEquals(OnboardingBatchItemResult.StatusEnum.FAILED, response.getResults().get(0).getStatus());
+        assertEquals("PROCESS_START_FAILED", response.getResults().get(0).getErrorName());
+        assertEquals(OnboardingBatchItemResult.StatusEnum.STARTED, response.getResults().get(1).getStatus());
+    }
+
+    private OnboardingStartRequest request(String ssn) {
+        return new OnboardingStartRequest()
+                .firstName("Emma")
+                .lastName("de Vries")
+                .gender(OnboardingStartRequest.GenderEnum.F)
+                .dob(LocalDate.of(1990, 5, 20))
+                .phone("+31612345678")
+                .email("emma.devries@example.com")
+                .nationality("Dutch")
+                .street("Keizersgracht 1")
+                .city("Amsterdam")
+                .postalCode("1015CD")
+                .country("Netherlands")
+                .ssn(ssn);
+    }
+}
@@ -0,0 +1,88 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.openapi.model.OnboardingStatusResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OnboardingStatusCache.
+ */
+class OnboardingStatusCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OnboardingStatusCache onboardingStatusCache;
+    private AtomicInteger loads;
+    private Function<String, OnboardingStatusResponse> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        onboardingStatusCache = new OnboardingStatusCache(meterRegistry, true, 100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+        loader = processInstanceId -> {
+            loads.incrementAndGet();
+            return new OnboardingStatusResponse()
+                    .processInstanceId(processInstanceId)
+                    .status(OnboardingStatusResponse.StatusEnum.KYC_IN_PROGRESS);
+        };
+    }
+
+    @Test
+    void get_RepeatedPolls_LoadsOnceAndRecordsHits() {
+        OnboardingStatusResponse first = onboardingStatusCache.get("12345", loader);
+        OnboardingStatusResponse second = onboardingStatusCache.get("12345", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", OnboardingStatusCache.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void evict_AfterSave_NextPollReloads() {
+        onboardingStatusCache.get("12345", loader);
+        onboardingStatusCache.evict("12345");
+        onboardingStatusCache.get("12345", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_InsideTransaction_EvictsAgainAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            onboardingStatusCache.evict("12345");
+            // A poll between the save and the commit caches the pre-commit state
+            onboardingStatusCache.get("12345", loader);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        onboardingStatusCache.get("12345", loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_WhenDisabled_AlwaysLoads() {
+        OnboardingStatusCache disabled = new OnboardingStatusCache(meterRegistry, false, 100, Duration.ofMinutes(1));
+
+        disabled.get("12345", loader);
+        disabled.get("12345", loader);
+
+        assertEquals(2, loads.get());
+    }
+}
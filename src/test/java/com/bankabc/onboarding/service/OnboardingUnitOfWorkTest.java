@@ -0,0 +1,112 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.entity.Onboarding;
+import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
+import com.bankabc.onboarding.exception.DefaultApiError;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OnboardingUnitOfWork.
+ */
+@ExtendWith(MockitoExtension.class)
+class OnboardingUnitOfWorkTest {
+
+    @Mock
+    private OnboardingService onboardingService;
+
+    @InjectMocks
+    private OnboardingUnitOfWork onboardingUnitOfWork;
+
+    private UUID onboardingId;
+    private Onboarding onboarding;
+
+    @BeforeEach
+    void setUp() {
+        onboardingId = UUID.randomUUID();
+        onboarding = Onboarding.builder()
+                .id(onboardingId)
+                .processInstanceId("12345")
+                .status(OnboardingStatus.INFO_COLLECTED)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(onboardingUnitOfWork);
+    }
+
+    @Test
+    void loadAndUpdate_InsideTransaction_LoadsOnceAndWritesOnceAtCommit() {
+        when(onboardingService.findById(onboardingId)).thenReturn(Optional.of(onboarding));
+        TransactionSynchronizationManager.initSynchronization();
+
+        Onboarding first = onboardingUnitOfWork.load(onboardingId);
+        first.setStatus(OnboardingStatus.KYC_IN_PROGRESS);
+        onboardingUnitOfWork.update(first);
+        Onboarding second = onboardingUnitOfWork.load(onboardingId);
+        second.setStatus(OnboardingStatus.KYC_COMPLETED);
+        onboardingUnitOfWork.update(second);
+
+        assertSame(first, second);
+        verify(onboardingService, times(1)).findById(onboardingId);
+        verify(onboardingService, never()).saveOnboarding(any());
+
+        commit();
+
+        verify(onboardingService, times(1)).saveOnboarding(argThat(saved ->
+                saved.getStatus() == OnboardingStatus.KYC_COMPLETED));
+        assertNull(TransactionSynchronizationManager.getResource(onboardingUnitOfWork));
+    }
+
+    @Test
+    void load_WithoutUpdate_DoesNotWrite() {
+        when(onboardingService.findById(onboardingId)).thenReturn(Optional.of(onboarding));
+        TransactionSynchronizationManager.initSynchronization();
+
+        onboardingUnitOfWork.load(onboardingId).setStatus(OnboardingStatus.ADDRESS_VERIFICATION_IN_PROGRESS);
+
+        commit();
+
+        verify(onboardingService, never()).saveOnboarding(any());
+    }
+
+    @Test
+    void update_WithoutTransaction_SavesImmediately() {
+        onboardingUnitOfWork.update(onboarding);
+
+        verify(onboardingService).saveOnboarding(onboarding);
+    }
+
+    @Test
+    void load_OnboardingNotFound_ThrowsDefaultApiError() {
+        when(onboardingService.findById(onboardingId)).thenReturn(Optional.empty());
+
+        DefaultApiError error = assertThrows(DefaultApiError.class, () -> onboardingUnitOfWork.load(onboardingId));
+
+        assertEquals("ONBOARDING_NOT_FOUND", error.getErrorName());
+    }
+
+    private void commit() {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
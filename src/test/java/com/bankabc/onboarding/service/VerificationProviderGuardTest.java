@@ -0,0 +1,63 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.util.Bulkhead;
+import com.bankabc.onboarding.util.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VerificationProviderGuard.
+ */
+class VerificationProviderGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(1.0, 4, 2, Duration.ofSeconds(30), 1);
+
+    @Test
+    void call_TimesOutWhileQueued_NotCountedAgainstProvider() {
+        // Given: the only slot is taken by a call that has not answered yet
+        VerificationProviderGuard guard = guard(new Bulkhead(1, 10), Duration.ofSeconds(60));
+        CompletableFuture<Boolean> inFlight = new CompletableFuture<>();
+        guard.call(() -> inFlight, Duration.ofSeconds(60));
+
+        // When
+        CompletableFuture<Boolean> queued = guard.call(() -> CompletableFuture.completedFuture(true), Duration.ofMillis(50));
+
+        // Then
+        ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertEquals(0, circuitBreaker.getFailureRate());
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+        inFlight.complete(true);
+    }
+
+    @Test
+    void call_SlowCallThreshold_MeasuredFromStart() throws Exception {
+        // Given: the slot is busy for 200ms, the provider itself answers at once
+        VerificationProviderGuard guard = guard(new Bulkhead(1, 10), Duration.ofMillis(100));
+        CompletableFuture<Boolean> inFlight = new CompletableFuture<>();
+        guard.call(() -> inFlight, Duration.ofSeconds(60));
+        CompletableFuture<Boolean> queued = guard.call(() -> CompletableFuture.completedFuture(true), Duration.ofSeconds(1));
+
+        // When
+        Thread.sleep(200);
+        inFlight.complete(true);
+
+        // Then: only the first call, which held the slot for 200ms, was slow
+        assertTrue(queued.get(1, TimeUnit.SECONDS));
+        assertEquals(0.5, circuitBreaker.getFailureRate());
+    }
+
+    private VerificationProviderGuard guard(Bulkhead bulkhead, Duration slowCallDuration) {
+        return new VerificationProviderGuard(VerificationService.KYC_PROVIDER, bulkhead, circuitBreaker,
+                slowCallDuration, meterRegistry);
+    }
+}
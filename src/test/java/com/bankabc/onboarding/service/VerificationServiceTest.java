@@ -0,0 +1,249 @@
+package com.bankabc.onboarding.service;
+
+import com.bankabc.onboarding.exception.ProviderRateLimitedException;
+import com.bankabc.onboarding.exception.ProviderUnavailableException;
+import com.bankabc.onboarding.model.WorkflowDefinition.RateLimit;
+import com.bankabc.onboarding.util.Bulkhead;
+import com.bankabc.onboarding.util.CircuitBreaker;
+import com.bankabc.onboarding.util.LatencyDistribution;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for VerificationService against its simulated providers.
+ */
+class VerificationServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SimulatedKycBulkProvider bulkProvider = new SimulatedKycBulkProvider(
+            1.0, LatencyDistribution.fixed(Duration.ofMillis(20)), Duration.ZERO, 10, 100);
+    private final WorkflowConfigurationService workflowConfigurationService = mock(WorkflowConfigurationService.class);
+    private final ProviderRateLimiter rateLimiter = new ProviderRateLimiter(workflowConfigurationService, meterRegistry);
+    private final VerificationProviderGuard bulkGuard = guard(VerificationService.KYC_PROVIDER,
+            new Bulkhead(1_000, 1_000), new CircuitBreaker(0.5, 10, 10, Duration.ofSeconds(30), 1));
+    private KycBatcher kycBatcher = new KycBatcher(bulkProvider, rateLimiter, bulkGuard, meterRegistry,
+            Duration.ofSeconds(1), false, 20, Duration.ofMillis(50));
+    private VerificationService verificationService;
+
+    @AfterEach
+    void tearDown() {
+        verificationService.shutdown();
+        kycBatcher.stop();
+        rateLimiter.shutdown();
+        bulkProvider.close();
+    }
+
+    @Test
+    void performKycVerificationAsync_ProviderAnswers_CompletesWithResult() throws Exception {
+        // Given
+        verificationService = service(1.0, Duration.ofMillis(20), Duration.ofSeconds(1));
+
+        // When
+        CompletableFuture<Boolean> result = verificationService.performKycVerificationAsync(
+                "John", "Doe", LocalDate.of(1990, 1, 1), "123-45-6789");
+
+        // Then
+        assertFalse(result.isDone(), "The call should not block the caller");
+        assertTrue(result.get(1, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.get("verification.latency")
+                .tags("provider", "kyc", "outcome", "verified").timer().count());
+    }
+
+    @Test
+    void performKycVerificationAsync_ProviderTooSlow_FailsAtDeadline() {
+        // Given
+        verificationService = service(1.0, Duration.ofSeconds(10), Duration.ofMillis(50));
+        long start = System.nanoTime();
+
+        // When
+        CompletableFuture<Boolean> result = verificationService.performKycVerificationAsync(
+                "John", "Doe", LocalDate.of(1990, 1, 1), "123-45-6789");
+
+        // Then
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertEquals("kyc provider did not answer within PT0.05S", e.getCause().getMessage());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(1, meterRegistry.get("verification.latency")
+                .tags("provider", "kyc", "outcome", "timeout").timer().count());
+    }
+
+    @Test
+    void performKycVerification_ProviderTooSlow_ReturnsFalse() {
+        verificationService = service(1.0, Duration.ofSeconds(10), Duration.ofMillis(50));
+
+        assertFalse(verificationService.performKycVerification("John", "Doe", LocalDate.of(1990, 1, 1), "123-45-6789"));
+    }
+
+    @Test
+    void verifyAddressAsync_ProviderRejects_CompletesWithFalse() throws Exception {
+        verificationService = service(0.0, Duration.ZERO, Duration.ofSeconds(1));
+
+        assertFalse(verificationService.verifyAddressAsync("Damrak 1", "Amsterdam", "1012LG", "NL").get(1, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.get("verification.latency")
+                .tags("provider", "address", "outcome", "rejected").timer().count());
+    }
+
+    @Test
+    void verifyAddressAsync_SameAddressDifferentSpelling_CallsProviderOnce() throws Exception {
+        // Given
+        verificationService = service(1.0, Duration.ofMillis(20), Duration.ofSeconds(1));
+        assertTrue(verificationService.verifyAddressAsync("Damrak 1", "Amsterdam", "1012 LG", "NL").get(1, TimeUnit.SECONDS));
+
+        // When
+        boolean verified = verificationService.verifyAddressAsync(" DAMRAK  1 ", "amsterdam", "1012lg", "nl").get(1, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(verified);
+        assertEquals(1, meterRegistry.get("verification.latency").tags("provider", "address").timer().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", "verification.address", "result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void performKycVerificationAsync_ManyInFlight_AnswerConcurrently() throws Exception {
+        // Given: 200 calls of 200ms each would take 40s if each held the timer thread
+        verificationService = service(1.0, Duration.ofMillis(200), Duration.ofSeconds(5));
+        long start = System.nanoTime();
+
+        // When
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            results.add(verificationService.performKycVerificationAsync("John", "Doe", LocalDate.of(1990, 1, 1), "123-45-6789"));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+    }
+
+    @Test
+    void performKycVerificationAsync_BulkheadFull_FailsFast() throws Exception {
+        // Given: one call in flight, none queued
+        verificationService = service(1.0, Duration.ofMillis(500), Duration.ofSeconds(5),
+                guard(VerificationService.KYC_PROVIDER, new Bulkhead(1, 0), new CircuitBreaker(0.5, 10, 5, Duration.ofSeconds(30), 1)));
+        CompletableFuture<Boolean> first = verificationService.performKycVerificationAsync("John", "Doe", LocalDate.of(1990, 1, 1), "123-45-6789");
+
+        // When
+        CompletableFuture<Boolean> second = verificationService.performKycVerificationAsync("Jane", "Doe", LocalDate.of(1990, 1, 1), "123-45-6789");
+
+        // Then
+        ExecutionException e = assertThrows(ExecutionException.class, () -> second.get(100, TimeUnit.MILLISECONDS));
+        ProviderUnavailableException unavailable = assertInstanceOf(ProviderUnavailableException.class, e.getCause());
+        assertEquals(ProviderUnavailableException.Reason.BULKHEAD_FULL, unavailable.getReason());
+        assertEquals(1, meterRegistry.get("verification.rejections").tags("provider", "kyc", "reason", "bulkhead-full").counter().count());
+        assertTrue(first.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void performKycVerificationAsync_TimeoutsOpenCircuit_LaterCallsFailFast() throws Exception {
+        // Given: the circuit opens after two failed calls
+        verificationService = service(1.0, Duration.ofSeconds(10), Duration.ofMillis(20),
+                guard(VerificationService.KYC_PROVIDER, new Bulkhead(10, 10), new CircuitBreaker(0.5, 4, 2, Duration.ofSeconds(30), 1)));
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<Boolean> call = verificationService.performKycVerificationAsync("John", "Doe", LocalDate.of(1990, 1, 1), "123-45-6789");
+            assertThrows(ExecutionException.class, () -> call.get(1, TimeUnit.SECONDS));
+        }
+
+        // When
+        CompletableFuture<Boolean> rejected = verificationService.performKycVerificationAsync("John", "Doe", LocalDate.of(1990, 1, 1), "123-45-6789");
+
+        // Then
+        assertTrue(rejected.isCompletedExceptionally(), "An open circuit should fail the call at once");
+        assertEquals(1, meterRegistry.get("verification.circuit.state").tags("provider", "kyc", "state", "open").gauge().value());
+        assertEquals(1, meterRegistry.get("verification.rejections").tags("provider", "kyc", "reason", "circuit-open").counter().count());
+    }
+
+    @Test
+    void performKycVerificationAsync_BatchingEnabled_SharesOneProviderCall() throws Exception {
+        // Given
+        kycBatcher = new KycBatcher(bulkProvider, rateLimiter, bulkGuard, meterRegistry, Duration.ofSeconds(1), true, 5, Duration.ofSeconds(1));
+        verificationService = service(1.0, Duration.ofSeconds(10), Duration.ofSeconds(1));
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            results.add(verificationService.performKycVerificationAsync("John", "Doe", LocalDate.of(1990, 1, 1), "123-45-6789"));
+        }
+
+        // Then: the bulk provider answers within 20ms, the single-call provider would have taken 10s
+        for (CompletableFuture<Boolean> result : results) {
+            assertTrue(result.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, bulkProvider.getCalls());
+        assertEquals(5, meterRegistry.get("verification.latency")
+                .tags("provider", "kyc", "outcome", "verified").timer().count());
+    }
+
+    @Test
+    void performKycVerificationAsync_QuotaUsedUp_WaitsThenDefers() throws Exception {
+        // Given: 10 calls per second, one stored, callers wait up to 150ms
+        when(workflowConfigurationService.getRateLimit("kyc-verification")).thenReturn(RateLimit.builder()
+                .permitsPerSecond(10).burst(1).maxWait(Duration.ofMillis(150)).deferBy(Duration.ofSeconds(30)).build());
+        verificationService = service(1.0, Duration.ZERO, Duration.ofSeconds(1));
+
+        // When
+        CompletableFuture<Boolean> first = verificationService.performKycVerificationAsync("John", "Doe", LocalDate.of(1990, 1, 1), "123-45-6789");
+        CompletableFuture<Boolean> second = verificationService.performKycVerificationAsync("Jane", "Doe", LocalDate.of(1990, 1, 1), "123-45-6789");
+        CompletableFuture<Boolean> third = verificationService.performKycVerificationAsync("Jim", "Doe", LocalDate.of(1990, 1, 1), "123-45-6789");
+
+        // Then: the second call waits ~100ms for its permit, the third would wait ~200ms and is deferred
+        assertTrue(first.get(1, TimeUnit.SECONDS));
+        assertFalse(second.isDone(), "The second call should wait for a permit");
+        assertTrue(second.get(1, TimeUnit.SECONDS));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> third.get(1, TimeUnit.SECONDS));
+        ProviderRateLimitedException rateLimited = assertInstanceOf(ProviderRateLimitedException.class, e.getCause());
+        assertEquals(Duration.ofSeconds(30), rateLimited.getDeferBy());
+        assertEquals(1, meterRegistry.get("verification.rate-limit.deferred").tags("provider", "kyc").counter().count());
+    }
+
+    @Test
+    void verifyAddressAsync_CachedAddress_UsesNoPermit() throws Exception {
+        // Given: a single permit and no waiting
+        when(workflowConfigurationService.getRateLimit("address-verification")).thenReturn(RateLimit.builder()
+                .permitsPerSecond(0.1).burst(1).maxWait(Duration.ZERO).deferBy(Duration.ofSeconds(30)).build());
+        verificationService = service(1.0, Duration.ZERO, Duration.ofSeconds(1));
+        assertTrue(verificationService.verifyAddressAsync("Damrak 1", "Amsterdam", "1012 LG", "NL").get(1, TimeUnit.SECONDS));
+
+        // When
+        CompletableFuture<Boolean> cached = verificationService.verifyAddressAsync("Damrak 1", "Amsterdam", "1012 LG", "NL");
+        CompletableFuture<Boolean> uncached = verificationService.verifyAddressAsync("Damrak 2", "Amsterdam", "1012 LG", "NL");
+
+        // Then
+        assertTrue(cached.get(1, TimeUnit.SECONDS));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> uncached.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(ProviderRateLimitedException.class, e.getCause());
+    }
+
+    private VerificationService service(double successRate, Duration latency, Duration timeout) {
+        return service(successRate, latency, timeout, guard(VerificationService.KYC_PROVIDER,
+                new Bulkhead(1_000, 1_000), new CircuitBreaker(0.5, 10, 10, Duration.ofSeconds(30), 1)));
+    }
+
+    private VerificationService service(double successRate, Duration latency, Duration timeout, VerificationProviderGuard kycGuard) {
+        VerificationProviderGuard addressGuard = guard(VerificationService.ADDRESS_PROVIDER,
+                new Bulkhead(1_000, 1_000), new CircuitBreaker(0.5, 10, 10, Duration.ofSeconds(30), 1));
+        AddressVerificationCache addressCache = new AddressVerificationCache(meterRegistry, true, 100,
+                Duration.ofHours(1), Duration.ofMinutes(5));
+        return new VerificationService(meterRegistry, kycGuard, addressGuard, addressCache, kycBatcher, rateLimiter,
+                successRate, "fixed", latency, latency, timeout, false, 0.95, 200, Duration.ofMillis(100), 0.05,
+                successRate, "fixed", latency, latency, timeout);
+    }
+
+    private VerificationProviderGuard guard(String provider, Bulkhead bulkhead, CircuitBreaker circuitBreaker) {
+        return new VerificationProviderGuard(provider, bulkhead, circuitBreaker, Duration.ofSeconds(60), meterRegistry);
+    }
+}
@@ -1,34 +1,39 @@
 package com.bankabc.onboarding.service;
 
 import com.bankabc.onboarding.entity.Onboarding.OnboardingStatus;
+import com.bankabc.onboarding.model.WorkflowDefinition;
+import com.bankabc.onboarding.model.WorkflowDefinition.ErrorHandling;
+import com.bankabc.onboarding.model.WorkflowDefinition.RateLimit;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for WorkflowConfigurationService.
  */
-@ExtendWith(MockitoExtension.class)
 class WorkflowConfigurationServiceTest {
 
-    @Mock
-    private ObjectMapper objectMapper;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @InjectMocks
     private WorkflowConfigurationService workflowConfigurationService;
 
     @BeforeEach
     void setUp() {
-        // This test will use the actual configuration loading since we can't easily mock the ClassPathResource
-        // In a real scenario, you might want to use @TestPropertySource or create a test configuration
+        // Compile the real onboarding.json and validate it against the BPMN models on the classpath
+        workflowConfigurationService = new WorkflowConfigurationService(objectMapper);
+        workflowConfigurationService.loadConfiguration();
     }
 
     @Test
@@ -141,4 +146,150 @@ class WorkflowConfigurationServiceTest {
         
         assertNull(stepConfig);
     }
+
+    @Test
+    void testLoadConfiguration_EveryStatusHasPrecomputedDescriptions() {
+        for (OnboardingStatus status : OnboardingStatus.values()) {
+            assertNotNull(workflowConfigurationService.getCurrentStepDescription(status), status.name());
+            assertNotNull(workflowConfigurationService.getStatusMessage(status), status.name());
+            assertNotNull(workflowConfigurationService.getNextStepDescription(status), status.name());
+        }
+        // Lookups return the same precomputed instance
+        assertSame(workflowConfigurationService.getNextStepDescription(OnboardingStatus.KYC_IN_PROGRESS),
+                workflowConfigurationService.getNextStepDescription(OnboardingStatus.KYC_IN_PROGRESS));
+    }
+
+    @Test
+    void testGetErrorHandling_WithKycStep_ReturnsTypedMetadata() {
+        ErrorHandling errorHandling = workflowConfigurationService.getErrorHandling("kyc-verification");
+
+        assertNotNull(errorHandling);
+        assertEquals("KYC_VERIFICATION_FAILED", errorHandling.getErrorType());
+        assertEquals("Identity verification failed", errorHandling.getDefaultMessage());
+        assertTrue(errorHandling.isRetryable());
+        assertEquals(2, errorHandling.getMaxRetries());
+        assertEquals(Duration.ofHours(24), workflowConfigurationService.getStepTimeout("kyc-verification"));
+        assertNull(workflowConfigurationService.getErrorHandling("notify-customer"));
+    }
+
+    @Test
+    void testGetRateLimit_WithVerificationSteps_ReturnsProviderQuota() {
+        RateLimit rateLimit = workflowConfigurationService.getRateLimit("kyc-verification");
+
+        assertNotNull(rateLimit);
+        assertEquals(20, rateLimit.getPermitsPerSecond());
+        assertEquals(40, rateLimit.getBurst());
+        assertEquals(Duration.ofSeconds(2), rateLimit.getMaxWait());
+        assertEquals(Duration.ofSeconds(30), rateLimit.getDeferBy());
+        assertNotNull(workflowConfigurationService.getRateLimit("address-verification"));
+        assertNull(workflowConfigurationService.getRateLimit("account-creation"));
+    }
+
+    @Test
+    void testCompile_WithRateLimitInMilliseconds_ParsesDurations() throws Exception {
+        ObjectNode root = readConfiguration();
+        ObjectNode rateLimit = (ObjectNode) root.get("steps").get(3).get("rateLimit");
+        rateLimit.put("maxWait", "250ms");
+        rateLimit.remove("deferBy");
+
+        RateLimit compiled = workflowConfigurationService.compile(root).getSteps().get("kyc-verification").getRateLimit();
+
+        assertEquals(Duration.ofMillis(250), compiled.getMaxWait());
+        assertEquals(Duration.ofSeconds(30), compiled.getDeferBy());
+    }
+
+    @Test
+    void testCompile_WithNonPositiveRateLimit_Rejected() throws Exception {
+        ObjectNode root = readConfiguration();
+        ((ObjectNode) root.get("steps").get(3).get("rateLimit")).put("permitsPerSecond", 0);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> workflowConfigurationService.compile(root));
+        assertTrue(e.getMessage().contains("kyc-verification"));
+    }
+
+    @Test
+    void testGetMessageName_WithWaitDocumentsStep_ReturnsConfiguredMessage() {
+        assertEquals("DocumentUploadedMessage", workflowConfigurationService.getMessageName("wait-documents"));
+        assertNull(workflowConfigurationService.getMessageName("kyc-verification"));
+    }
+
+    @Test
+    void testCompile_WithMissingStatus_Rejected() throws Exception {
+        ObjectNode root = readConfiguration();
+        ((ArrayNode) root.get("statuses")).remove(0);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> workflowConfigurationService.compile(root));
+        assertTrue(e.getMessage().contains("INITIATED"));
+    }
+
+    @Test
+    void testCompile_WithUnknownNextStepAndNoDescription_Rejected() throws Exception {
+        ObjectNode root = readConfiguration();
+        ObjectNode initiated = (ObjectNode) root.get("statuses").get(0);
+        initiated.put("nextStep", "unknown-step");
+
+        assertThrows(IllegalArgumentException.class, () -> workflowConfigurationService.compile(root));
+    }
+
+    @Test
+    void testValidateAgainstBpmn_WithUnknownDelegate_Rejected() throws Exception {
+        ObjectNode root = readConfiguration();
+        ((ObjectNode) root.get("steps").get(0)).put("delegateBean", "missingDelegate");
+        WorkflowDefinition compiled = workflowConfigurationService.compile(root);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> workflowConfigurationService.validateAgainstBpmn(compiled));
+        assertTrue(e.getMessage().contains("missingDelegate"));
+    }
+
+    @Test
+    void testReloadConfiguration_WithValidExternalFile_SwapsSnapshot(@TempDir Path configDir) throws Exception {
+        Path configFile = configDir.resolve("onboarding.json");
+        ObjectNode root = readConfiguration();
+        ((ObjectNode) root.get("steps").get(3)).put("nextStepDescription", "Checking your identity");
+        objectMapper.writeValue(configFile.toFile(), root);
+        ReflectionTestUtils.setField(workflowConfigurationService, "externalConfigLocation", configFile.toString());
+
+        assertTrue(workflowConfigurationService.reloadConfiguration());
+        assertEquals("Checking your identity",
+                workflowConfigurationService.getNextStepDescription(OnboardingStatus.KYC_IN_PROGRESS));
+    }
+
+    @Test
+    void testReloadConfiguration_WithInvalidExternalFile_KeepsCurrentSnapshot(@TempDir Path configDir) throws Exception {
+        String before = workflowConfigurationService.getNextStepDescription(OnboardingStatus.KYC_IN_PROGRESS);
+        Path configFile = configDir.resolve("onboarding.json");
+        ReflectionTestUtils.setField(workflowConfigurationService, "externalConfigLocation", configFile.toString());
+
+        // Truncated JSON
+        Files.writeString(configFile, "{ \"workflow\": {");
+        assertFalse(workflowConfigurationService.reloadConfiguration());
+
+        // Valid JSON that no longer matches the BPMN
+        ObjectNode root = readConfiguration();
+        ((ObjectNode) root.get("steps").get(1)).put("messageName", "UnknownMessage");
+        objectMapper.writeValue(configFile.toFile(), root);
+        assertFalse(workflowConfigurationService.reloadConfiguration());
+
+        assertEquals(before, workflowConfigurationService.getNextStepDescription(OnboardingStatus.KYC_IN_PROGRESS));
+        assertEquals("DocumentUploadedMessage", workflowConfigurationService.getMessageName("wait-documents"));
+    }
+
+    @Test
+    void testTriggersReload_ConfigFileOrConfigMapSwap() {
+        Path fileName = Path.of("onboarding.json");
+
+        assertTrue(WorkflowConfigurationService.triggersReload(Path.of("onboarding.json"), fileName));
+        assertTrue(WorkflowConfigurationService.triggersReload(Path.of("..data"), fileName));
+        assertFalse(WorkflowConfigurationService.triggersReload(Path.of("..data_tmp"), fileName));
+        assertFalse(WorkflowConfigurationService.triggersReload(Path.of("other.json"), fileName));
+    }
+
+    private ObjectNode readConfiguration() throws Exception {
+        try (InputStream inputStream = new ClassPathResource("onboarding.json").getInputStream()) {
+            return (ObjectNode) objectMapper.readTree(inputStream);
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package com.bankabc.onboarding.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Bulkhead with calls completed by hand.
+ */
+class BulkheadTest {
+
+    private final Bulkhead bulkhead = new Bulkhead(2, 1);
+    private final List<CompletableFuture<String>> started = new ArrayList<>();
+
+    @Test
+    void submit_FreeSlot_StartsCall() {
+        CompletableFuture<String> result = bulkhead.submit(this::startCall);
+
+        assertEquals(1, started.size());
+        assertEquals(1, bulkhead.getInFlight());
+
+        started.get(0).complete("done");
+
+        assertEquals("done", result.join());
+        assertEquals(0, bulkhead.getInFlight());
+    }
+
+    @Test
+    void submit_AllSlotsTaken_QueuesThenRejects() {
+        bulkhead.submit(this::startCall);
+        bulkhead.submit(this::startCall);
+
+        CompletableFuture<String> queued = bulkhead.submit(this::startCall);
+
+        assertEquals(2, started.size());
+        assertEquals(1, bulkhead.getQueued());
+        assertThrows(RejectedExecutionException.class, () -> bulkhead.submit(this::startCall));
+
+        // A finished call hands its slot to the queued one
+        started.get(0).complete("first");
+
+        assertEquals(3, started.size());
+        assertEquals(0, bulkhead.getQueued());
+        assertEquals(2, bulkhead.getInFlight());
+        started.get(2).complete("third");
+        assertEquals("third", queued.join());
+    }
+
+    @Test
+    void submit_CallerGivesUpWhileQueued_LeavesQueue() {
+        bulkhead.submit(this::startCall);
+        bulkhead.submit(this::startCall);
+        CompletableFuture<String> queued = bulkhead.submit(this::startCall);
+
+        queued.cancel(false);
+
+        assertEquals(0, bulkhead.getQueued());
+        started.get(0).complete("first");
+        assertEquals(2, started.size(), "An abandoned call must not be started");
+        assertEquals(1, bulkhead.getInFlight());
+    }
+
+    @Test
+    void submit_CallerGivesUpWhileRunning_CancelsCallAndFreesSlot() {
+        CompletableFuture<String> result = bulkhead.submit(this::startCall);
+
+        result.cancel(false);
+
+        assertTrue(started.get(0).isCancelled());
+        assertEquals(0, bulkhead.getInFlight());
+    }
+
+    private CompletableFuture<String> startCall() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        started.add(call);
+        return call;
+    }
+}
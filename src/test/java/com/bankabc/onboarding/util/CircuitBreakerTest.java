@@ -0,0 +1,91 @@
+package com.bankabc.onboarding.util;
+
+import com.bankabc.onboarding.util.CircuitBreaker.Outcome;
+import com.bankabc.onboarding.util.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CircuitBreaker with a manual clock.
+ */
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker circuitBreaker =
+            new CircuitBreaker(0.5, 4, 4, Duration.ofSeconds(30), 2, now::get);
+
+    @Test
+    void closed_BelowMinimumCalls_StaysClosed() {
+        record(Outcome.FAILURE, 3);
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void closed_FailureRateReached_Opens() {
+        record(Outcome.SUCCESS, 2);
+        record(Outcome.FAILURE, 2);
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void closed_OldFailuresLeaveWindow_StaysClosed() {
+        record(Outcome.FAILURE, 1);
+        record(Outcome.SUCCESS, 6);
+        record(Outcome.FAILURE, 1);
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertEquals(0.25, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    void closed_IgnoredOutcomes_DoNotCount() {
+        record(Outcome.IGNORED, 10);
+
+        assertEquals(0, circuitBreaker.getFailureRate());
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void open_AfterOpenDuration_AllowsTrialCallsAndClosesOnSuccess() {
+        record(Outcome.FAILURE, 4);
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire(), "Only the trial calls may pass while half-open");
+
+        circuitBreaker.record(Outcome.SUCCESS);
+        circuitBreaker.record(Outcome.SUCCESS);
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    void halfOpen_TrialFails_OpensAgain() {
+        record(Outcome.FAILURE, 4);
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertTrue(circuitBreaker.tryAcquire());
+
+        circuitBreaker.record(Outcome.FAILURE);
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    private void record(Outcome outcome, int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            circuitBreaker.record(outcome);
+        }
+    }
+}
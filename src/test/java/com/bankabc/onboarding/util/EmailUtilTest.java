@@ -10,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -231,4 +232,35 @@ class EmailUtilTest {
         assertEquals("", result[0]); // Header should be empty
         assertEquals("", result[1]); // Footer should be empty
     }
+
+    @Test
+    void testBuildEmailBody_PrerenderedHeaderFooter_MatchesFullRendering() throws Exception {
+        // Given
+        Configuration configuration = new Configuration(Configuration.VERSION_2_3_32);
+        configuration.setClassForTemplateLoading(getClass(), "/templates/email");
+        configuration.setDefaultEncoding("UTF-8");
+        EmailUtil realEmailUtil = new EmailUtil(configuration);
+        ReflectionTestUtils.setField(realEmailUtil, "bankWebsiteUrl", "https://test.bankabc.com");
+        ReflectionTestUtils.setField(realEmailUtil, "supportEmail", "test-support@bankabc.com");
+        ReflectionTestUtils.setField(realEmailUtil, "bankPhoneNumber", "1-800-TEST-ABC");
+        realEmailUtil.warmUp();
+
+        Map<String, Object> templateVariables = new HashMap<>();
+        templateVariables.put("subject", "Account Created");
+        templateVariables.put("customerName", "Emma");
+        templateVariables.put("message", "Welcome to Bank ABC");
+        testEmail.setTemplateName("simple-notification.ftl");
+        testEmail.setTemplateVariables(templateVariables);
+
+        // When
+        String result = realEmailUtil.buildEmailBody(testEmail);
+
+        // Then
+        String[] headerFooter = realEmailUtil.buildHeaderFooterTemplate(templateVariables);
+        String mainContent = FreeMarkerTemplateUtils.processTemplateIntoString(
+            configuration.getTemplate("simple-notification.ftl"), templateVariables);
+        assertEquals(headerFooter[0] + mainContent + headerFooter[1], result);
+        assertTrue(result.contains("Account Created"));
+        assertTrue(result.contains("1-800-TEST-ABC"));
+    }
 }
@@ -0,0 +1,205 @@
+package com.bankabc.onboarding.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Hedger.
+ */
+class HedgerTest {
+
+    private final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1);
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    void call_TooFewLatencies_DoesNotHedge() throws Exception {
+        // Given
+        Hedger hedger = new Hedger(0.95, 20, Duration.ofMillis(10), 1.0, timer);
+        Attempts attempts = new Attempts(new CompletableFuture<>(), CompletableFuture.completedFuture(true));
+
+        // When
+        CompletableFuture<Boolean> result = hedger.call(attempts);
+        Thread.sleep(100);
+
+        // Then
+        assertFalse(result.isDone());
+        assertEquals(1, attempts.started.get());
+        assertEquals(-1, hedger.getHedgeDelayNanos());
+    }
+
+    @Test
+    void call_SlowAttempt_HedgeAnswersFirst() throws Exception {
+        // Given
+        Hedger hedger = warmedUp(0.25);
+        CompletableFuture<Boolean> slow = new CompletableFuture<>();
+        Attempts attempts = new Attempts(slow, CompletableFuture.completedFuture(false));
+
+        // When
+        CompletableFuture<Boolean> result = hedger.call(attempts);
+
+        // Then
+        assertFalse(result.get(1, TimeUnit.SECONDS));
+        assertEquals(2, attempts.started.get());
+        assertTrue(slow.isCancelled(), "The slower attempt should be cancelled");
+        assertEquals(1, hedger.getHedgesSent());
+        assertEquals(1, hedger.getHedgesWon());
+    }
+
+    @Test
+    void call_FastAttempt_DoesNotHedge() throws Exception {
+        // Given
+        Hedger hedger = warmedUp(0.25);
+        CompletableFuture<Boolean> answer = new CompletableFuture<>();
+        Attempts attempts = new Attempts(answer, CompletableFuture.completedFuture(false));
+
+        // When
+        CompletableFuture<Boolean> result = hedger.call(attempts);
+        answer.complete(true);
+        Thread.sleep(50);
+
+        // Then
+        assertTrue(result.get(1, TimeUnit.SECONDS));
+        assertEquals(1, attempts.started.get());
+        assertEquals(0, hedger.getHedgesSent());
+    }
+
+    @Test
+    void call_HedgeWins_RecordsLatencyFromOriginalAttempt() throws Exception {
+        // Given: 20 calls answered after 40ms set the hedge delay to about 40ms
+        Hedger hedger = new Hedger(0.95, 20, Duration.ofMillis(1), 1.0, timer);
+        for (int i = 0; i < Hedger.MINIMUM_SAMPLES; i++) {
+            hedger.call(() -> CompletableFuture.supplyAsync(() -> true,
+                    CompletableFuture.delayedExecutor(40, TimeUnit.MILLISECONDS))).join();
+        }
+        long warmDelay = hedger.getHedgeDelayNanos();
+        assertTrue(warmDelay >= Duration.ofMillis(40).toNanos());
+
+        // When: every original attempt hangs and every hedge answers at once
+        for (int i = 0; i < Hedger.MINIMUM_SAMPLES; i++) {
+            hedger.call(new Attempts(new CompletableFuture<>(), CompletableFuture.completedFuture(true)))
+                    .get(1, TimeUnit.SECONDS);
+        }
+
+        // Then: the calls still took the hedge delay, so the delay does not collapse to the minimum
+        assertEquals(Hedger.MINIMUM_SAMPLES, hedger.getHedgesWon());
+        assertTrue(hedger.getHedgeDelayNanos() >= warmDelay);
+    }
+
+    @Test
+    void call_BudgetUsedUp_ThrottlesHedges() throws Exception {
+        // Given: 20 calls at 25% earn 5 hedges, which is also the cap for a window of 20
+        Hedger hedger = warmedUp(0.25);
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            results.add(hedger.call(new Attempts(new CompletableFuture<>(), CompletableFuture.completedFuture(true))));
+        }
+        Thread.sleep(200);
+
+        // Then
+        assertEquals(5, results.stream().filter(CompletableFuture::isDone).count());
+        assertEquals(5, hedger.getHedgesSent());
+        assertEquals(5, hedger.getHedgesThrottled());
+    }
+
+    @Test
+    void call_BothAttemptsFail_FailsWithLastError() throws Exception {
+        // Given
+        Hedger hedger = warmedUp(0.25);
+        CompletableFuture<Boolean> first = new CompletableFuture<>();
+        CompletableFuture<Boolean> hedge = new CompletableFuture<>();
+        Attempts attempts = new Attempts(first, hedge);
+
+        // When
+        CompletableFuture<Boolean> result = hedger.call(attempts);
+        Thread.sleep(100);
+        first.completeExceptionally(new IllegalStateException("first"));
+        assertFalse(result.isDone(), "The hedge may still answer");
+        hedge.completeExceptionally(new IllegalStateException("hedge"));
+
+        // Then
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertEquals("hedge", e.getCause().getMessage());
+    }
+
+    @Test
+    void call_AttemptFailsBeforeHedgeDelay_FailsWithoutHedge() throws Exception {
+        // Given
+        Hedger hedger = warmedUp(0.25);
+        Attempts attempts = new Attempts(CompletableFuture.failedFuture(new IllegalStateException("down")),
+                CompletableFuture.completedFuture(true));
+
+        // When
+        CompletableFuture<Boolean> result = hedger.call(attempts);
+        Thread.sleep(100);
+
+        // Then
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(1, attempts.started.get());
+        assertEquals(0, hedger.getHedgesSent());
+    }
+
+    @Test
+    void call_CallerCancels_CancelsRunningAttempts() throws Exception {
+        // Given
+        Hedger hedger = warmedUp(0.25);
+        CompletableFuture<Boolean> first = new CompletableFuture<>();
+        CompletableFuture<Boolean> hedge = new CompletableFuture<>();
+        CompletableFuture<Boolean> result = hedger.call(new Attempts(first, hedge));
+        Thread.sleep(100);
+
+        // When
+        result.cancel(false);
+
+        // Then
+        assertTrue(first.isCancelled());
+        assertTrue(hedge.isCancelled());
+    }
+
+    /**
+     * A hedger with 20 immediate answers in its window, so calls are hedged after its 20ms minimum delay.
+     */
+    private Hedger warmedUp(double budget) {
+        Hedger hedger = new Hedger(0.95, 20, Duration.ofMillis(20), budget, timer);
+        for (int i = 0; i < Hedger.MINIMUM_SAMPLES; i++) {
+            hedger.call(() -> CompletableFuture.completedFuture(true)).join();
+        }
+        assertEquals(Duration.ofMillis(20).toNanos(), hedger.getHedgeDelayNanos());
+        return hedger;
+    }
+
+    /**
+     * Hands out the first future for the original attempt and the second for the hedge.
+     */
+    private static class Attempts implements Supplier<CompletableFuture<Boolean>> {
+
+        private final List<CompletableFuture<Boolean>> futures;
+        private final AtomicInteger started = new AtomicInteger();
+
+        Attempts(CompletableFuture<Boolean> first, CompletableFuture<Boolean> hedge) {
+            this.futures = List.of(first, hedge);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> get() {
+            return futures.get(started.getAndIncrement());
+        }
+    }
+}
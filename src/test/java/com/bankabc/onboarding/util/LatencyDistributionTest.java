@@ -0,0 +1,59 @@
+package com.bankabc.onboarding.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyDistribution.
+ */
+class LatencyDistributionTest {
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Test
+    void fixed_AlwaysReturnsMedian() {
+        LatencyDistribution distribution = LatencyDistribution.fixed(Duration.ofMillis(250));
+
+        assertEquals(Duration.ofMillis(250), distribution.sample(random));
+        assertEquals(Duration.ofMillis(250), distribution.sample(random));
+    }
+
+    @Test
+    void logNormal_MatchesMedianAndP99() {
+        LatencyDistribution distribution = LatencyDistribution.of("log-normal", Duration.ofMillis(100), Duration.ofMillis(500));
+
+        long[] samples = sample(distribution, 100_000);
+
+        assertEquals(100, samples[samples.length / 2], 5);
+        assertEquals(500, samples[(int) (samples.length * 0.99)], 40);
+    }
+
+    @Test
+    void exponential_MatchesMedian() {
+        LatencyDistribution distribution = LatencyDistribution.of("Exponential", Duration.ofMillis(100), Duration.ZERO);
+
+        long[] samples = sample(distribution, 100_000);
+
+        assertEquals(100, samples[samples.length / 2], 5);
+    }
+
+    @Test
+    void of_UnknownType_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LatencyDistribution.of("pareto", Duration.ofMillis(100), Duration.ofMillis(500)));
+    }
+
+    private long[] sample(LatencyDistribution distribution, int count) {
+        long[] samples = new long[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = distribution.sample(random).toMillis();
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+}
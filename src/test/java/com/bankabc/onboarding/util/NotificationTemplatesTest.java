@@ -0,0 +1,68 @@
+package com.bankabc.onboarding.util;
+
+import com.bankabc.onboarding.config.EmailConfig;
+import com.bankabc.onboarding.entity.Onboarding;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NotificationTemplates against the bundled templates.
+ */
+class NotificationTemplatesTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationTemplates notificationTemplates;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        notificationTemplates = new NotificationTemplates(new EmailConfig().freemarkerConfig(), meterRegistry);
+        notificationTemplates.load();
+    }
+
+    @Test
+    void renderAccountCreatedEmail_FillsAccountDetails() {
+        String body = notificationTemplates.renderAccountCreatedEmail(onboarding());
+
+        assertTrue(body.startsWith("Dear Emma de Vries,\n\n🎉 Congratulations!"));
+        assertTrue(body.contains("• Account Number: NL91ABCB0417164300\n"));
+        assertTrue(body.contains("• Email: emma@example.com\n"));
+        assertTrue(body.endsWith("Best regards,\nBank ABC Team\n"));
+    }
+
+    @Test
+    void renderAccountCreatedSms_FillsAccountNumber() {
+        assertEquals("🎉 Welcome to Bank ABC! Your account NL91ABCB0417164300 has been created successfully. "
+                + "You can now log in to online banking.", notificationTemplates.renderAccountCreatedSms(onboarding()));
+    }
+
+    @Test
+    void renderFailureEmail_SelectsTemplateByFailureType() {
+        String body = notificationTemplates.renderFailureEmail("kyc_verification_failed", "Passport expired", "Emma");
+
+        assertTrue(body.startsWith("Dear Emma,\n\nWe encountered an issue during your identity verification process."));
+        assertTrue(body.contains("Issue: Passport expired\n"));
+        assertEquals(1, meterRegistry.get("notification.render")
+                .tag("template", "notification/failure-kyc-verification.ftl").timer().count());
+    }
+
+    @Test
+    void renderFailureEmail_UnknownType_UsesGeneralTemplate() {
+        String body = notificationTemplates.renderFailureEmail("SOMETHING_ELSE", "Unexpected error", null);
+
+        assertTrue(body.startsWith("Dear ,\n\nWe encountered an issue during your onboarding process."));
+        assertTrue(body.contains("Issue: Unexpected error\n"));
+    }
+
+    private Onboarding onboarding() {
+        Onboarding onboarding = new Onboarding();
+        onboarding.setFirstName("Emma");
+        onboarding.setLastName("de Vries");
+        onboarding.setAccountNumber("NL91ABCB0417164300");
+        onboarding.setEmail("emma@example.com");
+        onboarding.setPhone("+31612345678");
+        return onboarding;
+    }
+}
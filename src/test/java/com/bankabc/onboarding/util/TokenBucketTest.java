@@ -0,0 +1,68 @@
+package com.bankabc.onboarding.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBucket, driven by a manual clock.
+ */
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void reserve_WithinBurst_CallsAtOnce() {
+        TokenBucket bucket = new TokenBucket(10, 3, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.reserve(Duration.ZERO));
+        }
+        assertEquals(-1, bucket.reserve(Duration.ZERO));
+    }
+
+    @Test
+    void reserve_BurstUsedUp_SpacesCallersByRate() {
+        // Given: 10 permits per second, one stored
+        TokenBucket bucket = new TokenBucket(10, 1, now::get);
+        assertEquals(0, bucket.reserve(Duration.ZERO));
+
+        // When
+        long second = bucket.reserve(Duration.ofSeconds(1));
+        long third = bucket.reserve(Duration.ofSeconds(1));
+
+        // Then
+        assertEquals(Duration.ofMillis(100).toNanos(), second);
+        assertEquals(Duration.ofMillis(200).toNanos(), third);
+    }
+
+    @Test
+    void reserve_WaitAboveLimit_ReservesNothing() {
+        TokenBucket bucket = new TokenBucket(10, 1, now::get);
+        bucket.reserve(Duration.ZERO);
+
+        assertEquals(-1, bucket.reserve(Duration.ofMillis(50)));
+        assertEquals(Duration.ofMillis(100).toNanos(), bucket.reserve(Duration.ofMillis(100)));
+    }
+
+    @Test
+    void getAvailablePermits_RefillsUpToBurst() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, 5, now::get);
+        for (int i = 0; i < 5; i++) {
+            bucket.reserve(Duration.ZERO);
+        }
+        assertEquals(0, bucket.getAvailablePermits());
+
+        // When
+        now.addAndGet(Duration.ofMillis(300).toNanos());
+
+        // Then
+        assertEquals(3, bucket.getAvailablePermits(), 1e-9);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(5, bucket.getAvailablePermits(), 1e-9);
+    }
+}